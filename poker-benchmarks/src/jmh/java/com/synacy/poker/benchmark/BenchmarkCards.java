@@ -0,0 +1,74 @@
+package com.synacy.poker.benchmark;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSuit;
+import com.synacy.poker.model.deck.DeckProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Card fixtures shared by the benchmarks.
+ */
+final class BenchmarkCards {
+
+	private static final String RANKS = "23456789TJQKA";
+	private static final String SUITS = "scdh";
+
+	private BenchmarkCards() {
+	}
+
+	/**
+	 * @param cards space separated cards, e.g. <code>As Td 2c</code>
+	 * @return The parsed cards
+	 */
+	static List<Card> cards(String cards) {
+		List<Card> parsed = new ArrayList<>();
+		for (String card : cards.split(" ")) {
+			CardRank rank = CardRank.values()[RANKS.indexOf(card.charAt(0))];
+			CardSuit suit = CardSuit.values()[SUITS.indexOf(card.charAt(1))];
+			parsed.add(Card.of(rank, suit));
+		}
+		return parsed;
+	}
+
+	/**
+	 * Deals distinct random cards from a fixed seed, so every run measures the same hands.
+	 *
+	 * @param hands the number of card lists
+	 * @param count the number of cards in each list
+	 * @return The dealt card lists
+	 */
+	static List<List<Card>> randomCards(int hands, int count, long seed) {
+		return randomCards(hands, count, seed, DeckProfile.STANDARD);
+	}
+
+	/**
+	 * Deals distinct random cards of the profile's deck from a fixed seed.
+	 *
+	 * @param hands       the number of card lists
+	 * @param count       the number of cards in each list
+	 * @param deckProfile the deck the cards are dealt from
+	 * @return The dealt card lists
+	 */
+	static List<List<Card>> randomCards(int hands, int count, long seed, DeckProfile deckProfile) {
+		SplittableRandom random = new SplittableRandom(seed);
+		List<List<Card>> dealt = new ArrayList<>(hands);
+		for (int hand = 0; hand < hands; hand++) {
+			long used = 0L;
+			List<Card> cards = new ArrayList<>(count);
+			while (cards.size() < count) {
+				int index = random.nextInt(Card.DECK_SIZE);
+				if ((used & (1L << index)) == 0 && deckProfile.contains(Card.fromIndex(index))) {
+					used |= 1L << index;
+					cards.add(Card.fromIndex(index));
+				}
+			}
+			dealt.add(cards);
+		}
+		return dealt;
+	}
+
+}
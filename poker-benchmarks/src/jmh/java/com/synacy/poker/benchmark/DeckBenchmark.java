@@ -0,0 +1,62 @@
+package com.synacy.poker.benchmark;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.Deck;
+import com.synacy.poker.model.deck.DeckBuilder;
+import com.synacy.poker.model.deck.SplittableRandomShuffleSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Shuffling and dealing from a reused {@link Deck}, and building a new one.
+ */
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+	private static final int DEALT_CARDS = 3 * 2 + 3 + 5;
+
+	private final DeckBuilder deckBuilder = new DeckBuilder(new SplittableRandomShuffleSource());
+
+	private Deck deck;
+
+	@Setup
+	public void setUp() {
+		deck = deckBuilder.buildDeck();
+	}
+
+	@Benchmark
+	public Deck buildDeck() {
+		return deckBuilder.buildDeck();
+	}
+
+	@Benchmark
+	public Deck shuffle() {
+		deck.reset();
+		deck.shuffle();
+		return deck;
+	}
+
+	/**
+	 * Resets, shuffles and deals the cards of a three player hand: hole cards, burns and the board.
+	 */
+	@Benchmark
+	public void shuffleAndDeal(Blackhole blackhole) {
+		deck.reset();
+		deck.shuffle();
+		for (int i = 0; i < DEALT_CARDS; i++) {
+			blackhole.consume(deck.removeFromTop());
+		}
+	}
+
+	@Benchmark
+	public Card removeFromTop() {
+		if (deck.size() == 0) {
+			deck.reset();
+		}
+		return deck.removeFromTop();
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.synacy.poker.benchmark;
+
+import com.synacy.poker.model.deck.DeckBuilder;
+import com.synacy.poker.model.deck.SplittableRandomShuffleSource;
+import com.synacy.poker.model.game.TableSnapshot;
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+import com.synacy.poker.services.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A full hand on one table: a new game, the flop, the turn and the river with the showdown.
+ */
+@State(Scope.Thread)
+public class GameServiceBenchmark {
+
+	private GameService gameService;
+
+	@Setup
+	public void setUp() {
+		HandIdentifier handIdentifier = new HandIdentifier();
+		WinningHandCalculator winningHandCalculator = new WinningHandCalculator(handIdentifier,
+				new HandRankTable(HandRankTable.Mode.DIRECT));
+		gameService = new GameService(new DeckBuilder(new SplittableRandomShuffleSource()), handIdentifier,
+				winningHandCalculator);
+	}
+
+	@Benchmark
+	public TableSnapshot playHand() {
+		gameService.startNewGame();
+		gameService.nextAction();
+		gameService.nextAction();
+		gameService.nextAction();
+		return gameService.getSnapshot();
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.synacy.poker.benchmark;
+
+import com.synacy.poker.history.HandHistoryLog;
+import com.synacy.poker.history.HandHistoryReader;
+import com.synacy.poker.history.HandRecord;
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Records completed three player games in a {@link HandHistoryLog}, and scans a log of a million of them with
+ * a {@link HandHistoryReader}. Recording only builds the record and queues it; the scan decodes every card mask.
+ */
+@State(Scope.Thread)
+public class HandHistoryBenchmark {
+
+	private static final int HANDS = 1_000_000;
+	private static final int PLAYERS = 3;
+
+	private Path scanDirectory;
+	private Path recordDirectory;
+	private HandHistoryLog log;
+	private List<List<Player>> tablePlayers;
+	private List<List<Card>> tableCommunityCards;
+	private int next;
+
+	@Setup
+	public void setUp() throws IOException {
+		tablePlayers = new ArrayList<>();
+		tableCommunityCards = new ArrayList<>();
+		for (List<Card> cards : BenchmarkCards.randomCards(256, PLAYERS * 2 + 5, 17L)) {
+			List<Player> players = new ArrayList<>(PLAYERS);
+			for (int i = 0; i < PLAYERS; i++) {
+				Player player = new Player("Player " + (i + 1));
+				player.addToHand(cards.get(i * 2));
+				player.addToHand(cards.get(i * 2 + 1));
+				players.add(player);
+			}
+			tablePlayers.add(players);
+			tableCommunityCards.add(cards.subList(PLAYERS * 2, PLAYERS * 2 + 5));
+		}
+
+		scanDirectory = Files.createTempDirectory("hand-history-scan");
+		try (HandHistoryLog scanLog = new HandHistoryLog(scanDirectory, HandHistoryLog.DEFAULT_SEGMENT_SIZE,
+				HANDS, 4096, 1000L)) {
+			long timestamp = System.currentTimeMillis();
+			for (int i = 0; i < HANDS; i++) {
+				int table = i % tablePlayers.size();
+				scanLog.record(HandRecord.of(timestamp + i, GameType.TEXAS_HOLDEM, DeckProfile.STANDARD,
+						tablePlayers.get(table), tableCommunityCards.get(table), 1L << i % PLAYERS, 0L));
+			}
+		}
+
+		recordDirectory = Files.createTempDirectory("hand-history-record");
+		log = new HandHistoryLog(recordDirectory);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		log.close();
+		delete(scanDirectory);
+		delete(recordDirectory);
+	}
+
+	@Benchmark
+	public void record() {
+		int i = next;
+		next = (i + 1) % tablePlayers.size();
+		log.record(HandRecord.of(System.currentTimeMillis(), GameType.TEXAS_HOLDEM, DeckProfile.STANDARD,
+				tablePlayers.get(i), tableCommunityCards.get(i), 1L, 0L));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(HANDS)
+	public long scan() throws IOException {
+		long cards = 0L;
+		try (HandHistoryReader reader = new HandHistoryReader(scanDirectory)) {
+			while (reader.next()) {
+				for (int seat = 0; seat < reader.getSeatCount(); seat++) {
+					cards ^= reader.getHoleCardMask(seat);
+				}
+				cards ^= reader.getCommunityCardMask() ^ reader.getWinners();
+			}
+		}
+		return cards;
+	}
+
+	private static void delete(Path directory) throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(file);
+			}
+		}
+	}
+
+}
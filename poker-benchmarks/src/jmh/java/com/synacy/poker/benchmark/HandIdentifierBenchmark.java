@@ -0,0 +1,82 @@
+package com.synacy.poker.benchmark;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.hand.Hand;
+import com.synacy.poker.model.hand.HandIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Identifies two hole cards and five community cards, either a fixed hand of each {@link
+ * com.synacy.poker.model.hand.HandType} or random 7-card hands.
+ */
+@State(Scope.Thread)
+public class HandIdentifierBenchmark {
+
+	private static final int RANDOM_HANDS = 1024;
+
+	@Param({"HIGH_CARD", "ONE_PAIR", "TWO_PAIR", "THREE_OF_A_KIND", "STRAIGHT", "FLUSH", "FULL_HOUSE",
+			"FOUR_OF_A_KIND", "STRAIGHT_FLUSH", "RANDOM"})
+	public String hand;
+
+	private final HandIdentifier handIdentifier = new HandIdentifier();
+
+	private List<List<Card>> playerCards;
+	private List<List<Card>> communityCards;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		if ("RANDOM".equals(hand)) {
+			playerCards = BenchmarkCards.randomCards(RANDOM_HANDS, 7, 11L);
+			communityCards = new ArrayList<>(RANDOM_HANDS);
+			for (int i = 0; i < RANDOM_HANDS; i++) {
+				List<Card> cards = playerCards.get(i);
+				communityCards.add(cards.subList(2, 7));
+				playerCards.set(i, cards.subList(0, 2));
+			}
+		} else {
+			String[] cards = fixedHand(hand).split(" ", 3);
+			playerCards = Collections.singletonList(BenchmarkCards.cards(cards[0] + " " + cards[1]));
+			communityCards = Collections.singletonList(BenchmarkCards.cards(cards[2]));
+		}
+	}
+
+	@Benchmark
+	public Hand identifyHand() {
+		int i = next;
+		next = (i + 1) % playerCards.size();
+		return handIdentifier.identifyHand(playerCards.get(i), communityCards.get(i));
+	}
+
+	private static String fixedHand(String handType) {
+		switch (handType) {
+			case "HIGH_CARD":
+				return "As Jd 9c 7h 5s 3d 2c";
+			case "ONE_PAIR":
+				return "As Ad 9c 7h 5s 3d 2c";
+			case "TWO_PAIR":
+				return "As Ad 9c 9h 5s 3d 2c";
+			case "THREE_OF_A_KIND":
+				return "As Ad Ac 7h 5s 3d 2c";
+			case "STRAIGHT":
+				return "9s 8d 7c 6h 5s 3d 2c";
+			case "FLUSH":
+				return "As Js 9s 7h 5s 3s 2c";
+			case "FULL_HOUSE":
+				return "As Ad Ac 7h 7s 3d 2c";
+			case "FOUR_OF_A_KIND":
+				return "As Ad Ac Ah 5s 3d 2c";
+			default:
+				return "9s 8s 7s 6s 5s 3d 2c";
+		}
+	}
+
+}
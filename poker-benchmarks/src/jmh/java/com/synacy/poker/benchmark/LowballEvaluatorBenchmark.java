@@ -0,0 +1,60 @@
+package com.synacy.poker.benchmark;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.hand.HandEvaluator;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.LowballEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Scores random five or seven card hands as a low of each {@link LowballEvaluator.Type}, against the
+ * {@link HandRankTable} rank of the same hands as the high-only baseline.
+ */
+@State(Scope.Thread)
+public class LowballEvaluatorBenchmark {
+
+	private static final int RANDOM_HANDS = 1024;
+
+	@Param({"HIGH", "ACE_TO_FIVE", "EIGHT_OR_BETTER", "DEUCE_TO_SEVEN"})
+	public String evaluator;
+
+	@Param({"5", "7"})
+	public int cards;
+
+	private HandRankTable handRankTable;
+	private LowballEvaluator lowballEvaluator;
+	private long[] cardMasks;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		if ("HIGH".equals(evaluator)) {
+			handRankTable = new HandRankTable(HandRankTable.Mode.SEVEN_CARD);
+		} else {
+			lowballEvaluator = new LowballEvaluator(LowballEvaluator.Type.valueOf(evaluator));
+		}
+
+		List<List<Card>> hands = BenchmarkCards.randomCards(RANDOM_HANDS, cards, 19L);
+		cardMasks = new long[RANDOM_HANDS];
+		for (int i = 0; i < RANDOM_HANDS; i++) {
+			cardMasks[i] = HandEvaluator.cardMask(hands.get(i));
+		}
+	}
+
+	@Benchmark
+	public int evaluate() {
+		int i = next;
+		next = (i + 1) % RANDOM_HANDS;
+		if (lowballEvaluator != null) {
+			return lowballEvaluator.evaluate(cardMasks[i]);
+		}
+		return handRankTable.rank(cardMasks[i]);
+	}
+
+}
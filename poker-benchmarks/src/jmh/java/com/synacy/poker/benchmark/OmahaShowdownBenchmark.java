@@ -0,0 +1,73 @@
+package com.synacy.poker.benchmark;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the winners of a Hold'em, Omaha or Omaha Hi/Lo showdown on random complete boards, so the cost of the
+ * Omaha evaluation can be compared against Hold'em at the same table size.
+ */
+@State(Scope.Thread)
+public class OmahaShowdownBenchmark {
+
+	private static final int TABLES = 256;
+
+	@Param({"2", "6", "9"})
+	public int players;
+
+	@Param({"TEXAS_HOLDEM", "OMAHA", "OMAHA_HI_LO"})
+	public GameType gameType;
+
+	private WinningHandCalculator winningHandCalculator;
+	private List<List<Player>> tablePlayers;
+	private List<CardSet> tableCommunityCards;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		winningHandCalculator = new WinningHandCalculator(new HandIdentifier(),
+				new HandRankTable(HandRankTable.Mode.DIRECT));
+		tablePlayers = new ArrayList<>(TABLES);
+		tableCommunityCards = new ArrayList<>(TABLES);
+
+		int holeCards = gameType.getHoleCards();
+		for (List<Card> cards : BenchmarkCards.randomCards(TABLES, players * holeCards + 5, 17L)) {
+			List<Player> table = new ArrayList<>(players);
+			for (int i = 0; i < players; i++) {
+				Player player = new Player("Player " + (i + 1));
+				cards.subList(i * holeCards, (i + 1) * holeCards).forEach(player::addToHand);
+				table.add(player);
+			}
+			tablePlayers.add(table);
+			tableCommunityCards.add(CardSet.of(cards.subList(players * holeCards, players * holeCards + 5)));
+		}
+	}
+
+	@Benchmark
+	public void calculateWinningHand(Blackhole blackhole) {
+		int i = next;
+		next = (i + 1) % TABLES;
+		List<Player> players = tablePlayers.get(i);
+		CardSet communityCards = tableCommunityCards.get(i);
+
+		blackhole.consume(winningHandCalculator.calculateWinningHand(players, communityCards, gameType));
+		if (gameType.isHiLo()) {
+			blackhole.consume(winningHandCalculator.calculateWinningLowHand(players, communityCards));
+		}
+	}
+
+}
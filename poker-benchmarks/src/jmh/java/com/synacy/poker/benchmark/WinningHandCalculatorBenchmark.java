@@ -0,0 +1,75 @@
+package com.synacy.poker.benchmark;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.hand.Hand;
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.RankTableHandIdentifier;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the winners of a showdown between 2 to 10 players on random complete boards. Short-deck showdowns are
+ * ranked with the tables of their own profile, so they should cost the same as standard ones.
+ */
+@State(Scope.Thread)
+public class WinningHandCalculatorBenchmark {
+
+	private static final int TABLES = 256;
+
+	@Param({"2", "3", "4", "5", "6", "7", "8", "9", "10"})
+	public int players;
+
+	@Param({"DIRECT", "SEVEN_CARD"})
+	public HandRankTable.Mode mode;
+
+	@Param({"STANDARD", "SHORT_DECK"})
+	public DeckProfile deck;
+
+	private WinningHandCalculator winningHandCalculator;
+	private List<List<Player>> tablePlayers;
+	private List<List<Card>> tableCommunityCards;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		if (deck == DeckProfile.STANDARD) {
+			winningHandCalculator = new WinningHandCalculator(new HandIdentifier(), new HandRankTable(mode));
+		} else {
+			HandRankTable handRankTable = new HandRankTable(deck, mode);
+			winningHandCalculator = new WinningHandCalculator(new RankTableHandIdentifier(handRankTable),
+					handRankTable);
+		}
+		tablePlayers = new ArrayList<>(TABLES);
+		tableCommunityCards = new ArrayList<>(TABLES);
+
+		for (List<Card> cards : BenchmarkCards.randomCards(TABLES, players * 2 + 5, 13L, deck)) {
+			List<Player> table = new ArrayList<>(players);
+			for (int i = 0; i < players; i++) {
+				Player player = new Player("Player " + (i + 1));
+				player.addToHand(cards.get(i * 2));
+				player.addToHand(cards.get(i * 2 + 1));
+				table.add(player);
+			}
+			tablePlayers.add(table);
+			tableCommunityCards.add(cards.subList(players * 2, players * 2 + 5));
+		}
+	}
+
+	@Benchmark
+	public List<Hand> calculateWinningHand() {
+		int i = next;
+		next = (i + 1) % TABLES;
+		return winningHandCalculator.calculateWinningHand(tablePlayers.get(i), tableCommunityCards.get(i));
+	}
+
+}
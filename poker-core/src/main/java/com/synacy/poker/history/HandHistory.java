@@ -0,0 +1,19 @@
+package com.synacy.poker.history;
+
+/**
+ * Where the completed games of the tables are recorded. {@link #DISABLED} keeps nothing, and the tables do not
+ * build the records at all when it is used.
+ */
+public interface HandHistory {
+
+    HandHistory DISABLED = record -> {
+    };
+
+    /**
+     * Records a completed game. Must not block the table that played it.
+     *
+     * @param record
+     */
+    void record(HandRecord record);
+
+}
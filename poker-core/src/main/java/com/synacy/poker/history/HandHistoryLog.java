@@ -0,0 +1,266 @@
+package com.synacy.poker.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An append-only {@link HandHistory} in a directory of memory-mapped segment files, read back with a
+ * {@link HandHistoryReader}.
+ *
+ * <p>Recording a game only offers its {@link HandRecord} to a bounded queue, so the tables never wait for the
+ * disk: when the queue is full the record is dropped and counted instead. A single writer thread takes the
+ * records off the queue in batches, copies them into the mapped segment and forces the segment to disk at most
+ * once per flush interval.</p>
+ *
+ * <p>Each segment starts with a 16 byte header of {@link #MAGIC}, the format version and the timestamp its records
+ * are relative to, followed by the records back to back. A new segment is started when a record does not fit in
+ * the current one, or happened too long before or after the segment's timestamp to fit in 4 bytes. Segments are
+ * numbered in the order they are written, and opening the log again appends after the last record of the last
+ * segment.</p>
+ */
+public class HandHistoryLog implements HandHistory, Closeable {
+
+    public static final int MAGIC = 0x48484C47;
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    static final int FORMAT_VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 16;
+
+    private static final int MIN_SEGMENT_SIZE = 4096;
+    private static final String SEGMENT_PREFIX = "hands-";
+    private static final Pattern SEGMENT_NAME = Pattern.compile(SEGMENT_PREFIX + "\\d{10}\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<HandRecord> queue;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread writer;
+
+    private volatile boolean open = true;
+    private volatile long writtenCount;
+    private volatile IOException failure;
+
+    private int segmentNumber;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long baseTimestamp;
+
+    public HandHistoryLog(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE, 65536, 1024, 1000L);
+    }
+
+    /**
+     * Opens the log in the directory, creating it if needed, and starts its writer thread.
+     *
+     * @param directory
+     * @param segmentSize         the size of each segment file in bytes
+     * @param queueCapacity       the number of records that can wait for the writer before records are dropped
+     * @param batchSize           the largest number of records the writer takes off the queue at once
+     * @param flushIntervalMillis the longest time written records wait to be forced to disk
+     * @throws IllegalArgumentException if the segment size is below 4KB
+     * @throws UncheckedIOException     if the last segment can not be opened
+     */
+    public HandHistoryLog(Path directory, int segmentSize, int queueCapacity, int batchSize,
+                          long flushIntervalMillis) {
+        if (segmentSize < MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("The segments must be at least " + MIN_SEGMENT_SIZE + " bytes.");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = segments(directory);
+            if (!segments.isEmpty()) {
+                openLastSegment(segments.get(segments.size() - 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the hand history log.", e);
+        }
+
+        writer = new Thread(this::write, "hand-history-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues the record for the writer thread, or drops it if the queue is full or the log is closed.
+     *
+     * @param record
+     */
+    @Override
+    public void record(HandRecord record) {
+        if (!open || !queue.offer(record)) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return The directory of the segment files
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return The number of records written to a segment since the log was opened
+     */
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    /**
+     * @return The number of records dropped because the queue was full or the log was closed
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Stops taking records, writes the queued ones and forces the last segment to disk.
+     *
+     * @throws IOException if the writer failed to write a segment
+     */
+    @Override
+    public void close() throws IOException {
+        open = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedCount.addAndGet(queue.size());
+        queue.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @param directory
+     * @return The segment files of the log in the directory, in the order they were written
+     * @throws IOException
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * The writer thread. It is never interrupted, since that would close the segment's channel, and instead polls
+     * the queue with the flush interval as a timeout so it sees the log closing.
+     */
+    private void write() {
+        List<HandRecord> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        try {
+            while (open || !queue.isEmpty()) {
+                HandRecord first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    for (HandRecord record : batch) {
+                        append(record);
+                    }
+                    writtenCount += batch.size();
+                    batch.clear();
+                    dirty = true;
+                }
+                if (dirty && (first == null || System.nanoTime() - lastFlush >= flushIntervalNanos)) {
+                    segment.force();
+                    lastFlush = System.nanoTime();
+                    dirty = false;
+                }
+            }
+            if (dirty) {
+                segment.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            failure = e;
+            open = false;
+            droppedCount.addAndGet(batch.size() + queue.size());
+            queue.clear();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(HandRecord record) throws IOException {
+        int length = record.getEncodedLength();
+        long delta = record.getTimestamp() - baseTimestamp;
+        if (segment == null || segment.remaining() < length || delta != (int) delta) {
+            startSegment(record.getTimestamp());
+        }
+        segment.position(record.encode(segment, segment.position(), baseTimestamp));
+    }
+
+    private void startSegment(long timestamp) throws IOException {
+        if (channel != null) {
+            segment.force();
+            channel.close();
+            segmentNumber++;
+        }
+        Path file = directory.resolve(String.format(SEGMENT_PREFIX + "%010d.log", segmentNumber));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        baseTimestamp = timestamp;
+        segment.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(baseTimestamp);
+    }
+
+    /**
+     * Maps the last segment and moves to the end of its records, so appending continues after them.
+     */
+    private void openLastSegment(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        String name = file.getFileName().toString();
+        segmentNumber = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.indexOf('.')));
+        if (segment.limit() < SEGMENT_HEADER_SIZE || segment.getInt(0) != MAGIC
+                || segment.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a hand history segment: " + file);
+        }
+        baseTimestamp = segment.getLong(8);
+
+        int position = SEGMENT_HEADER_SIZE;
+        while (position + HandRecord.HEADER_SIZE <= segment.limit()) {
+            int header = segment.getInt(position);
+            if (header == 0) {
+                break;
+            }
+            position += HandRecord.encodedLength(header);
+        }
+        segment.position(Math.min(position, segment.limit()));
+    }
+
+}
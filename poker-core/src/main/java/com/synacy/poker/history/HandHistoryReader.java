@@ -0,0 +1,174 @@
+package com.synacy.poker.history;
+
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.hand.HandEvaluator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Scans the records of a {@link HandHistoryLog} in the order they were written.
+ *
+ * <p>The reader is a cursor over the mapped segments: {@link #next()} only reads the header of the next record,
+ * and the getters decode the parts of the current record they are asked for, without allocating. Scanning is
+ * sequential through each segment, so it runs at the speed the disk reads ahead. {@link #toRecord()} copies the
+ * current record out when it is needed after the cursor moves on.</p>
+ *
+ * <p>A reader sees the records that were written when it reaches their segment, and stops at the first record
+ * that is not complete.</p>
+ */
+public class HandHistoryReader implements Closeable {
+
+    private final List<Path> segments;
+    private int nextSegment;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long baseTimestamp;
+    private int position;
+    private int header;
+
+    /**
+     * @param directory the directory of the log
+     * @throws UncheckedIOException if the segments can not be listed
+     */
+    public HandHistoryReader(Path directory) {
+        try {
+            this.segments = HandHistoryLog.segments(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list the hand history segments.", e);
+        }
+    }
+
+    /**
+     * Moves to the next record.
+     *
+     * @return true if there is a next record, false at the end of the log
+     * @throws UncheckedIOException if a segment can not be read
+     */
+    public boolean next() {
+        int nextPosition = segment == null ? 0 : position + (header == 0 ? 0 : HandRecord.encodedLength(header));
+        while (true) {
+            if (segment != null && nextPosition + HandRecord.HEADER_SIZE <= segment.limit()) {
+                int nextHeader = segment.getInt(nextPosition);
+                if (nextHeader != 0 && nextPosition + HandRecord.encodedLength(nextHeader) <= segment.limit()) {
+                    position = nextPosition;
+                    header = nextHeader;
+                    return true;
+                }
+            }
+            if (nextSegment == segments.size()) {
+                header = 0;
+                return false;
+            }
+            openSegment(segments.get(nextSegment++));
+            nextPosition = HandHistoryLog.SEGMENT_HEADER_SIZE;
+        }
+    }
+
+    /**
+     * @return The milliseconds since the epoch when the game of the current record ended
+     */
+    public long getTimestamp() {
+        return baseTimestamp + segment.getInt(position + 4);
+    }
+
+    public GameType getGameType() {
+        return HandRecord.gameType(header);
+    }
+
+    public DeckProfile getDeckProfile() {
+        return HandRecord.deckProfile(header);
+    }
+
+    public int getSeatCount() {
+        return HandRecord.seatCount(header);
+    }
+
+    public int getHoleCardCount() {
+        return HandRecord.holeCardCount(header);
+    }
+
+    public int getCommunityCardCount() {
+        return HandRecord.boardCount(header);
+    }
+
+    /**
+     * @param seat
+     * @return The card mask of the seat's hole cards
+     * @see HandEvaluator#cardMask(int)
+     */
+    public long getHoleCardMask(int seat) {
+        int holeCardCount = getHoleCardCount();
+        return HandRecord.cardMask(segment, position, header, seat * holeCardCount, holeCardCount);
+    }
+
+    /**
+     * @return The card mask of the community cards
+     * @see HandEvaluator#cardMask(int)
+     */
+    public long getCommunityCardMask() {
+        return HandRecord.cardMask(segment, position, header, getSeatCount() * getHoleCardCount(),
+                getCommunityCardCount());
+    }
+
+    /**
+     * @return The bits of the indexes of the players winning the high hand
+     */
+    public long getWinners() {
+        return HandRecord.winners(header);
+    }
+
+    /**
+     * @return The bits of the indexes of the players winning the low hand, 0 if there is none
+     */
+    public long getLowWinners() {
+        return HandRecord.lowWinners(segment, position, header);
+    }
+
+    /**
+     * @return A copy of the current record, with the cards in the order they were dealt
+     */
+    public HandRecord toRecord() {
+        byte[] cards = new byte[getSeatCount() * getHoleCardCount() + getCommunityCardCount()];
+        for (int card = 0; card < cards.length; card++) {
+            cards[card] = (byte) HandRecord.cardIndex(segment, position, header, card);
+        }
+        return new HandRecord(getTimestamp(), getGameType(), getDeckProfile(), getSeatCount(), getHoleCardCount(),
+                cards, getWinners(), getLowWinners());
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        segment = null;
+        nextSegment = segments.size();
+    }
+
+    private void openSegment(Path file) {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (segment.limit() < HandHistoryLog.SEGMENT_HEADER_SIZE || segment.getInt(0) != HandHistoryLog.MAGIC
+                    || segment.getInt(4) != HandHistoryLog.FORMAT_VERSION) {
+                throw new IOException("Not a hand history segment: " + file);
+            }
+            baseTimestamp = segment.getLong(8);
+            header = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the hand history segment.", e);
+        }
+    }
+
+}
@@ -0,0 +1,359 @@
+package com.synacy.poker.history;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.hand.HandEvaluator;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One completed game of a {@link HandHistory}: when it ended, the variant and deck it was played with, every
+ * seat's hole cards, the board and the winners.
+ *
+ * <p>In the log a record is a 4 byte header, its milliseconds from the timestamp of its segment in 4 bytes, the
+ * low winners in 2 more bytes when a Hi/Lo game had a low, and then every card as a 6 bit {@link Card#getIndex()},
+ * the seats' hole cards in seat order followed by the board. Three players of Texas Hold'em take 17 bytes, nine
+ * players 26 bytes.</p>
+ *
+ * <p>The header packs the seat count in bits 0-3, the hole cards per seat in bits 4-6, the board cards in bits 7-9,
+ * the high winners in bits 10-24, whether there are low winners in bit 25, the {@link GameType} in bits 26-28 and
+ * the {@link DeckProfile} in bits 29-30. A header is never 0, so the zeros after the last record of a segment end
+ * it.</p>
+ */
+public final class HandRecord {
+
+    public static final int MAX_SEATS = 15;
+    public static final int MAX_CARDS = 7;
+
+    static final int HEADER_SIZE = 8;
+
+    private static final int CARD_BITS = 6;
+    private static final int CARD_MASK = (1 << CARD_BITS) - 1;
+    private static final int HOLE_CARDS_SHIFT = 4;
+    private static final int BOARD_SHIFT = 7;
+    private static final int WINNERS_SHIFT = 10;
+    private static final int LOW_WINNERS_FLAG = 1 << 25;
+    private static final int GAME_TYPE_SHIFT = 26;
+    private static final int GAME_TYPE_MASK = 7;
+    private static final int DECK_PROFILE_SHIFT = 29;
+    private static final int DECK_PROFILE_MASK = 3;
+    private static final int LOW_WINNERS_SIZE = 2;
+    private static final long SEATS_MASK = (1L << MAX_SEATS) - 1;
+
+    /**
+     * The card masks by {@link Card#getIndex()}, so decoding a card is a single load.
+     */
+    private static final long[] CARD_MASKS = cardMasks();
+
+    private static final GameType[] GAME_TYPES = GameType.values();
+    private static final DeckProfile[] DECK_PROFILES = DeckProfile.values();
+
+    private final long timestamp;
+    private final GameType gameType;
+    private final DeckProfile deckProfile;
+    private final int seatCount;
+    private final int holeCardCount;
+    private final byte[] cards;
+    private final long winners;
+    private final long lowWinners;
+
+    HandRecord(long timestamp, GameType gameType, DeckProfile deckProfile, int seatCount, int holeCardCount,
+               byte[] cards, long winners, long lowWinners) {
+        this.timestamp = timestamp;
+        this.gameType = gameType;
+        this.deckProfile = deckProfile;
+        this.seatCount = seatCount;
+        this.holeCardCount = holeCardCount;
+        this.cards = cards;
+        this.winners = winners;
+        this.lowWinners = lowWinners;
+    }
+
+    /**
+     * @param timestamp      the milliseconds since the epoch when the game ended
+     * @param gameType       the variant of the game
+     * @param deckProfile    the cards the game was dealt from
+     * @param players        the seated players with their hole cards
+     * @param communityCards
+     * @param winners        the bits of the indexes of the players winning the high hand
+     * @param lowWinners     the bits of the indexes of the players winning the low hand, 0 if there is none
+     * @return The record of the game
+     * @throws IllegalArgumentException if there are more than {@value #MAX_SEATS} players, the players do not hold
+     *                                  as many cards as each other, or there are more than {@value #MAX_CARDS}
+     *                                  hole or community cards
+     */
+    public static HandRecord of(long timestamp, GameType gameType, DeckProfile deckProfile, List<Player> players,
+                                List<Card> communityCards, long winners, long lowWinners) {
+        int seatCount = players.size();
+        int holeCardCount = seatCount == 0 ? 0 : players.get(0).getHand().size();
+        if (seatCount == 0 || seatCount > MAX_SEATS) {
+            throw new IllegalArgumentException("A hand record has from 1 to " + MAX_SEATS + " seats.");
+        }
+        if (holeCardCount > MAX_CARDS || communityCards.size() > MAX_CARDS) {
+            throw new IllegalArgumentException("A hand record has at most " + MAX_CARDS + " cards per seat.");
+        }
+        if (((winners | lowWinners) & ~SEATS_MASK) != 0) {
+            throw new IllegalArgumentException("The winners must be seated.");
+        }
+
+        byte[] cards = new byte[seatCount * holeCardCount + communityCards.size()];
+        int card = 0;
+        for (Player player : players) {
+            List<Card> hand = player.getHand();
+            if (hand.size() != holeCardCount) {
+                throw new IllegalArgumentException("Every seat of a hand record has as many hole cards.");
+            }
+            for (Card holeCard : hand) {
+                cards[card++] = (byte) holeCard.getIndex();
+            }
+        }
+        for (Card communityCard : communityCards) {
+            cards[card++] = (byte) communityCard.getIndex();
+        }
+        return new HandRecord(timestamp, gameType, deckProfile, seatCount, holeCardCount, cards, winners,
+                lowWinners);
+    }
+
+    /**
+     * @return The milliseconds since the epoch when the game ended
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    public DeckProfile getDeckProfile() {
+        return deckProfile;
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    public int getHoleCardCount() {
+        return holeCardCount;
+    }
+
+    /**
+     * @param seat
+     * @return The hole cards of the seat, in the order they were dealt
+     */
+    public List<Card> getHoleCards(int seat) {
+        return toCards(seat * holeCardCount, holeCardCount);
+    }
+
+    /**
+     * @return The community cards, in the order they were dealt
+     */
+    public List<Card> getCommunityCards() {
+        int holeCards = seatCount * holeCardCount;
+        return toCards(holeCards, cards.length - holeCards);
+    }
+
+    /**
+     * @return The bits of the indexes of the players winning the high hand
+     */
+    public long getWinners() {
+        return winners;
+    }
+
+    /**
+     * @return The bits of the indexes of the players winning the low hand, 0 if there is none
+     */
+    public long getLowWinners() {
+        return lowWinners;
+    }
+
+    /**
+     * @return The number of bytes of the record in the log
+     */
+    public int getEncodedLength() {
+        return encodedLength(header());
+    }
+
+    /**
+     * Writes the record at the position of the buffer, header last, so a reader never sees the header of a record
+     * that is not complete.
+     *
+     * @param buffer
+     * @param position      where the record starts
+     * @param baseTimestamp the timestamp of the segment, within an int of milliseconds from {@link #getTimestamp()}
+     * @return The position after the record
+     */
+    int encode(ByteBuffer buffer, int position, long baseTimestamp) {
+        int header = header();
+        int offset = position + HEADER_SIZE;
+        buffer.putInt(position + 4, (int) (timestamp - baseTimestamp));
+        if ((header & LOW_WINNERS_FLAG) != 0) {
+            buffer.putShort(offset, (short) lowWinners);
+            offset += LOW_WINNERS_SIZE;
+        }
+
+        long bits = 0L;
+        int bitCount = 0;
+        for (byte card : cards) {
+            bits = bits << CARD_BITS | card;
+            bitCount += CARD_BITS;
+            if (bitCount >= Byte.SIZE) {
+                bitCount -= Byte.SIZE;
+                buffer.put(offset++, (byte) (bits >>> bitCount));
+            }
+        }
+        if (bitCount > 0) {
+            buffer.put(offset++, (byte) (bits << (Byte.SIZE - bitCount)));
+        }
+
+        buffer.putInt(position, header);
+        return offset;
+    }
+
+    private int header() {
+        int boardCount = cards.length - seatCount * holeCardCount;
+        return seatCount
+                | holeCardCount << HOLE_CARDS_SHIFT
+                | boardCount << BOARD_SHIFT
+                | (int) winners << WINNERS_SHIFT
+                | (lowWinners != 0 ? LOW_WINNERS_FLAG : 0)
+                | gameType.ordinal() << GAME_TYPE_SHIFT
+                | deckProfile.ordinal() << DECK_PROFILE_SHIFT;
+    }
+
+    /**
+     * @param header the header of an encoded record
+     * @return The number of bytes of the record
+     */
+    static int encodedLength(int header) {
+        int cardCount = seatCount(header) * holeCardCount(header) + boardCount(header);
+        return HEADER_SIZE + ((header & LOW_WINNERS_FLAG) != 0 ? LOW_WINNERS_SIZE : 0)
+                + (cardCount * CARD_BITS + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    static int seatCount(int header) {
+        return header & ((1 << HOLE_CARDS_SHIFT) - 1);
+    }
+
+    static int holeCardCount(int header) {
+        return header >>> HOLE_CARDS_SHIFT & MAX_CARDS;
+    }
+
+    static int boardCount(int header) {
+        return header >>> BOARD_SHIFT & MAX_CARDS;
+    }
+
+    static GameType gameType(int header) {
+        return GAME_TYPES[header >>> GAME_TYPE_SHIFT & GAME_TYPE_MASK];
+    }
+
+    static DeckProfile deckProfile(int header) {
+        return DECK_PROFILES[header >>> DECK_PROFILE_SHIFT & DECK_PROFILE_MASK];
+    }
+
+    static long winners(int header) {
+        return header >>> WINNERS_SHIFT & SEATS_MASK;
+    }
+
+    /**
+     * @return The bits of the low winners of the record at the position, 0 if it has none
+     */
+    static long lowWinners(ByteBuffer buffer, int position, int header) {
+        return (header & LOW_WINNERS_FLAG) != 0 ? buffer.getShort(position + HEADER_SIZE) & SEATS_MASK : 0L;
+    }
+
+    /**
+     * @param buffer
+     * @param position the position of an encoded record
+     * @param header   the header of the record
+     * @param card     the index of the card in the record, hole cards first
+     * @return The {@link Card#getIndex()} of the card
+     */
+    static int cardIndex(ByteBuffer buffer, int position, int header, int card) {
+        int bit = card * CARD_BITS;
+        int offset = cardsPosition(position, header) + bit / Byte.SIZE;
+        int twoBytes = (buffer.get(offset) & 0xFF) << Byte.SIZE;
+        if (offset + 1 < buffer.limit()) {
+            twoBytes |= buffer.get(offset + 1) & 0xFF;
+        }
+        return twoBytes >>> (2 * Byte.SIZE - CARD_BITS - bit % Byte.SIZE) & CARD_MASK;
+    }
+
+    /**
+     * Decodes consecutive cards of a record into a card mask, reading each byte once.
+     *
+     * @param buffer
+     * @param position the position of an encoded record
+     * @param header   the header of the record
+     * @param from     the index of the first card in the record, hole cards first
+     * @param count    the number of cards
+     * @return The card mask of the cards
+     * @see HandEvaluator#cardMask(int)
+     */
+    static long cardMask(ByteBuffer buffer, int position, int header, int from, int count) {
+        int bit = from * CARD_BITS;
+        int offset = cardsPosition(position, header) + bit / Byte.SIZE;
+        int available = 0;
+        int bits = 0;
+        if (bit % Byte.SIZE != 0) {
+            available = Byte.SIZE - bit % Byte.SIZE;
+            bits = buffer.get(offset++) & ((1 << available) - 1);
+        }
+
+        long cardMask = 0L;
+        for (int card = 0; card < count; card++) {
+            if (available < CARD_BITS) {
+                bits = bits << Byte.SIZE | buffer.get(offset++) & 0xFF;
+                available += Byte.SIZE;
+            }
+            available -= CARD_BITS;
+            cardMask |= CARD_MASKS[bits >>> available & CARD_MASK];
+        }
+        return cardMask;
+    }
+
+    private static int cardsPosition(int position, int header) {
+        return position + HEADER_SIZE + ((header & LOW_WINNERS_FLAG) != 0 ? LOW_WINNERS_SIZE : 0);
+    }
+
+    private static long[] cardMasks() {
+        long[] cardMasks = new long[CARD_MASK + 1];
+        for (int index = 0; index < Card.DECK_SIZE; index++) {
+            cardMasks[index] = HandEvaluator.cardMask(index);
+        }
+        return cardMasks;
+    }
+
+    private List<Card> toCards(int from, int count) {
+        List<Card> list = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            list.add(Card.fromIndex(cards[i]));
+        }
+        return list;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HandRecord that = (HandRecord) o;
+        return timestamp == that.timestamp && gameType == that.gameType && deckProfile == that.deckProfile
+                && seatCount == that.seatCount && holeCardCount == that.holeCardCount && winners == that.winners
+                && lowWinners == that.lowWinners && Arrays.equals(cards, that.cards);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(timestamp) + Arrays.hashCode(cards);
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.synacy.poker.metrics;
+
+import com.synacy.poker.model.hand.Hand;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The timers and counters of the game engine, passed on to a {@link Recorder}. The web application records them
+ * with Micrometer, which publishes them on the Actuator's Prometheus endpoint.
+ *
+ * <p>Operations are timed by pairing {@link #start(Operation)} with {@link #stop(Operation, long)}. The
+ * operations that take well under a microsecond, such as identifying a hand or shuffling, are only timed for
+ * 1 in <code>sampleRate</code> calls: reading the clock and recording a sample on every call would cost more
+ * than the operation itself. {@link #DISABLED} records nothing and only costs a branch.</p>
+ */
+public final class PokerMetrics {
+
+    public enum Operation {
+        IDENTIFY_HAND("identify_hand", true),
+        CALCULATE_WINNING_HAND("calculate_winning_hand", true),
+        SHUFFLE("shuffle", true),
+        START_NEW_GAME("start_new_game", false),
+        NEXT_ACTION("next_action", false),
+        TABLE_REQUEST("table_request", false),
+        NEXT_ACTION_REQUEST("next_action_request", false);
+
+        private final String tag;
+        private final boolean sampled;
+
+        Operation(String tag, boolean sampled) {
+            this.tag = tag;
+            this.sampled = sampled;
+        }
+
+        /**
+         * @return The name of the operation in recorded metrics
+         */
+        public String getTag() {
+            return tag;
+        }
+
+        /**
+         * @return true if only some of the calls are timed
+         */
+        public boolean isSampled() {
+            return sampled;
+        }
+    }
+
+    /**
+     * Where the engine's measurements are recorded.
+     */
+    public interface Recorder {
+
+        /**
+         * @param operation
+         * @param nanos     the time the operation took
+         */
+        void recordTime(Operation operation, long nanos);
+
+        void recordHandDealt();
+
+        /**
+         * @param winningHands the hands of the winners, more than one when they tie
+         */
+        void recordShowdown(List<Hand> winningHands);
+
+    }
+
+    public static final PokerMetrics DISABLED = new PokerMetrics();
+
+    /**
+     * What {@link #start(Operation)} returns for a call that is not timed.
+     */
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private final Recorder recorder;
+    private final int sampleMask;
+
+    /**
+     * @param recorder
+     * @param sampleRate time 1 in this many calls of the sampled operations, rounded up to a power of two
+     */
+    public PokerMetrics(Recorder recorder, int sampleRate) {
+        this.recorder = recorder;
+        this.sampleMask = roundSampleRate(sampleRate) - 1;
+    }
+
+    private PokerMetrics() {
+        this.recorder = null;
+        this.sampleMask = 0;
+    }
+
+    /**
+     * @param sampleRate
+     * @return The sample rate rounded up to a power of two, at least 1
+     */
+    public static int roundSampleRate(int sampleRate) {
+        return sampleRate <= 1 ? 1 : Integer.highestOneBit(sampleRate - 1) << 1;
+    }
+
+    public boolean isEnabled() {
+        return recorder != null;
+    }
+
+    /**
+     * @return The number of calls of a sampled operation per timed call, a power of two
+     */
+    public int getSampleRate() {
+        return sampleMask + 1;
+    }
+
+    /**
+     * @param operation
+     * @return The start time to pass to {@link #stop(Operation, long)}, or {@link #NOT_TIMED}
+     */
+    public long start(Operation operation) {
+        if (recorder == null || operation.sampled && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * @param operation
+     * @param start     what {@link #start(Operation)} returned for the same call
+     */
+    public void stop(Operation operation, long start) {
+        if (start != NOT_TIMED) {
+            recorder.recordTime(operation, System.nanoTime() - start);
+        }
+    }
+
+    public void handDealt() {
+        if (recorder != null) {
+            recorder.recordHandDealt();
+        }
+    }
+
+    /**
+     * @param winningHands the hands of the winners, more than one when they tie
+     */
+    public void showdown(List<Hand> winningHands) {
+        if (recorder != null) {
+            recorder.recordShowdown(winningHands);
+        }
+    }
+
+}
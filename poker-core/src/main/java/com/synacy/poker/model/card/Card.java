@@ -0,0 +1,125 @@
+package com.synacy.poker.model.card;
+
+/**
+ * The card in a deck. A combination of {@link CardRank} and {@link CardSuit}
+ *
+ * <p>Each of the 52 cards has an index from 0 to 51, <code>suit.ordinal() * 13 + rank.ordinal()</code>, and a
+ * shared instance returned by {@link #of(CardRank, CardSuit)} and {@link #fromIndex(int)}. Cards are equal when
+ * their indexes are equal.</p>
+ */
+public class Card {
+
+	public static final int DECK_SIZE = 52;
+
+	private static final int RANK_COUNT = 13;
+	private static final Card[] CARDS = new Card[DECK_SIZE];
+
+	static {
+		for (CardSuit suit : CardSuit.values()) {
+			for (CardRank rank : CardRank.values()) {
+				Card card = new Card(rank, suit);
+				CARDS[card.index] = card;
+			}
+		}
+	}
+
+	private final CardRank rank;
+	private final CardSuit suit;
+	private final int index;
+
+	public Card(CardRank rank, CardSuit suit) {
+		this.rank = rank;
+		this.suit = suit;
+		this.index = rank == null || suit == null ? -1 : suit.ordinal() * RANK_COUNT + rank.ordinal();
+	}
+
+	/**
+	 * @param rank
+	 * @param suit
+	 * @return The shared {@link Card} of the rank and suit
+	 */
+	public static Card of(CardRank rank, CardSuit suit) {
+		return CARDS[suit.ordinal() * RANK_COUNT + rank.ordinal()];
+	}
+
+	/**
+	 * @param index the card index, from 0 to 51
+	 * @return The shared {@link Card} with the index
+	 * @throws IllegalArgumentException if the index is not a card index
+	 */
+	public static Card fromIndex(int index) {
+		if (index < 0 || index >= DECK_SIZE) {
+			throw new IllegalArgumentException("Invalid card index: " + index);
+		}
+		return CARDS[index];
+	}
+
+	/**
+	 * @param index the card index, from 0 to 51
+	 * @return The {@link CardRank} ordinal of the card index
+	 */
+	public static int rankOf(int index) {
+		return index % RANK_COUNT;
+	}
+
+	/**
+	 * @param index the card index, from 0 to 51
+	 * @return The {@link CardSuit} ordinal of the card index
+	 */
+	public static int suitOf(int index) {
+		return index / RANK_COUNT;
+	}
+
+	/**
+	 * @return The {@link CardRank}
+	 */
+	public CardRank getRank() {
+		return rank;
+	}
+
+	/**
+	 * @return The {@link CardSuit}
+	 */
+	public CardSuit getSuit() {
+		return suit;
+	}
+
+	/**
+	 * @return The card index from 0 to 51, or -1 for a card without a rank and suit
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * @return The CSS class of the card, e.g. <code>card-red</code>
+	 */
+	public String styleClass() {
+		return "card-" + suit.getColor();
+	}
+
+	/**
+	 * @return The combination of the {@link CardRank} and {@link CardSuit}, e.g. Ace of Hearts is
+	 * <code>A&hearts;</code>
+	 */
+	public String toString() {
+		return getRank().toString() + getSuit().toString();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		return index == ((Card) o).index;
+	}
+
+	@Override
+	public int hashCode() {
+		return index;
+	}
+
+	public int getRankToInt() {
+		return rank.ordinal();
+	}
+
+}
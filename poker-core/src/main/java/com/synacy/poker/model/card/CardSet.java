@@ -0,0 +1,290 @@
+package com.synacy.poker.model.card;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable set of {@link Card}s stored in a single <code>long</code>.
+ *
+ * <p>The card mask has one 16-bit lane per {@link CardSuit}, in suit order, and bit <code>n</code> of a lane is
+ * the {@link CardRank} with ordinal <code>n</code>. This is the card mask the hand evaluator scores, so a set can
+ * be evaluated without conversion. Unions, intersections, membership and size are single bitwise operations.</p>
+ *
+ * <p>Iteration is in suit order, then rank order.</p>
+ */
+public final class CardSet implements Iterable<Card> {
+
+	public static final int SUIT_SHIFT = 16;
+	public static final int RANK_BITS = 0x1FFF;
+
+	private static final long ALL_CARDS = 0x1FFF_1FFF_1FFF_1FFFL;
+	private static final long RANK_IN_EVERY_SUIT = 0x0001_0001_0001_0001L;
+	private static final int HISTOGRAM_BITS = 3;
+	private static final CardRank[] RANKS = CardRank.values();
+	private static final CardSuit[] SUITS = CardSuit.values();
+	private static final String RANK_SYMBOLS = "23456789TJQKA";
+	private static final String SUIT_SYMBOLS = "scdh";
+
+	public static final CardSet EMPTY = new CardSet(0L);
+
+	private final long mask;
+
+	private CardSet(long mask) {
+		this.mask = mask;
+	}
+
+	/**
+	 * @param mask a card mask with no bits outside the 13 rank bits of each suit lane
+	 * @return The set of the cards in the mask
+	 * @throws IllegalArgumentException if the mask has bits that are not cards
+	 */
+	public static CardSet fromMask(long mask) {
+		if ((mask & ~ALL_CARDS) != 0) {
+			throw new IllegalArgumentException("Not a card mask: " + Long.toHexString(mask));
+		}
+		return mask == 0L ? EMPTY : new CardSet(mask);
+	}
+
+	/**
+	 * @param cards
+	 * @return The set of the cards. Duplicates are ignored.
+	 */
+	public static CardSet of(Card... cards) {
+		long mask = 0L;
+		for (Card card : cards) {
+			mask |= bit(card);
+		}
+		return fromMask(mask);
+	}
+
+	/**
+	 * @param cards
+	 * @return The set of the cards. Duplicates are ignored.
+	 */
+	public static CardSet of(Collection<Card> cards) {
+		long mask = 0L;
+		for (Card card : cards) {
+			mask |= bit(card);
+		}
+		return fromMask(mask);
+	}
+
+	/**
+	 * @param cards whitespace separated cards of a rank and a suit letter, e.g. <code>As Td 2c</code>. Ranks are
+	 *              <code>23456789TJQKA</code> and suits <code>s</code>, <code>c</code>, <code>d</code> and
+	 *              <code>h</code>, in either case.
+	 * @return The set of the cards, empty for a blank string
+	 * @throws IllegalArgumentException if a card cannot be parsed or is repeated
+	 */
+	public static CardSet parse(String cards) {
+		long mask = 0L;
+		for (String card : cards.trim().split("\\s+")) {
+			if (card.isEmpty()) {
+				continue;
+			}
+			int rank = card.length() == 2 ? RANK_SYMBOLS.indexOf(Character.toUpperCase(card.charAt(0))) : -1;
+			int suit = card.length() == 2 ? SUIT_SYMBOLS.indexOf(Character.toLowerCase(card.charAt(1))) : -1;
+			if (rank < 0 || suit < 0) {
+				throw new IllegalArgumentException("Not a card: " + card);
+			}
+			long cardBit = bit(Card.of(RANKS[rank], SUITS[suit]));
+			if ((mask & cardBit) != 0) {
+				throw new IllegalArgumentException("The card " + card + " is repeated.");
+			}
+			mask |= cardBit;
+		}
+		return fromMask(mask);
+	}
+
+	/**
+	 * @return The set of all 52 cards
+	 */
+	public static CardSet fullDeck() {
+		return new CardSet(ALL_CARDS);
+	}
+
+	/**
+	 * @return The card mask of the set
+	 */
+	public long getMask() {
+		return mask;
+	}
+
+	public int size() {
+		return Long.bitCount(mask);
+	}
+
+	public boolean isEmpty() {
+		return mask == 0L;
+	}
+
+	public boolean contains(Card card) {
+		return (mask & bit(card)) != 0;
+	}
+
+	public boolean containsAll(CardSet other) {
+		return (mask & other.mask) == other.mask;
+	}
+
+	public boolean intersects(CardSet other) {
+		return (mask & other.mask) != 0;
+	}
+
+	public CardSet with(Card card) {
+		return fromMask(mask | bit(card));
+	}
+
+	public CardSet without(Card card) {
+		return fromMask(mask & ~bit(card));
+	}
+
+	public CardSet union(CardSet other) {
+		return fromMask(mask | other.mask);
+	}
+
+	public CardSet intersection(CardSet other) {
+		return fromMask(mask & other.mask);
+	}
+
+	public CardSet minus(CardSet other) {
+		return fromMask(mask & ~other.mask);
+	}
+
+	/**
+	 * @param suit
+	 * @return The 13 rank bits of the cards of the suit
+	 */
+	public int suitRanks(CardSuit suit) {
+		return (int) (mask >>> (suit.ordinal() * SUIT_SHIFT)) & RANK_BITS;
+	}
+
+	/**
+	 * @param rank
+	 * @return The 4 suit bits of the cards of the rank, bit <code>n</code> being the {@link CardSuit} with
+	 * ordinal <code>n</code>
+	 */
+	public int rankSuits(CardRank rank) {
+		long rankLanes = mask >>> rank.ordinal();
+		return (int) ((rankLanes & 1) | (rankLanes >>> (SUIT_SHIFT - 1) & 2)
+				| (rankLanes >>> (2 * SUIT_SHIFT - 2) & 4) | (rankLanes >>> (3 * SUIT_SHIFT - 3) & 8));
+	}
+
+	/**
+	 * @return The rank bits of every rank in the set, regardless of suit
+	 */
+	public int ranks() {
+		return (int) (mask | mask >>> SUIT_SHIFT | mask >>> (2 * SUIT_SHIFT) | mask >>> (3 * SUIT_SHIFT)) & RANK_BITS;
+	}
+
+	public CardSet ofSuit(CardSuit suit) {
+		return fromMask(mask & ((long) RANK_BITS << (suit.ordinal() * SUIT_SHIFT)));
+	}
+
+	public CardSet ofRank(CardRank rank) {
+		return fromMask(mask & (RANK_IN_EVERY_SUIT << rank.ordinal()));
+	}
+
+	public int suitCount(CardSuit suit) {
+		return Integer.bitCount(suitRanks(suit));
+	}
+
+	public int rankCount(CardRank rank) {
+		return Long.bitCount(mask & (RANK_IN_EVERY_SUIT << rank.ordinal()));
+	}
+
+	/**
+	 * The count of each rank packed into one <code>long</code>, 3 bits per rank.
+	 *
+	 * @return The rank histogram, where <code>(histogram >>> (3 * rank.ordinal())) & 7</code> is the count of
+	 * the rank
+	 */
+	public long rankHistogram() {
+		long histogram = 0L;
+		for (int suit = 0; suit < SUITS.length; suit++) {
+			int ranks = (int) (mask >>> (suit * SUIT_SHIFT)) & RANK_BITS;
+			while (ranks != 0) {
+				histogram += 1L << (Integer.numberOfTrailingZeros(ranks) * HISTOGRAM_BITS);
+				ranks &= ranks - 1;
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * @return The count of each suit packed into one <code>int</code>, 8 bits per suit, the lowest byte being
+	 * the {@link CardSuit} with ordinal 0
+	 */
+	public int suitHistogram() {
+		int histogram = 0;
+		for (int suit = 0; suit < SUITS.length; suit++) {
+			histogram |= Integer.bitCount((int) (mask >>> (suit * SUIT_SHIFT)) & RANK_BITS) << (suit * 8);
+		}
+		return histogram;
+	}
+
+	/**
+	 * @return The cards of the set, in iteration order
+	 */
+	public List<Card> toList() {
+		List<Card> cards = new ArrayList<>(size());
+		for (Card card : this) {
+			cards.add(card);
+		}
+		return cards;
+	}
+
+	@Override
+	public Iterator<Card> iterator() {
+		return new Iterator<Card>() {
+
+			private long remaining = mask;
+
+			@Override
+			public boolean hasNext() {
+				return remaining != 0;
+			}
+
+			@Override
+			public Card next() {
+				if (remaining == 0) {
+					throw new NoSuchElementException();
+				}
+				int bit = Long.numberOfTrailingZeros(remaining);
+				remaining &= remaining - 1;
+				return Card.of(RANKS[bit % SUIT_SHIFT], SUITS[bit / SUIT_SHIFT]);
+			}
+
+		};
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		return mask == ((CardSet) o).mask;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(mask);
+	}
+
+	/**
+	 * @return The cards of the set, e.g. <code>[A&hearts;, K&spades;]</code>
+	 */
+	@Override
+	public String toString() {
+		return toList().toString();
+	}
+
+	private static long bit(Card card) {
+		if (card.getIndex() < 0) {
+			throw new IllegalArgumentException("Only the 52 cards of a deck can be in a card set.");
+		}
+		return 1L << (card.getSuit().ordinal() * SUIT_SHIFT + card.getRank().ordinal());
+	}
+
+}
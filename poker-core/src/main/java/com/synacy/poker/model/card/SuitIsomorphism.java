@@ -0,0 +1,380 @@
+package com.synacy.poker.model.card;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps hands that differ only by a permutation of suits to one canonical representative and a dense index.
+ *
+ * <p>A hand is dealt in rounds, e.g. 2 hole cards and a 3 card flop, and cards of different rounds are never
+ * interchangeable. Within a suit, the ranks dealt in each round make up the suit's configuration. Two hands are
+ * isomorphic when they have the same configurations, whatever suits those are in, so the canonical hand orders its
+ * suits by configuration and the index is the position of that multiset of configurations among all of them.
+ * Indexes run from 0 to {@link #size()} - 1 without gaps: 169 starting hands, 1,755 flops on their own, or
+ * 1,286,792 hole card and flop combinations.</p>
+ *
+ * <p>Instances are immutable and thread safe.</p>
+ */
+public final class SuitIsomorphism {
+
+	public static final int MAX_ROUNDS = 4;
+
+	private static final int SUIT_COUNT = 4;
+	private static final int RANK_COUNT = 13;
+	private static final int RANK_BITS = CardSet.RANK_BITS;
+	private static final int ROUND_BITS = 4;
+	private static final int CONFIGURATION_BITS = ROUND_BITS * MAX_ROUNDS;
+	private static final CardSuit[] SUITS = CardSuit.values();
+	private static final long[][] BINOMIALS = binomials();
+
+	private final int[] roundSizes;
+	private final Map<Long, Long> offsets = new HashMap<>();
+	private final long size;
+
+	/**
+	 * @param roundSizes the number of cards dealt in each round, e.g. <code>2, 3, 1, 1</code> for hole cards, flop,
+	 *                   turn and river
+	 * @throws IllegalArgumentException if there are no rounds, more than {@link #MAX_ROUNDS}, an empty round or
+	 *                                  more than 52 cards
+	 */
+	public SuitIsomorphism(int... roundSizes) {
+		if (roundSizes.length == 0 || roundSizes.length > MAX_ROUNDS) {
+			throw new IllegalArgumentException("There must be from 1 to " + MAX_ROUNDS + " rounds.");
+		}
+		int cards = 0;
+		for (int roundSize : roundSizes) {
+			if (roundSize < 1 || roundSize > RANK_COUNT) {
+				throw new IllegalArgumentException("A round must have from 1 to " + RANK_COUNT + " cards.");
+			}
+			cards += roundSize;
+		}
+		if (cards > Card.DECK_SIZE) {
+			throw new IllegalArgumentException("There are only " + Card.DECK_SIZE + " cards.");
+		}
+
+		this.roundSizes = roundSizes.clone();
+		this.size = assignOffsets(new int[SUIT_COUNT], 0, this.roundSizes.clone(), 0L);
+	}
+
+	/**
+	 * @return The number of canonical hands
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * @return The number of cards dealt in each round
+	 */
+	public int[] getRoundSizes() {
+		return roundSizes.clone();
+	}
+
+	/**
+	 * @param rounds the cards of each round
+	 * @return The index of the hand's isomorphism class, from 0 to {@link #size()} - 1
+	 * @throws IllegalArgumentException if the rounds do not have the sizes of this isomorphism or share cards
+	 */
+	public long index(CardSet... rounds) {
+		return canonicalize(rounds).getIndex();
+	}
+
+	/**
+	 * @param rounds the cards of each round
+	 * @return The canonical hand of the rounds, with its index and the suit mapping back to the given cards
+	 * @throws IllegalArgumentException if the rounds do not have the sizes of this isomorphism or share cards
+	 */
+	public CanonicalHand canonicalize(CardSet... rounds) {
+		long[] masks = new long[rounds.length];
+		for (int round = 0; round < rounds.length; round++) {
+			masks[round] = rounds[round].getMask();
+		}
+		return canonicalize(masks);
+	}
+
+	/**
+	 * @param roundMasks the card mask of each round
+	 * @see #canonicalize(CardSet...)
+	 */
+	public CanonicalHand canonicalize(long... roundMasks) {
+		validate(roundMasks);
+
+		int[] configurations = new int[SUIT_COUNT];
+		long[] suitIndexes = new long[SUIT_COUNT];
+		int[] order = {0, 1, 2, 3};
+		for (int suit = 0; suit < SUIT_COUNT; suit++) {
+			int used = 0;
+			for (int round = 0; round < roundMasks.length; round++) {
+				int ranks = (int) (roundMasks[round] >>> (suit * CardSet.SUIT_SHIFT)) & RANK_BITS;
+				int count = Integer.bitCount(ranks);
+				configurations[suit] = configurations[suit] << ROUND_BITS | count;
+				suitIndexes[suit] = suitIndexes[suit] * BINOMIALS[RANK_COUNT - Integer.bitCount(used)][count]
+						+ colex(ranks, used);
+				used |= ranks;
+			}
+		}
+
+		// Insertion sort of the four suits, largest configuration first, then the original suit order
+		for (int i = 1; i < SUIT_COUNT; i++) {
+			int suit = order[i];
+			int j = i;
+			while (j > 0 && compare(configurations, suitIndexes, suit, order[j - 1]) > 0) {
+				order[j] = order[j - 1];
+				j--;
+			}
+			order[j] = suit;
+		}
+
+		long configurationKey = 0L;
+		for (int position = 0; position < SUIT_COUNT; position++) {
+			configurationKey = configurationKey << CONFIGURATION_BITS | configurations[order[position]];
+		}
+		long index = 0L;
+		for (int start = 0; start < SUIT_COUNT; ) {
+			int configuration = configurations[order[start]];
+			int end = start;
+			while (end < SUIT_COUNT && configurations[order[end]] == configuration) {
+				end++;
+			}
+			int groupSize = end - start;
+			long groupIndex = 0L;
+			for (int i = start; i < end; i++) {
+				groupIndex += binomial(suitIndexes[order[i]] + (end - 1 - i), end - i);
+			}
+			index = index * multisetCount(configurationSize(configuration), groupSize) + groupIndex;
+			start = end;
+		}
+
+		long[] canonicalMasks = new long[roundMasks.length];
+		for (int round = 0; round < roundMasks.length; round++) {
+			for (int position = 0; position < SUIT_COUNT; position++) {
+				long lane = roundMasks[round] >>> (order[position] * CardSet.SUIT_SHIFT) & RANK_BITS;
+				canonicalMasks[round] |= lane << (position * CardSet.SUIT_SHIFT);
+			}
+		}
+		return new CanonicalHand(offsets.get(configurationKey) + index, canonicalMasks, order);
+	}
+
+	private void validate(long[] roundMasks) {
+		if (roundMasks.length != roundSizes.length) {
+			throw new IllegalArgumentException("Expected " + roundSizes.length + " rounds.");
+		}
+		long cards = 0L;
+		for (int round = 0; round < roundMasks.length; round++) {
+			CardSet.fromMask(roundMasks[round]);
+			if (Long.bitCount(roundMasks[round]) != roundSizes[round]) {
+				throw new IllegalArgumentException("Round " + round + " must have " + roundSizes[round] + " cards.");
+			}
+			if ((cards & roundMasks[round]) != 0) {
+				throw new IllegalArgumentException("A card was dealt in more than one round.");
+			}
+			cards |= roundMasks[round];
+		}
+	}
+
+	private static int compare(int[] configurations, long[] suitIndexes, int suit, int otherSuit) {
+		if (configurations[suit] != configurations[otherSuit]) {
+			return Integer.compare(configurations[suit], configurations[otherSuit]);
+		}
+		if (suitIndexes[suit] != suitIndexes[otherSuit]) {
+			return Long.compare(suitIndexes[suit], suitIndexes[otherSuit]);
+		}
+		return Integer.compare(otherSuit, suit);
+	}
+
+	/**
+	 * Enumerates the ways to split each round's cards among the suits, with the suits in non-increasing
+	 * configuration order, and gives each split a range of indexes as long as its number of hands.
+	 *
+	 * @return The next free index
+	 */
+	private long assignOffsets(int[] configurations, int suit, int[] remaining, long offset) {
+		if (suit == SUIT_COUNT) {
+			for (int count : remaining) {
+				if (count != 0) {
+					return offset;
+				}
+			}
+			long configurationKey = 0L;
+			long hands = 1L;
+			for (int start = 0; start < SUIT_COUNT; ) {
+				int end = start;
+				while (end < SUIT_COUNT && configurations[end] == configurations[start]) {
+					end++;
+				}
+				hands = Math.multiplyExact(hands, multisetCount(configurationSize(configurations[start]), end - start));
+				start = end;
+			}
+			for (int configuration : configurations) {
+				configurationKey = configurationKey << CONFIGURATION_BITS | configuration;
+			}
+			offsets.put(configurationKey, offset);
+			return Math.addExact(offset, hands);
+		}
+
+		return assignSuitOffsets(configurations, suit, remaining, 0, 0, 0, offset);
+	}
+
+	private long assignSuitOffsets(int[] configurations, int suit, int[] remaining, int round, int configuration,
+								   int cards, long offset) {
+		if (round == roundSizes.length) {
+			if (suit > 0 && configuration > configurations[suit - 1]) {
+				return offset;
+			}
+			configurations[suit] = configuration;
+			return assignOffsets(configurations, suit + 1, remaining, offset);
+		}
+
+		for (int count = Math.min(remaining[round], RANK_COUNT - cards); count >= 0; count--) {
+			remaining[round] -= count;
+			offset = assignSuitOffsets(configurations, suit, remaining, round + 1,
+					configuration << ROUND_BITS | count, cards + count, offset);
+			remaining[round] += count;
+		}
+		return offset;
+	}
+
+	/**
+	 * @return The number of ways one suit can be dealt the configuration's number of cards in each round
+	 */
+	private long configurationSize(int configuration) {
+		long size = 1L;
+		int used = 0;
+		for (int round = 0; round < roundSizes.length; round++) {
+			int count = configuration >>> ((roundSizes.length - 1 - round) * ROUND_BITS) & 0xF;
+			size *= BINOMIALS[RANK_COUNT - used][count];
+			used += count;
+		}
+		return size;
+	}
+
+	/**
+	 * @return The colexicographic index of the ranks among the ranks that are not used yet
+	 */
+	private static long colex(int ranks, int used) {
+		long index = 0L;
+		int k = 1;
+		for (int remaining = ranks; remaining != 0; remaining &= remaining - 1) {
+			int rank = Integer.numberOfTrailingZeros(remaining);
+			int position = Integer.bitCount(~used & ((1 << rank) - 1));
+			index += BINOMIALS[position][k++];
+		}
+		return index;
+	}
+
+	/**
+	 * @return The number of multisets of <code>k</code> items out of <code>n</code>
+	 */
+	private static long multisetCount(long n, int k) {
+		return binomial(n + k - 1, k);
+	}
+
+	private static long binomial(long n, int k) {
+		if (k > n) {
+			return 0L;
+		}
+		long binomial = 1L;
+		for (int i = 0; i < k; i++) {
+			binomial = Math.multiplyExact(binomial, n - i) / (i + 1);
+		}
+		return binomial;
+	}
+
+	private static long[][] binomials() {
+		long[][] binomials = new long[RANK_COUNT + 1][RANK_COUNT + 1];
+		for (int n = 0; n <= RANK_COUNT; n++) {
+			binomials[n][0] = 1L;
+			for (int k = 1; k <= n; k++) {
+				binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+			}
+		}
+		return binomials;
+	}
+
+	/**
+	 * The canonical representative of a hand, its index, and the mapping between its suits and the suits of the
+	 * hand it was made from.
+	 */
+	public static final class CanonicalHand {
+
+		private final long index;
+		private final long[] roundMasks;
+		private final int[] originalSuits;
+
+		private CanonicalHand(long index, long[] roundMasks, int[] originalSuits) {
+			this.index = index;
+			this.roundMasks = roundMasks;
+			this.originalSuits = originalSuits;
+		}
+
+		/**
+		 * @return The index of the isomorphism class
+		 */
+		public long getIndex() {
+			return index;
+		}
+
+		/**
+		 * @param round
+		 * @return The canonical cards of the round
+		 */
+		public CardSet getRound(int round) {
+			return CardSet.fromMask(roundMasks[round]);
+		}
+
+		/**
+		 * @return The canonical cards of every round
+		 */
+		public CardSet getCards() {
+			long mask = 0L;
+			for (long roundMask : roundMasks) {
+				mask |= roundMask;
+			}
+			return CardSet.fromMask(mask);
+		}
+
+		/**
+		 * @param canonicalSuit a suit of the canonical hand
+		 * @return The suit of the original hand it stands for
+		 */
+		public CardSuit getOriginalSuit(CardSuit canonicalSuit) {
+			return SUITS[originalSuits[canonicalSuit.ordinal()]];
+		}
+
+		/**
+		 * @param originalSuit a suit of the original hand
+		 * @return The suit it was mapped to in the canonical hand
+		 */
+		public CardSuit getCanonicalSuit(CardSuit originalSuit) {
+			for (int position = 0; position < SUIT_COUNT; position++) {
+				if (originalSuits[position] == originalSuit.ordinal()) {
+					return SUITS[position];
+				}
+			}
+			throw new IllegalStateException("The suit mapping is not a permutation.");
+		}
+
+		/**
+		 * @param canonicalCard
+		 * @return The card of the original hand's suits
+		 */
+		public Card toOriginal(Card canonicalCard) {
+			return Card.of(canonicalCard.getRank(), getOriginalSuit(canonicalCard.getSuit()));
+		}
+
+		/**
+		 * @param canonicalCards cards in the suits of the canonical hand, e.g. a card dealt to the canonical hand
+		 * @return The cards in the original hand's suits
+		 */
+		public CardSet toOriginal(CardSet canonicalCards) {
+			long mask = 0L;
+			for (int position = 0; position < SUIT_COUNT; position++) {
+				long lane = canonicalCards.getMask() >>> (position * CardSet.SUIT_SHIFT) & RANK_BITS;
+				mask |= lane << (originalSuits[position] * CardSet.SUIT_SHIFT);
+			}
+			return CardSet.fromMask(mask);
+		}
+
+	}
+
+}
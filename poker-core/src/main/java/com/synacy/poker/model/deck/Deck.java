@@ -0,0 +1,134 @@
+package com.synacy.poker.model.deck;
+
+
+import com.synacy.poker.metrics.PokerMetrics;
+import com.synacy.poker.metrics.PokerMetrics.Operation;
+import com.synacy.poker.model.card.Card;
+
+import java.util.List;
+
+/**
+ * A complete set of {@link Card} without Jokers.
+ *
+ * <p>The cards are kept as {@link Card#getIndex() card indexes} in an array, with a cursor at the top of the
+ * deck. Removing a card moves the cursor and shuffling swaps the remaining indexes in place, so dealing does not
+ * allocate. Removed cards stay in the array until {@link #reset()} puts them back.</p>
+ */
+public class Deck {
+
+	private final int[] cardIndexes = new int[Card.DECK_SIZE];
+	private final ShuffleSource shuffleSource;
+	private final PokerMetrics metrics;
+	private long cardMask;
+	private int size;
+	private int top;
+
+	public Deck() {
+		this(new ThreadLocalShuffleSource());
+	}
+
+	/**
+	 * @param shuffleSource the source {@link #shuffle()} draws from
+	 */
+	Deck(ShuffleSource shuffleSource) {
+		this(shuffleSource, PokerMetrics.DISABLED);
+	}
+
+	/**
+	 * @param shuffleSource the source {@link #shuffle()} draws from
+	 * @param metrics       times the shuffles
+	 */
+	Deck(ShuffleSource shuffleSource, PokerMetrics metrics) {
+		this.shuffleSource = shuffleSource;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Add a {@link Card} to the deck
+	 *
+	 * @param card
+	 */
+	void addCard(Card card) {
+		long cardBit = 1L << card.getIndex();
+		if ((cardMask & cardBit) == 0) {
+			cardMask |= cardBit;
+			cardIndexes[size++] = card.getIndex();
+		}
+	}
+
+	/**
+	 * Add a list of {@link Card} to the deck.
+	 *
+	 * @param cards
+	 */
+	void addCards(List<Card> cards) {
+		for (int i = 0; i < cards.size(); i++) {
+			addCard(cards.get(i));
+		}
+	}
+
+	/**
+	 * Shuffles the deck with the {@link ShuffleSource} it was built with.
+	 */
+	public void shuffle() {
+		shuffle(shuffleSource);
+	}
+
+	/**
+	 * Shuffles the remaining cards with a Fisher-Yates shuffle drawn from the given source.
+	 *
+	 * @param shuffleSource
+	 */
+	public void shuffle(ShuffleSource shuffleSource) {
+		long start = metrics.start(Operation.SHUFFLE);
+		for (int i = size - 1; i > top; i--) {
+			swap(i, top + shuffleSource.nextInt(i - top + 1));
+		}
+		metrics.stop(Operation.SHUFFLE, start);
+	}
+
+	/**
+	 * Removes a {@link Card} from the top of the deck. The removed card is returned to the client.
+	 *
+	 * @return The removed {@link Card}
+	 * @throws RuntimeException if there are no more cards left in the deck
+	 */
+	public Card removeFromTop() {
+		return Card.fromIndex(removeIndexFromTop());
+	}
+
+	/**
+	 * Removes a card from the top of the deck without looking up its {@link Card}.
+	 *
+	 * @return The {@link Card#getIndex()} of the removed card
+	 * @throws RuntimeException if there are no more cards left in the deck
+	 */
+	public int removeIndexFromTop() {
+		if (top == size) {
+			throw new RuntimeException("There are no cards remaining in the deck.");
+		}
+
+		return cardIndexes[top++];
+	}
+
+	/**
+	 * Puts every removed card back on top of the deck, in the order they were removed. Does not shuffle the deck.
+	 */
+	public void reset() {
+		top = 0;
+	}
+
+	/**
+	 * @return The number of cards currently in the deck.
+	 */
+	public int size() {
+		return size - top;
+	}
+
+	private void swap(int i, int j) {
+		int cardIndex = cardIndexes[i];
+		cardIndexes[i] = cardIndexes[j];
+		cardIndexes[j] = cardIndex;
+	}
+
+}
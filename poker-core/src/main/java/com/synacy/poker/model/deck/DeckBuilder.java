@@ -0,0 +1,78 @@
+package com.synacy.poker.model.deck;
+
+import com.synacy.poker.metrics.PokerMetrics;
+import com.synacy.poker.model.card.Card;
+
+/**
+ * A service class used to build a {@link Deck}
+ */
+public class DeckBuilder {
+
+	private final ShuffleSource shuffleSource;
+	private final PokerMetrics metrics;
+
+	public DeckBuilder() {
+		this(new ThreadLocalShuffleSource());
+	}
+
+	/**
+	 * @param shuffleSource the source the built decks are shuffled with
+	 */
+	public DeckBuilder(ShuffleSource shuffleSource) {
+		this(shuffleSource, PokerMetrics.DISABLED);
+	}
+
+	/**
+	 * @param shuffleSource the source the built decks are shuffled with
+	 * @param metrics       times the shuffles of the built decks
+	 */
+	public DeckBuilder(ShuffleSource shuffleSource, PokerMetrics metrics) {
+		this.shuffleSource = shuffleSource;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Creates a builder whose decks shuffle with an independent {@link ShuffleSource#split()} of this builder's
+	 * source, for a table or thread of its own. Like the split, it changes the state of a seeded source.
+	 *
+	 * @return A {@link DeckBuilder} with the same metrics
+	 */
+	public DeckBuilder split() {
+		return new DeckBuilder(shuffleSource.split(), metrics);
+	}
+
+	/**
+	 * @return The source the built decks are shuffled with
+	 */
+	public ShuffleSource getShuffleSource() {
+		return shuffleSource;
+	}
+
+	/**
+	 * Builds a complete {@link Deck} without Jokers. Does not shuffle the deck.
+	 *
+	 * @return a {@link Deck} of the shared {@link Card} instances
+	 */
+	public Deck buildDeck() {
+		return buildDeck(DeckProfile.STANDARD);
+	}
+
+	/**
+	 * Builds a {@link Deck} of the cards of the profile. Does not shuffle the deck.
+	 *
+	 * @param deckProfile
+	 * @return a {@link Deck} of the shared {@link Card} instances
+	 */
+	public Deck buildDeck(DeckProfile deckProfile) {
+		Deck deck = new Deck(shuffleSource, metrics);
+		for (int index = 0; index < Card.DECK_SIZE; index++) {
+			Card card = Card.fromIndex(index);
+			if (deckProfile.contains(card)) {
+				deck.addCard(card);
+			}
+		}
+
+		return deck;
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.synacy.poker.model.deck;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+
+/**
+ * The cards a {@link Deck} is built from and the hand rules that follow from them.
+ */
+public enum DeckProfile {
+
+	/**
+	 * All 52 cards. The lowest straight is 5-4-3-2-A.
+	 */
+	STANDARD(CardRank.TWO, false),
+
+	/**
+	 * The 36 cards from the Six to the Ace. The lowest straight is 9-8-7-6-A, and since a flush is harder to make
+	 * with fewer cards of each suit, a flush beats a full house.
+	 */
+	SHORT_DECK(CardRank.SIX, true);
+
+	private static final int SUIT_COUNT = 4;
+
+	private final CardRank lowestRank;
+	private final boolean flushOverFullHouse;
+
+	DeckProfile(CardRank lowestRank, boolean flushOverFullHouse) {
+		this.lowestRank = lowestRank;
+		this.flushOverFullHouse = flushOverFullHouse;
+	}
+
+	/**
+	 * @return The lowest {@link CardRank} in the deck
+	 */
+	public CardRank getLowestRank() {
+		return lowestRank;
+	}
+
+	/**
+	 * @return The number of cards in the deck
+	 */
+	public int getDeckSize() {
+		return (CardRank.ACE.ordinal() - lowestRank.ordinal() + 1) * SUIT_COUNT;
+	}
+
+	/**
+	 * @param card
+	 * @return true if the card is in the deck
+	 */
+	public boolean contains(Card card) {
+		return card.getRank().ordinal() >= lowestRank.ordinal();
+	}
+
+	/**
+	 * @return The rank bits of the lowest straight, the Ace with the four lowest ranks of the deck
+	 */
+	public int getWheel() {
+		return 1 << CardRank.ACE.ordinal() | 0xF << lowestRank.ordinal();
+	}
+
+	/**
+	 * @return true if a flush beats a full house
+	 */
+	public boolean isFlushOverFullHouse() {
+		return flushOverFullHouse;
+	}
+
+}
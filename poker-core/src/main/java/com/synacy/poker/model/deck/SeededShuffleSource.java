@@ -0,0 +1,53 @@
+package com.synacy.poker.model.deck;
+
+/**
+ * A deterministic stream of random numbers from a seed, so a shuffle can be replayed from the seed alone. The
+ * stream is a SplitMix64 sequence, which does not depend on the JDK version. It is not thread safe.
+ */
+public class SeededShuffleSource implements ShuffleSource {
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	private final long seed;
+	private long state;
+
+	public SeededShuffleSource(long seed) {
+		this.seed = seed;
+		this.state = seed;
+	}
+
+	/**
+	 * @return The seed this source was created with
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Maps 32 random bits onto the bound with a multiply and shift. The bias is at most <code>bound / 2^32</code>,
+	 * which is negligible for a deck of cards.
+	 */
+	@Override
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("The bound must be positive.");
+		}
+		return (int) (((nextLong() >>> 32) * bound) >>> 32);
+	}
+
+	/**
+	 * @return A {@link SeededShuffleSource} seeded from the next number of this stream
+	 */
+	@Override
+	public SeededShuffleSource split() {
+		return new SeededShuffleSource(nextLong());
+	}
+
+	private long nextLong() {
+		long z = (state += GOLDEN_GAMMA);
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.synacy.poker.model.deck;
+
+/**
+ * The random numbers a {@link Deck} is shuffled with.
+ */
+public interface ShuffleSource {
+
+	/**
+	 * @param bound the exclusive upper bound, greater than 0
+	 * @return A random number from 0 up to but not including the bound
+	 */
+	int nextInt(int bound);
+
+	/**
+	 * Creates a source that does not share state with this one, for another thread to shuffle with.
+	 *
+	 * @return An independent {@link ShuffleSource}
+	 */
+	ShuffleSource split();
+
+}
@@ -0,0 +1,31 @@
+package com.synacy.poker.model.deck;
+
+import java.util.SplittableRandom;
+
+/**
+ * Shuffles with a {@link SplittableRandom}. Like the generator, it is not thread safe: each thread should shuffle
+ * with its own {@link #split()}.
+ */
+public class SplittableRandomShuffleSource implements ShuffleSource {
+
+	private final SplittableRandom random;
+
+	public SplittableRandomShuffleSource() {
+		this(new SplittableRandom());
+	}
+
+	public SplittableRandomShuffleSource(SplittableRandom random) {
+		this.random = random;
+	}
+
+	@Override
+	public int nextInt(int bound) {
+		return random.nextInt(bound);
+	}
+
+	@Override
+	public ShuffleSource split() {
+		return new SplittableRandomShuffleSource(random.split());
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.synacy.poker.model.deck;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shuffles with the {@link ThreadLocalRandom} of the calling thread, so it can be shared between threads without
+ * contention. It cannot be seeded.
+ */
+public class ThreadLocalShuffleSource implements ShuffleSource {
+
+	@Override
+	public int nextInt(int bound) {
+		return ThreadLocalRandom.current().nextInt(bound);
+	}
+
+	/**
+	 * @return This source, which already gives every thread its own generator
+	 */
+	@Override
+	public ShuffleSource split() {
+		return this;
+	}
+
+}
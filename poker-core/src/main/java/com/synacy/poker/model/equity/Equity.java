@@ -0,0 +1,89 @@
+package com.synacy.poker.model.equity;
+
+import com.synacy.poker.model.game.Player;
+
+/**
+ * The share of the pot a {@link Player} is expected to win, over a number of simulated or enumerated boards.
+ * A tie among <code>n</code> players counts as <code>1/n</code> of a win.
+ */
+public class Equity {
+
+    private final Player player;
+    private final long boards;
+    private final long wins;
+    private final long ties;
+    private final double equity;
+    private final double marginOfError;
+
+    public Equity(Player player, long boards, long wins, long ties, double equity, double marginOfError) {
+        this.player = player;
+        this.boards = boards;
+        this.wins = wins;
+        this.ties = ties;
+        this.equity = equity;
+        this.marginOfError = marginOfError;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return The number of boards the equity was computed over
+     */
+    public long getBoards() {
+        return boards;
+    }
+
+    /**
+     * @return The fraction of boards where the player took the whole pot
+     */
+    public double getWinRate() {
+        return (double) wins / boards;
+    }
+
+    /**
+     * @return The fraction of boards where the player took part of the pot, tied or in a split Hi/Lo pot
+     */
+    public double getTieRate() {
+        return (double) ties / boards;
+    }
+
+    /**
+     * @return The fraction of boards lost
+     */
+    public double getLossRate() {
+        return (double) (boards - wins - ties) / boards;
+    }
+
+    /**
+     * @return The expected share of the pot, from 0 to 1
+     */
+    public double getEquity() {
+        return equity;
+    }
+
+    /**
+     * @return The half width of the confidence interval of the equity, or 0 if the equity is exact
+     */
+    public double getMarginOfError() {
+        return marginOfError;
+    }
+
+    public double getLowerBound() {
+        return Math.max(0, equity - marginOfError);
+    }
+
+    public double getUpperBound() {
+        return Math.min(1, equity + marginOfError);
+    }
+
+    /**
+     * @return The player name and the equity as a percentage, e.g. Alex 45.20% &plusmn;0.10%
+     */
+    @Override
+    public String toString() {
+        return String.format("%s %.2f%% \u00b1%.2f%%", player, equity * 100, marginOfError * 100);
+    }
+
+}
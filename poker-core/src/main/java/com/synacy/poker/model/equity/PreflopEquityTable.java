@@ -0,0 +1,436 @@
+package com.synacy.poker.model.equity;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.hand.HandEvaluator;
+import com.synacy.poker.model.hand.HandRankTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * The standard deck Texas Hold'em equity of each of the 169 starting hand classes against 1 to 9 opponents with
+ * random hands, all the way to the river.
+ *
+ * <p>A class is a pair, or two ranks that are suited or offsuit. Classes are indexed on a 13 by 13 grid of
+ * rank ordinals: pairs on the diagonal, suited hands at <code>high * 13 + low</code> and offsuit hands at
+ * <code>low * 13 + high</code>.</p>
+ *
+ * <p>The table is loaded from the checked-in {@value #RESOURCE} resource, which the
+ * <code>generatePreflopEquityTable</code> task regenerates when it is run explicitly. Heads-up equities are exact
+ * and the others are estimated from many deals. Without the resource, entries are only estimated on their first
+ * lookup, on the caller's thread and from a smaller number of deals, when a number of fallback deals is given.
+ * Otherwise looking them up fails.</p>
+ */
+public class PreflopEquityTable {
+
+    public static final String RESOURCE = "/preflop-equity-table.bin";
+    public static final int CLASS_COUNT = 169;
+    public static final int MAX_OPPONENTS = 9;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int RANK_COUNT = 13;
+    private static final int DECK_SIZE = Card.DECK_SIZE;
+    private static final int BOARD_CARDS = 5;
+    private static final int HOLE_CARD_PAIRS = DECK_SIZE * (DECK_SIZE - 1) / 2;
+    private static final int EQUITY_SCALE = 0xFFFF;
+    private static final int POT_UNITS = 2520;
+    private static final String RANK_NAMES = "23456789TJQKA";
+
+    /**
+     * <code>PAIR_INDEXES[a * 52 + b]</code> is the index of the two cards among all 1326 pairs of cards.
+     */
+    private static final short[] PAIR_INDEXES = pairIndexes();
+
+    private final HandRankTable handRankTable;
+    private final int fallbackSamples;
+    private final float[] equities;
+    private final boolean loaded;
+
+    /**
+     * @param handRankTable
+     * @param fallbackSamples the number of deals each entry is estimated from when the resource is missing, or 0
+     *                        to fail the lookups instead
+     */
+    public PreflopEquityTable(HandRankTable handRankTable, int fallbackSamples) {
+        this(handRankTable, fallbackSamples, PreflopEquityTable.class.getResourceAsStream(RESOURCE));
+    }
+
+    PreflopEquityTable(HandRankTable handRankTable, int fallbackSamples, InputStream resource) {
+        this.handRankTable = handRankTable;
+        this.fallbackSamples = fallbackSamples;
+        this.equities = new float[CLASS_COUNT * MAX_OPPONENTS];
+        Arrays.fill(equities, Float.NaN);
+        this.loaded = resource != null;
+
+        if (resource != null) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(resource))) {
+                if (in.readInt() != FORMAT_VERSION || in.readInt() != CLASS_COUNT
+                        || in.readInt() != MAX_OPPONENTS) {
+                    throw new IOException("Unsupported preflop equity table version.");
+                }
+                for (int i = 0; i < equities.length; i++) {
+                    equities[i] = (float) in.readUnsignedShort() / EQUITY_SCALE;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not load the preflop equity table.", e);
+            }
+        }
+    }
+
+    /**
+     * @return true if the entries were loaded from the resource rather than estimated on lookup
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @param first
+     * @param second
+     * @return The index of the starting hand class of the two cards, from 0 to 168
+     */
+    public static int classIndex(Card first, Card second) {
+        int high = Math.max(first.getRank().ordinal(), second.getRank().ordinal());
+        int low = Math.min(first.getRank().ordinal(), second.getRank().ordinal());
+        if (high == low || first.getSuit() == second.getSuit()) {
+            return high * RANK_COUNT + low;
+        }
+        return low * RANK_COUNT + high;
+    }
+
+    /**
+     * @param classIndex
+     * @return The name of the starting hand class, e.g. <code>AA</code>, <code>AKs</code> or <code>72o</code>
+     */
+    public static String className(int classIndex) {
+        int row = classIndex / RANK_COUNT;
+        int column = classIndex % RANK_COUNT;
+        if (row == column) {
+            return "" + RANK_NAMES.charAt(row) + RANK_NAMES.charAt(row);
+        } else if (row > column) {
+            return "" + RANK_NAMES.charAt(row) + RANK_NAMES.charAt(column) + "s";
+        }
+        return "" + RANK_NAMES.charAt(column) + RANK_NAMES.charAt(row) + "o";
+    }
+
+    /**
+     * @param player    a player that was dealt two cards
+     * @param opponents from 1 to 9
+     * @return The expected share of the pot of the player's hand against that many random hands
+     * @throws IllegalStateException if the entry was not loaded and there are no fallback deals
+     */
+    public double getEquity(Player player, int opponents) {
+        List<Card> hand = player.getHand();
+        if (hand.size() != 2) {
+            throw new IllegalArgumentException("The player must have exactly two cards.");
+        }
+        return getEquity(classIndex(hand.get(0), hand.get(1)), opponents);
+    }
+
+    /**
+     * @param classIndex from 0 to 168
+     * @param opponents  from 1 to 9
+     * @return The expected share of the pot of the starting hand class against that many random hands
+     * @throws IllegalStateException if the entry was not loaded and there are no fallback deals
+     */
+    public double getEquity(int classIndex, int opponents) {
+        if (classIndex < 0 || classIndex >= CLASS_COUNT) {
+            throw new IllegalArgumentException("Invalid starting hand class: " + classIndex);
+        }
+        if (opponents < 1 || opponents > MAX_OPPONENTS) {
+            throw new IllegalArgumentException("The number of opponents must be from 1 to " + MAX_OPPONENTS + ".");
+        }
+
+        int entry = classIndex * MAX_OPPONENTS + opponents - 1;
+        float equity = equities[entry];
+        if (Float.isNaN(equity)) {
+            if (fallbackSamples <= 0) {
+                throw new IllegalStateException("The preflop equity table was not loaded from " + RESOURCE + ".");
+            }
+            equity = (float) sampleEquity(handRankTable, classIndex, opponents, fallbackSamples,
+                    new SplittableRandom(entry));
+            equities[entry] = equity;
+        }
+        return equity;
+    }
+
+    /**
+     * Writes every entry in the format read by the constructor, estimating the ones that were not computed yet.
+     *
+     * @param out
+     * @throws IOException
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(CLASS_COUNT);
+        data.writeInt(MAX_OPPONENTS);
+        for (int classIndex = 0; classIndex < CLASS_COUNT; classIndex++) {
+            for (int opponents = 1; opponents <= MAX_OPPONENTS; opponents++) {
+                data.writeShort((int) Math.round(getEquity(classIndex, opponents) * EQUITY_SCALE));
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Computes every entry in parallel: heads-up exactly, and against more opponents from <code>samples</code>
+     * deals each.
+     *
+     * @param handRankTable
+     * @param samples       the number of deals per class and number of opponents
+     * @param seed
+     * @return The generated table
+     */
+    public static PreflopEquityTable generate(HandRankTable handRankTable, int samples, long seed) {
+        PreflopEquityTable table = new PreflopEquityTable(handRankTable, samples, null);
+
+        double[] headsUp = enumerateHeadsUp(handRankTable);
+        for (int classIndex = 0; classIndex < CLASS_COUNT; classIndex++) {
+            table.equities[classIndex * MAX_OPPONENTS] = (float) headsUp[classIndex];
+        }
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[CLASS_COUNT * MAX_OPPONENTS];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = root.split();
+        }
+        IntStream.range(0, randoms.length)
+                .parallel()
+                .filter(entry -> entry % MAX_OPPONENTS != 0)
+                .forEach(entry -> table.equities[entry] = (float) sampleEquity(handRankTable,
+                        entry / MAX_OPPONENTS, entry % MAX_OPPONENTS + 1, samples, randoms[entry]));
+        return table;
+    }
+
+    /**
+     * Generates the table into the file given as the first argument, with the number of samples per entry
+     * given as the optional second argument. Used by the <code>generatePreflopEquityTable</code> task.
+     */
+    public static void main(String[] args) throws IOException {
+        int samples = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        PreflopEquityTable table = generate(new HandRankTable(HandRankTable.Mode.DIRECT), samples, 1L);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[0]))) {
+            table.write(out);
+        }
+    }
+
+    /**
+     * Deals the opponents' hands and the board from the cards that are not in the class's representative hand.
+     */
+    static double sampleEquity(HandRankTable handRankTable, int classIndex, int opponents, int samples,
+                               SplittableRandom random) {
+        long heroMask = representativeMask(classIndex);
+        int[] deck = remainingCardBits(heroMask);
+        int cardsToDeal = BOARD_CARDS + 2 * opponents;
+        long shares = 0;
+
+        for (int sample = 0; sample < samples; sample++) {
+            for (int i = 0; i < cardsToDeal; i++) {
+                int pick = i + random.nextInt(deck.length - i);
+                int card = deck[pick];
+                deck[pick] = deck[i];
+                deck[i] = card;
+            }
+
+            long boardMask = 0L;
+            for (int i = 0; i < BOARD_CARDS; i++) {
+                boardMask |= 1L << deck[i];
+            }
+            int heroScore = handRankTable.evaluate(heroMask | boardMask);
+            int tied = 1;
+            boolean lost = false;
+            for (int opponent = 0; opponent < opponents && !lost; opponent++) {
+                long opponentMask = 1L << deck[BOARD_CARDS + 2 * opponent] | 1L << deck[BOARD_CARDS + 2 * opponent + 1];
+                int opponentScore = handRankTable.evaluate(opponentMask | boardMask);
+                if (opponentScore > heroScore) {
+                    lost = true;
+                } else if (opponentScore == heroScore) {
+                    tied++;
+                }
+            }
+            if (!lost) {
+                shares += POT_UNITS / tied;
+            }
+        }
+        return (double) shares / POT_UNITS / samples;
+    }
+
+    /**
+     * Enumerates every board once and, on each board, ranks all the pairs of hole cards that are left. Going up
+     * the ranking, the number of lower and equally ranked pairs that share no card with a pair is found from
+     * running per card counts, so every hand is compared to every opponent hand on every board without
+     * evaluating any hand twice.
+     *
+     * @return The heads-up equity of each class
+     */
+    static double[] enumerateHeadsUp(HandRankTable handRankTable) {
+        long[][] totals = IntStream.range(0, DECK_SIZE)
+                .parallel()
+                .mapToObj(first -> enumerateBoards(handRankTable, first))
+                .reduce((a, b) -> {
+                    for (int i = 0; i < a[0].length; i++) {
+                        a[0][i] += b[0][i];
+                        a[1][i] += b[1][i];
+                    }
+                    return a;
+                })
+                .orElseThrow(IllegalStateException::new);
+        long[] wins = totals[0];
+        long[] ties = totals[1];
+
+        double[] classEquities = new double[CLASS_COUNT];
+        int[] combos = new int[CLASS_COUNT];
+        long matchups = combinations(DECK_SIZE - 2, BOARD_CARDS) * combinations(DECK_SIZE - 2 - BOARD_CARDS, 2);
+        for (int a = 0; a < DECK_SIZE; a++) {
+            for (int b = a + 1; b < DECK_SIZE; b++) {
+                int pair = PAIR_INDEXES[a * DECK_SIZE + b];
+                int classIndex = classIndex(Card.fromIndex(a), Card.fromIndex(b));
+                classEquities[classIndex] += (wins[pair] + ties[pair] / 2.0) / matchups;
+                combos[classIndex]++;
+            }
+        }
+        for (int classIndex = 0; classIndex < CLASS_COUNT; classIndex++) {
+            classEquities[classIndex] /= combos[classIndex];
+        }
+        return classEquities;
+    }
+
+    /**
+     * @return The wins and ties of every pair of hole cards, over the boards whose lowest card is
+     * <code>first</code>
+     */
+    private static long[][] enumerateBoards(HandRankTable handRankTable, int first) {
+        long[] wins = new long[HOLE_CARD_PAIRS];
+        long[] ties = new long[HOLE_CARD_PAIRS];
+        long[] rankedPairs = new long[combinations(DECK_SIZE - BOARD_CARDS, 2)];
+        int[] below = new int[DECK_SIZE];
+        int[] inGroup = new int[DECK_SIZE];
+        long[] cardBits = new long[DECK_SIZE];
+        for (int card = 0; card < DECK_SIZE; card++) {
+            cardBits[card] = HandEvaluator.cardMask(card);
+        }
+
+        for (int b = first + 1; b < DECK_SIZE; b++) {
+            for (int c = b + 1; c < DECK_SIZE; c++) {
+                for (int d = c + 1; d < DECK_SIZE; d++) {
+                    for (int e = d + 1; e < DECK_SIZE; e++) {
+                        long board = cardBits[first] | cardBits[b] | cardBits[c] | cardBits[d] | cardBits[e];
+                        long boardCards = 1L << first | 1L << b | 1L << c | 1L << d | 1L << e;
+
+                        int count = 0;
+                        for (int x = 0; x < DECK_SIZE; x++) {
+                            if ((boardCards & 1L << x) != 0) {
+                                continue;
+                            }
+                            for (int y = x + 1; y < DECK_SIZE; y++) {
+                                if ((boardCards & 1L << y) == 0) {
+                                    int score = handRankTable.evaluate(board | cardBits[x] | cardBits[y]);
+                                    rankedPairs[count++] = (long) score << 32 | x << 8 | y;
+                                }
+                            }
+                        }
+                        Arrays.sort(rankedPairs, 0, count);
+                        tallyBoard(rankedPairs, count, below, inGroup, wins, ties);
+                    }
+                }
+            }
+        }
+        return new long[][]{wins, ties};
+    }
+
+    private static void tallyBoard(long[] rankedPairs, int count, int[] below, int[] inGroup,
+                                   long[] wins, long[] ties) {
+        Arrays.fill(below, 0);
+        int totalBelow = 0;
+        for (int start = 0; start < count; ) {
+            int score = (int) (rankedPairs[start] >>> 32);
+            int end = start;
+            while (end < count && (int) (rankedPairs[end] >>> 32) == score) {
+                inGroup[(int) rankedPairs[end] >>> 8 & 0xFF]++;
+                inGroup[(int) rankedPairs[end] & 0xFF]++;
+                end++;
+            }
+
+            int groupSize = end - start;
+            for (int i = start; i < end; i++) {
+                int x = (int) rankedPairs[i] >>> 8 & 0xFF;
+                int y = (int) rankedPairs[i] & 0xFF;
+                int pair = PAIR_INDEXES[x * DECK_SIZE + y];
+                wins[pair] += totalBelow - below[x] - below[y];
+                ties[pair] += groupSize - inGroup[x] - inGroup[y] + 1;
+            }
+            for (int i = start; i < end; i++) {
+                int x = (int) rankedPairs[i] >>> 8 & 0xFF;
+                int y = (int) rankedPairs[i] & 0xFF;
+                below[x]++;
+                below[y]++;
+                inGroup[x] = 0;
+                inGroup[y] = 0;
+            }
+            totalBelow += groupSize;
+            start = end;
+        }
+    }
+
+    /**
+     * @return The card mask of one hand of the class: pairs in spades and clubs, suited hands in spades and
+     * offsuit hands with the higher card in spades and the lower in clubs
+     */
+    static long representativeMask(int classIndex) {
+        int row = classIndex / RANK_COUNT;
+        int column = classIndex % RANK_COUNT;
+        if (row == column) {
+            return 1L << row | 1L << (HandEvaluator.SUIT_SHIFT + row);
+        } else if (row > column) {
+            return 1L << row | 1L << column;
+        }
+        return 1L << column | 1L << (HandEvaluator.SUIT_SHIFT + row);
+    }
+
+    private static int[] remainingCardBits(long deadMask) {
+        int[] cards = new int[DECK_SIZE - Long.bitCount(deadMask)];
+        int count = 0;
+        for (int card = 0; card < DECK_SIZE; card++) {
+            int bit = Long.numberOfTrailingZeros(HandEvaluator.cardMask(card));
+            if ((deadMask & 1L << bit) == 0) {
+                cards[count++] = bit;
+            }
+        }
+        return cards;
+    }
+
+    private static short[] pairIndexes() {
+        short[] indexes = new short[DECK_SIZE * DECK_SIZE];
+        short index = 0;
+        for (int a = 0; a < DECK_SIZE; a++) {
+            for (int b = a + 1; b < DECK_SIZE; b++) {
+                indexes[a * DECK_SIZE + b] = index;
+                indexes[b * DECK_SIZE + a] = index;
+                index++;
+            }
+        }
+        return indexes;
+    }
+
+    private static int combinations(int n, int k) {
+        long combinations = 1;
+        for (int i = 0; i < k; i++) {
+            combinations = combinations * (n - i) / (i + 1);
+        }
+        return (int) combinations;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.synacy.poker.model.game;
+
+/**
+ * The poker variants a table can play. They share the deck, the betting rounds and the community cards, and
+ * differ in the number of hole cards and how the best hand is made of them.
+ */
+public enum GameType {
+
+	/**
+	 * Two hole cards, any of which may be used with the community cards.
+	 */
+	TEXAS_HOLDEM(2, false),
+
+	/**
+	 * {@link #TEXAS_HOLDEM} where the pot is split between the best high hand and the best 8-or-better low.
+	 */
+	TEXAS_HOLDEM_HI_LO(2, true),
+
+	/**
+	 * Four hole cards, of which exactly two are used with three community cards.
+	 */
+	OMAHA(4, false),
+
+	/**
+	 * {@link #OMAHA} where the pot is split between the best high hand and the best 8-or-better low.
+	 */
+	OMAHA_HI_LO(4, true);
+
+	private final int holeCards;
+	private final boolean hiLo;
+
+	GameType(int holeCards, boolean hiLo) {
+		this.holeCards = holeCards;
+		this.hiLo = hiLo;
+	}
+
+	/**
+	 * @return The number of cards dealt to each player
+	 */
+	public int getHoleCards() {
+		return holeCards;
+	}
+
+	/**
+	 * @return true if exactly two hole cards make the hand
+	 */
+	public boolean isOmaha() {
+		return this == OMAHA || this == OMAHA_HI_LO;
+	}
+
+	/**
+	 * @return true if the pot is split with the best low hand
+	 */
+	public boolean isHiLo() {
+		return hiLo;
+	}
+
+}
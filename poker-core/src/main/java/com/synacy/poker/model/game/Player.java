@@ -1,8 +1,10 @@
 package com.synacy.poker.model.game;
 
 import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,6 +14,8 @@ public class Player {
 
 	private String name;
 	private List<Card> hand = new ArrayList<>();
+	private List<Card> handView = Collections.unmodifiableList(hand);
+	private CardSet cardSet = CardSet.EMPTY;
 
 	public Player(String name) {
 		this.name = name;
@@ -21,16 +25,28 @@ public class Player {
 		return name;
 	}
 
+	/**
+	 * @return The cards in the player's hand, in the order they were dealt
+	 */
 	public List<Card> getHand() {
-		return hand;
+		return handView;
+	}
+
+	/**
+	 * @return The cards in the player's hand as a {@link CardSet}
+	 */
+	public CardSet getCardSet() {
+		return cardSet;
 	}
 
 	public void addToHand(Card card) {
 		hand.add(card);
+		cardSet = cardSet.with(card);
 	}
 
 	public void clearHand() {
 		hand.clear();
+		cardSet = CardSet.EMPTY;
 	}
 
 	public String toString() {
@@ -0,0 +1,119 @@
+package com.synacy.poker.model.game;
+
+import com.synacy.poker.model.hand.Hand;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Each player's identified {@link Hand} and whether they won, computed once for one state of a table. The
+ * version increases with every change of the table, so a result can be told apart from an older one.
+ */
+public final class ShowdownResult {
+
+	private final long version;
+	private final List<Hand> playerHands;
+	private final long winners;
+	private final long lowWinners;
+
+	/**
+	 * @param version     the version of the table state the result was computed for
+	 * @param playerHands the hand of each player, in the order of the players
+	 * @param winners     bit <code>i</code> is set if player <code>i</code> won
+	 */
+	public ShowdownResult(long version, List<Hand> playerHands, long winners) {
+		this(version, playerHands, winners, 0L);
+	}
+
+	/**
+	 * @param version     the version of the table state the result was computed for
+	 * @param playerHands the hand of each player, in the order of the players
+	 * @param winners     bit <code>i</code> is set if player <code>i</code> has the winning high hand
+	 * @param lowWinners  bit <code>i</code> is set if player <code>i</code> has the winning low hand of a Hi/Lo
+	 *                    game, 0 if there is no low and the high hand takes the whole pot
+	 */
+	public ShowdownResult(long version, List<Hand> playerHands, long winners, long lowWinners) {
+		this.version = version;
+		this.playerHands = Collections.unmodifiableList(new ArrayList<>(playerHands));
+		this.winners = winners;
+		this.lowWinners = lowWinners;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return The bits of the indexes of the players with the winning high hand, 0 before the showdown
+	 */
+	public long getWinners() {
+		return winners;
+	}
+
+	/**
+	 * @return The bits of the indexes of the players with the winning low hand, 0 if there is none
+	 */
+	public long getLowWinners() {
+		return lowWinners;
+	}
+
+	/**
+	 * @param playerIndex
+	 * @return The {@link Hand} of the player at the index
+	 */
+	public Hand getHand(int playerIndex) {
+		return playerHands.get(playerIndex);
+	}
+
+	/**
+	 * @param playerIndex
+	 * @return true if the player at the index has a winning high or low hand
+	 */
+	public boolean isWinner(int playerIndex) {
+		return ((winners | lowWinners) & (1L << playerIndex)) != 0;
+	}
+
+	/**
+	 * @param playerIndex
+	 * @return true if the player at the index has the winning low hand of a Hi/Lo game
+	 */
+	public boolean isLowWinner(int playerIndex) {
+		return (lowWinners & (1L << playerIndex)) != 0;
+	}
+
+	/**
+	 * @return The number of players with a winning hand, or 0 before the showdown
+	 */
+	public int getWinnerCount() {
+		return Long.bitCount(winners | lowWinners);
+	}
+
+	/**
+	 * @return true if more than one player has the winning high hand, or the winning low hand
+	 */
+	public boolean isTied() {
+		return Long.bitCount(winners) > 1 || Long.bitCount(lowWinners) > 1;
+	}
+
+	/**
+	 * The pot is split evenly between the tied winners. When a Hi/Lo game has a low, the high and the low
+	 * hands each split half of it.
+	 *
+	 * @param playerIndex
+	 * @return The share of the pot the player at the index wins, from 0 to 1
+	 */
+	public double getPotShare(int playerIndex) {
+		long player = 1L << playerIndex;
+		double highPot = lowWinners == 0 ? 1.0 : 0.5;
+		double share = 0.0;
+		if ((winners & player) != 0) {
+			share += highPot / Long.bitCount(winners);
+		}
+		if ((lowWinners & player) != 0) {
+			share += (1.0 - highPot) / Long.bitCount(lowWinners);
+		}
+		return share;
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.synacy.poker.model.game;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.hand.Hand;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The state of a table at one point of the game, for rendering. The players are copies that are not shared with
+ * the table, and their hands and wins come from the table's {@link ShowdownResult}, so a snapshot can be read
+ * from any thread while the table moves on.
+ */
+public final class TableSnapshot {
+
+	private final List<Player> players;
+	private final List<Card> communityCards;
+	private final ShowdownResult result;
+	private final boolean ended;
+
+	/**
+	 * @param players        the players of the table, copied into the snapshot
+	 * @param communityCards
+	 * @param result         the result of the players, in the order of the players
+	 * @param ended
+	 */
+	public TableSnapshot(List<Player> players, List<Card> communityCards, ShowdownResult result, boolean ended) {
+		List<Player> playerCopies = new ArrayList<>(players.size());
+		for (Player player : players) {
+			Player playerCopy = new Player(player.getName());
+			player.getHand().forEach(playerCopy::addToHand);
+			playerCopies.add(playerCopy);
+		}
+
+		this.players = Collections.unmodifiableList(playerCopies);
+		this.communityCards = Collections.unmodifiableList(new ArrayList<>(communityCards));
+		this.result = result;
+		this.ended = ended;
+	}
+
+	/**
+	 * @return The version of the table state, from its {@link ShowdownResult}
+	 */
+	public long getVersion() {
+		return result.getVersion();
+	}
+
+	/**
+	 * @return The list of {@link Player}s
+	 */
+	public List<Player> getPlayers() {
+		return players;
+	}
+
+	/**
+	 * @return The list of community cards {@link Card}
+	 */
+	public List<Card> getCommunityCards() {
+		return communityCards;
+	}
+
+	/**
+	 * @return true if all the community cards were dealt
+	 */
+	public boolean hasEnded() {
+		return ended;
+	}
+
+	/**
+	 * @param player one of the {@link #getPlayers()} of this snapshot
+	 * @return true if the player has a winning hand
+	 */
+	public boolean checkIfPlayerWon(Player player) {
+		return result.isWinner(indexOf(player));
+	}
+
+	/**
+	 * @param player one of the {@link #getPlayers()} of this snapshot
+	 * @return The {@link Hand} of the player
+	 */
+	public Hand identifyPlayerHand(Player player) {
+		return result.getHand(indexOf(player));
+	}
+
+	private int indexOf(Player player) {
+		for (int i = 0; i < players.size(); i++) {
+			if (players.get(i) == player) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException(player + " is not a player of this snapshot.");
+	}
+
+}
@@ -0,0 +1,34 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.metrics.PokerMetrics;
+
+/**
+ * A {@link HandIdentifier} that looks the scores of card masks up in an {@link EvaluationCache} before evaluating
+ * them, for workloads that identify the same cards over and over.
+ */
+public class CachingHandIdentifier extends HandIdentifier {
+
+    private final EvaluationCache cache;
+
+    public CachingHandIdentifier(EvaluationCache cache) {
+        this(cache, PokerMetrics.DISABLED);
+    }
+
+    public CachingHandIdentifier(EvaluationCache cache, PokerMetrics metrics) {
+        super(metrics);
+        this.cache = cache;
+    }
+
+    /**
+     * @return The cache, for its hit rate, eviction count and memory use
+     */
+    public EvaluationCache getCache() {
+        return cache;
+    }
+
+    @Override
+    protected int evaluate(long cardMask) {
+        return cache.evaluate(cardMask);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.synacy.poker.model.hand;
+
+import java.util.BitSet;
+
+/**
+ * Approximates LRU with one reference bit per slot. Looking an entry up sets its bit, and the clock hand sweeps the
+ * slots, clearing bits until it finds an entry that was not referenced since the last sweep. Hits only set a bit,
+ * so they are cheaper than moving the entry in an LRU list.
+ */
+public class ClockEvictionPolicy implements EvictionPolicy {
+
+    private final int capacity;
+    private final BitSet referenced;
+    private int hand;
+
+    public ClockEvictionPolicy(int capacity) {
+        this.capacity = capacity;
+        this.referenced = new BitSet(capacity);
+    }
+
+    @Override
+    public void inserted(int slot) {
+        referenced.set(slot);
+    }
+
+    @Override
+    public void accessed(int slot) {
+        referenced.set(slot);
+    }
+
+    @Override
+    public int selectVictim() {
+        while (referenced.get(hand)) {
+            referenced.clear(hand);
+            hand = (hand + 1) % capacity;
+        }
+        int victim = hand;
+        hand = (hand + 1) % capacity;
+        return victim;
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return referenced.size() / 8;
+    }
+
+}
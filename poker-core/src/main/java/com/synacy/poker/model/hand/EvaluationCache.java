@@ -0,0 +1,248 @@
+package com.synacy.poker.model.hand;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * A bounded, thread safe cache of {@link HandEvaluator#evaluate(long)} scores keyed by card mask.
+ *
+ * <p>The cache is split into segments by the hash of the card mask, each with its own lock. A segment keeps its
+ * entries in fixed <code>long</code> key and <code>int</code> score arrays, indexed by an open addressing table of
+ * slot numbers with linear probing, so nothing is boxed or allocated after construction. Once a segment is full, its
+ * {@link EvictionPolicy} chooses the entry to replace.</p>
+ */
+public class EvaluationCache {
+
+    public enum Eviction {
+        LRU, CLOCK
+    }
+
+    private static final int MISS = -1;
+    private static final int MAX_SEGMENTS = 64;
+    private static final int MIN_SEGMENT_CAPACITY = 1024;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity the maximum number of cached scores
+     * @param eviction
+     */
+    public EvaluationCache(int capacity, Eviction eviction) {
+        this(capacity, eviction == Eviction.CLOCK ? ClockEvictionPolicy::new : LruEvictionPolicy::new);
+    }
+
+    /**
+     * @param capacity       the maximum number of cached scores
+     * @param policyFactory creates the eviction policy of each segment from the segment's capacity
+     */
+    public EvaluationCache(int capacity, IntFunction<EvictionPolicy> policyFactory) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, capacity / MIN_SEGMENT_CAPACITY)));
+        int segmentCapacity = (capacity + segmentCount - 1) / segmentCount;
+
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = Long.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity, policyFactory.apply(segmentCapacity));
+        }
+    }
+
+    /**
+     * Returns the cached score of the card mask, or evaluates and caches it.
+     *
+     * @param cardMask
+     * @return The strength score of the hand
+     */
+    public int evaluate(long cardMask) {
+        long hash = hash(cardMask);
+        Segment segment = segmentFor(hash);
+        int cached = segment.get(cardMask, hash);
+        if (cached != MISS) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        int score = HandEvaluator.evaluate(cardMask);
+        if (segment.put(cardMask, hash, score)) {
+            evictions.increment();
+        }
+        return score;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The share of lookups that were cached, or 0 before the first lookup
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return The number of cached scores
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return The maximum number of cached scores
+     */
+    public int getCapacity() {
+        return segments.length * segments[0].keys.length;
+    }
+
+    /**
+     * @return The approximate number of bytes used by the keys, scores, index tables and eviction policies
+     */
+    public long getMemoryUsage() {
+        long memoryUsage = 0L;
+        for (Segment segment : segments) {
+            memoryUsage += segment.getMemoryUsage();
+        }
+        return memoryUsage;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    /**
+     * The murmur3 finalizer, so that card masks that only differ in a few high bits still spread over the
+     * segments and the index table.
+     */
+    private static long hash(long cardMask) {
+        long hash = cardMask;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Segment {
+
+        private static final int EMPTY = 0;
+
+        private final long[] keys;
+        private final int[] values;
+
+        /**
+         * Slot numbers + 1, so that 0 is an empty bucket. Twice the capacity, rounded up to a power of two.
+         */
+        private final int[] index;
+        private final int indexMask;
+        private final EvictionPolicy policy;
+        private int size;
+
+        Segment(int capacity, EvictionPolicy policy) {
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            this.index = new int[Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) * 2];
+            this.indexMask = index.length - 1;
+            this.policy = policy;
+        }
+
+        /**
+         * @return The cached score of the card mask, or {@link #MISS}
+         */
+        synchronized int get(long cardMask, long hash) {
+            int bucket = find(cardMask, hash);
+            if (index[bucket] == EMPTY) {
+                return MISS;
+            }
+            int slot = index[bucket] - 1;
+            policy.accessed(slot);
+            return values[slot];
+        }
+
+        /**
+         * @return true if an entry was evicted to make room
+         */
+        synchronized boolean put(long cardMask, long hash, int value) {
+            int bucket = find(cardMask, hash);
+            if (index[bucket] != EMPTY) {
+                values[index[bucket] - 1] = value;
+                return false;
+            }
+
+            boolean evicted = false;
+            int slot;
+            if (size < keys.length) {
+                slot = size++;
+            } else {
+                slot = policy.selectVictim();
+                remove(find(keys[slot], hash(keys[slot])));
+                bucket = find(cardMask, hash);
+                evicted = true;
+            }
+
+            keys[slot] = cardMask;
+            values[slot] = value;
+            index[bucket] = slot + 1;
+            policy.inserted(slot);
+            return evicted;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        long getMemoryUsage() {
+            return 8L * keys.length + 4L * values.length + 4L * index.length + policy.getMemoryUsage();
+        }
+
+        /**
+         * @return The bucket of the card mask, or the empty bucket where it would be added
+         */
+        private int find(long cardMask, long hash) {
+            int bucket = (int) hash & indexMask;
+            while (index[bucket] != EMPTY && keys[index[bucket] - 1] != cardMask) {
+                bucket = (bucket + 1) & indexMask;
+            }
+            return bucket;
+        }
+
+        /**
+         * Empties the bucket and shifts the following entries of the probe sequence back, so that lookups never
+         * stop early at the hole.
+         */
+        private void remove(int bucket) {
+            int hole = bucket;
+            for (int next = (hole + 1) & indexMask; index[next] != EMPTY; next = (next + 1) & indexMask) {
+                int home = (int) hash(keys[index[next] - 1]) & indexMask;
+                if (((next - home) & indexMask) >= ((next - hole) & indexMask)) {
+                    index[hole] = index[next];
+                    hole = next;
+                }
+            }
+            index[hole] = EMPTY;
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.synacy.poker.model.hand;
+
+/**
+ * Chooses which entry of an {@link EvaluationCache} segment to evict once the segment is full. Entries are
+ * identified by their slot, from 0 to the segment's capacity - 1, and a slot is reused by the next insert after it
+ * was chosen.
+ *
+ * <p>Each segment has its own policy, and calls it while holding the segment's lock.</p>
+ */
+public interface EvictionPolicy {
+
+    /**
+     * @param slot the slot a new entry was stored in
+     */
+    void inserted(int slot);
+
+    /**
+     * @param slot the slot of an entry that was looked up
+     */
+    void accessed(int slot);
+
+    /**
+     * @return The slot of the entry to evict
+     */
+    int selectVictim();
+
+    /**
+     * @return The approximate number of bytes used by the policy's bookkeeping
+     */
+    long getMemoryUsage();
+
+}
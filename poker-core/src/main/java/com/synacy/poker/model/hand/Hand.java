@@ -0,0 +1,55 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.hand.types.Flush;
+import com.synacy.poker.model.hand.types.FullHouse;
+
+import java.util.List;
+
+/**
+ * The base class of the different Hands such as {@link Flush},
+ * {@link FullHouse}, etc.
+ */
+public abstract class Hand implements Comparable<Hand> {
+
+    private HandValue value;
+
+    /**
+     * @return The {@link HandType}
+     */
+    public abstract HandType getHandType();
+
+    /**
+     * @return The cards that make up the hand
+     */
+    public abstract List<Card> getCards();
+
+    /**
+     * @return The cards that make up the hand as a {@link CardSet}
+     */
+    public CardSet getCardSet() {
+        return CardSet.of(getCards());
+    }
+
+    /**
+     * @return The {@link HandValue} of the hand. Hands identified by the {@link HandIdentifier} carry the value
+     * they were scored with, otherwise it is computed from the cards once.
+     */
+    public HandValue getValue() {
+        if (value == null) {
+            value = HandValue.of(HandEvaluator.evaluate(getCardSet().getMask()));
+        }
+        return value;
+    }
+
+    void setValue(HandValue value) {
+        this.value = value;
+    }
+
+    @Override
+    public int compareTo(Hand other) {
+        return getValue().compareTo(other.getValue());
+    }
+
+}
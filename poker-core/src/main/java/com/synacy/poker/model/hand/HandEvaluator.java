@@ -0,0 +1,239 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.card.CardSuit;
+
+import java.util.List;
+
+/**
+ * An allocation free evaluator of up to seven cards.
+ *
+ * <p>The cards are encoded as a 64-bit card mask with one 16-bit lane per {@link CardSuit}, where bit
+ * <code>n</code> of a lane is the {@link CardRank} with ordinal <code>n</code>, the same as {@link CardSet#getMask()}. The rank and suit histograms
+ * are computed with bitwise operations on the four lanes.</p>
+ *
+ * <p>The result is an <code>int</code> strength score: the {@link HandType} ordinal in bits 20 and up, followed
+ * by five 4-bit rank ordinals (most significant first) that break ties within the same {@link HandType}. A
+ * higher score is a better hand and equal scores are a tie.</p>
+ */
+public final class HandEvaluator {
+
+    public static final int SUIT_SHIFT = CardSet.SUIT_SHIFT;
+    public static final int RANK_BITS = CardSet.RANK_BITS;
+
+    private static final int HAND_TYPE_SHIFT = 20;
+    private static final int FIRST_RANK_SHIFT = 16;
+    private static final int WHEEL = 0x100F;
+    private static final int FIVE_HIGH = CardRank.FIVE.ordinal();
+
+    private static final HandType[] HAND_TYPES = HandType.values();
+
+    private HandEvaluator() {
+    }
+
+    /**
+     * @param card
+     * @return The card mask with the single bit of the {@link Card}
+     */
+    public static long cardMask(Card card) {
+        return cardMask(card.getIndex());
+    }
+
+    /**
+     * @param cardIndex the {@link Card#getIndex()} of a card
+     * @return The card mask with the single bit of the card
+     */
+    public static long cardMask(int cardIndex) {
+        return 1L << (Card.suitOf(cardIndex) * SUIT_SHIFT + Card.rankOf(cardIndex));
+    }
+
+    /**
+     * @param cards
+     * @return The card mask of all the cards
+     */
+    public static long cardMask(List<Card> cards) {
+        long cardMask = 0L;
+        for (int i = 0; i < cards.size(); i++) {
+            cardMask |= cardMask(cards.get(i));
+        }
+        return cardMask;
+    }
+
+    /**
+     * @param cardMask
+     * @param suitOrdinal
+     * @return The 13 rank bits of the given suit
+     */
+    public static int suitRanks(long cardMask, int suitOrdinal) {
+        return (int) (cardMask >>> (suitOrdinal * SUIT_SHIFT)) & RANK_BITS;
+    }
+
+    /**
+     * Scores the best five card hand within the card mask.
+     *
+     * @param cardMask
+     * @return The strength score of the hand
+     */
+    public static int evaluate(long cardMask) {
+        int spades = suitRanks(cardMask, 0);
+        int clubs = suitRanks(cardMask, 1);
+        int diamonds = suitRanks(cardMask, 2);
+        int hearts = suitRanks(cardMask, 3);
+
+        int ranks = spades | clubs | diamonds | hearts;
+        int pairs = (spades & clubs) | (spades & diamonds) | (spades & hearts)
+                | (clubs & diamonds) | (clubs & hearts) | (diamonds & hearts);
+        int trips = (spades & clubs & diamonds) | (spades & clubs & hearts)
+                | (spades & diamonds & hearts) | (clubs & diamonds & hearts);
+        int quads = spades & clubs & diamonds & hearts;
+        int flush = flushRanks(spades, clubs, diamonds, hearts);
+
+        return evaluate(ranks, pairs, trips, quads, flush);
+    }
+
+    /**
+     * Scores the best five card hand from the rank histogram as bit sets.
+     *
+     * @param ranks the ranks with at least one card
+     * @param pairs the ranks with at least two cards
+     * @param trips the ranks with at least three cards
+     * @param quads the ranks with four cards
+     * @param flush the rank bits of the suit with at least five cards, or 0 if there is no flush
+     * @return The strength score of the hand
+     */
+    static int evaluate(int ranks, int pairs, int trips, int quads, int flush) {
+        if (flush != 0) {
+            int straightFlushHigh = straightHigh(flush);
+            if (straightFlushHigh >= 0) {
+                return score(HandType.STRAIGHT_FLUSH, straightFlushHigh);
+            }
+        }
+
+        if (quads != 0) {
+            int quadsRank = highestRank(quads);
+            return withKickers(score(HandType.FOUR_OF_A_KIND, quadsRank), ranks & ~(1 << quadsRank), 1, 1);
+        }
+
+        if (trips != 0) {
+            int tripsRank = highestRank(trips);
+            int otherPairs = pairs & ~(1 << tripsRank);
+            if (otherPairs != 0) {
+                return score(HandType.FULL_HOUSE, tripsRank) | highestRank(otherPairs) << rankShift(1);
+            }
+        }
+
+        if (flush != 0) {
+            return withKickers(score(HandType.FLUSH), flush, 5, 0);
+        }
+
+        int straightHigh = straightHigh(ranks);
+        if (straightHigh >= 0) {
+            return score(HandType.STRAIGHT, straightHigh);
+        }
+
+        if (trips != 0) {
+            int tripsRank = highestRank(trips);
+            return withKickers(score(HandType.THREE_OF_A_KIND, tripsRank), ranks & ~(1 << tripsRank), 2, 1);
+        }
+
+        if (Integer.bitCount(pairs) >= 2) {
+            int firstPairRank = highestRank(pairs);
+            int secondPairRank = highestRank(pairs & ~(1 << firstPairRank));
+            int kickers = ranks & ~(1 << firstPairRank) & ~(1 << secondPairRank);
+            return withKickers(score(HandType.TWO_PAIR, firstPairRank) | secondPairRank << rankShift(1),
+                    kickers, 1, 2);
+        }
+
+        if (pairs != 0) {
+            int pairRank = highestRank(pairs);
+            return withKickers(score(HandType.ONE_PAIR, pairRank), ranks & ~(1 << pairRank), 3, 1);
+        }
+
+        return withKickers(score(HandType.HIGH_CARD), ranks, 5, 0);
+    }
+
+    /**
+     * @param score
+     * @return The {@link HandType} of the strength score
+     */
+    public static HandType getHandType(int score) {
+        return HAND_TYPES[score >>> HAND_TYPE_SHIFT];
+    }
+
+    /**
+     * @param score
+     * @param position from 0 to 4, the most significant rank first
+     * @return The {@link CardRank} ordinal stored at the position of the strength score
+     */
+    public static int getRank(int score, int position) {
+        return (score >>> rankShift(position)) & 0xF;
+    }
+
+    /**
+     * @param rankBits
+     * @return The ordinal of the highest rank in the rank bits
+     */
+    public static int highestRank(int rankBits) {
+        return 31 - Integer.numberOfLeadingZeros(rankBits);
+    }
+
+    /**
+     * @param rankBits
+     * @return The ordinal of the highest card of the best straight in the rank bits, or -1 if there is none
+     */
+    public static int straightHigh(int rankBits) {
+        int runs = rankBits & (rankBits << 1) & (rankBits << 2) & (rankBits << 3) & (rankBits << 4);
+        if (runs != 0) {
+            return highestRank(runs);
+        }
+        return (rankBits & WHEEL) == WHEEL ? FIVE_HIGH : -1;
+    }
+
+    /**
+     * @return The rank bits of the suit with at least five cards, or 0 if there is no flush
+     */
+    private static int flushRanks(int spades, int clubs, int diamonds, int hearts) {
+        if (Integer.bitCount(spades) >= 5) {
+            return spades;
+        } else if (Integer.bitCount(clubs) >= 5) {
+            return clubs;
+        } else if (Integer.bitCount(diamonds) >= 5) {
+            return diamonds;
+        } else if (Integer.bitCount(hearts) >= 5) {
+            return hearts;
+        }
+        return 0;
+    }
+
+    private static int score(HandType handType) {
+        return handType.ordinal() << HAND_TYPE_SHIFT;
+    }
+
+    /**
+     * @param handType
+     * @param firstRank the {@link CardRank} ordinal in the most significant position
+     * @return The strength score of the hand type and rank, without kickers
+     */
+    static int score(HandType handType, int firstRank) {
+        return score(handType) | firstRank << FIRST_RANK_SHIFT;
+    }
+
+    private static int rankShift(int position) {
+        return FIRST_RANK_SHIFT - 4 * position;
+    }
+
+    /**
+     * Adds the highest ranks of the rank bits as kickers, starting at the given position.
+     */
+    private static int withKickers(int score, int rankBits, int count, int position) {
+        for (int i = 0; i < count && rankBits != 0; i++) {
+            int rank = highestRank(rankBits);
+            score |= rank << rankShift(position + i);
+            rankBits &= ~(1 << rank);
+        }
+        return score;
+    }
+
+}
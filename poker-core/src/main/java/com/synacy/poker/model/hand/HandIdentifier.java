@@ -0,0 +1,225 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.metrics.PokerMetrics;
+import com.synacy.poker.metrics.PokerMetrics.Operation;
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSuit;
+import com.synacy.poker.model.hand.types.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A service that is to used to identify the {@link Hand} given the player's cards and the community
+ * cards.
+ *
+ * @see HandIdentifierConfiguration
+ */
+public class HandIdentifier {
+
+    private static final CardRank[] RANKS = CardRank.values();
+    private static final CardSuit[] SUITS = CardSuit.values();
+
+    private final PokerMetrics metrics;
+
+    public HandIdentifier() {
+        this(PokerMetrics.DISABLED);
+    }
+
+    /**
+     * @param metrics times the identify methods
+     */
+    public HandIdentifier(PokerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Given the player's cards and the community cards, identifies the player's hand.
+     *
+     * @param playerCards
+     * @param communityCards
+     * @return The player's {@link Hand} or `null` if no Hand was identified.
+     */
+    public Hand identifyHand(List<Card> playerCards, List<Card> communityCards) {
+        long start = metrics.start(Operation.IDENTIFY_HAND);
+        long cardMask = HandEvaluator.cardMask(playerCards) | HandEvaluator.cardMask(communityCards);
+        Hand hand = cardMask == 0L ? null : buildHand(cardMask, value(cardMask));
+        metrics.stop(Operation.IDENTIFY_HAND, start);
+        return hand;
+    }
+
+    /**
+     * Given the player's cards and the community cards, identifies the player's hand.
+     *
+     * @param playerCards
+     * @param communityCards
+     * @return The player's {@link Hand} or `null` if no Hand was identified.
+     */
+    public Hand identifyHand(CardSet playerCards, CardSet communityCards) {
+        long start = metrics.start(Operation.IDENTIFY_HAND);
+        long cardMask = playerCards.getMask() | communityCards.getMask();
+        Hand hand = cardMask == 0L ? null : buildHand(cardMask, value(cardMask));
+        metrics.stop(Operation.IDENTIFY_HAND, start);
+        return hand;
+    }
+
+    /**
+     * Given the player's cards and the community cards, scores the player's hand without building the
+     * {@link Hand}.
+     *
+     * @param playerCards
+     * @param communityCards
+     * @return The strength score of the player's hand
+     * @see HandEvaluator#evaluate(long)
+     */
+    public int evaluateHand(List<Card> playerCards, List<Card> communityCards) {
+        return evaluate(HandEvaluator.cardMask(playerCards) | HandEvaluator.cardMask(communityCards));
+    }
+
+    /**
+     * Builds the {@link Hand} of a card mask that was already scored.
+     *
+     * @param cardMask
+     * @param score    the {@link HandEvaluator#evaluate(long)} of the card mask
+     * @return The {@link Hand} of the card mask, carrying the score as its {@link HandValue}
+     */
+    public Hand identifyHand(long cardMask, int score) {
+        return identifyHand(cardMask, HandValue.of(score));
+    }
+
+    /**
+     * Builds the {@link Hand} of a card mask that was already valued, e.g. by a {@link HandRankTable}.
+     *
+     * @param cardMask
+     * @param value    the value of the card mask
+     * @return The {@link Hand} of the card mask, carrying the value
+     */
+    public Hand identifyHand(long cardMask, HandValue value) {
+        long start = metrics.start(Operation.IDENTIFY_HAND);
+        Hand hand = buildHand(cardMask, value);
+        metrics.stop(Operation.IDENTIFY_HAND, start);
+        return hand;
+    }
+
+    /**
+     * Scores a card mask for the identify and evaluate methods.
+     *
+     * @param cardMask
+     * @return The {@link HandEvaluator#evaluate(long)} of the card mask
+     */
+    protected int evaluate(long cardMask) {
+        return HandEvaluator.evaluate(cardMask);
+    }
+
+    /**
+     * Values a card mask for the identify methods.
+     *
+     * @param cardMask
+     * @return The {@link HandValue} of the {@link #evaluate(long)} score
+     */
+    protected HandValue value(long cardMask) {
+        return HandValue.of(evaluate(cardMask));
+    }
+
+    private static Hand buildHand(long cardMask, HandValue value) {
+        Hand hand = buildHandOfType(cardMask, value.getScore());
+        hand.setValue(value);
+        return hand;
+    }
+
+    private static Hand buildHandOfType(long cardMask, int score) {
+        int ranks = allRanks(cardMask);
+        int firstRank = HandEvaluator.getRank(score, 0);
+        int secondRank = HandEvaluator.getRank(score, 1);
+
+        switch (HandEvaluator.getHandType(score)) {
+            case STRAIGHT_FLUSH:
+                return new StraightFlush(straightCards(flushMask(cardMask), firstRank));
+            case FOUR_OF_A_KIND:
+                return new FourOfAKind(cardsOfRank(cardMask, firstRank, 4),
+                        kickerCards(cardMask, ranks & ~(1 << firstRank), 1));
+            case FULL_HOUSE:
+                return new FullHouse(cardsOfRank(cardMask, firstRank, 3), cardsOfRank(cardMask, secondRank, 2));
+            case FLUSH:
+                long flushMask = flushMask(cardMask);
+                return new Flush(kickerCards(flushMask, allRanks(flushMask), 5));
+            case STRAIGHT:
+                return new Straight(straightCards(cardMask, firstRank));
+            case THREE_OF_A_KIND:
+                return new ThreeOfAKind(cardsOfRank(cardMask, firstRank, 3),
+                        kickerCards(cardMask, ranks & ~(1 << firstRank), 2));
+            case TWO_PAIR:
+                return new TwoPair(cardsOfRank(cardMask, firstRank, 2), cardsOfRank(cardMask, secondRank, 2),
+                        kickerCards(cardMask, ranks & ~(1 << firstRank) & ~(1 << secondRank), 1));
+            case ONE_PAIR:
+                return new OnePair(cardsOfRank(cardMask, firstRank, 2),
+                        kickerCards(cardMask, ranks & ~(1 << firstRank), 3));
+            default:
+                return new HighCard(kickerCards(cardMask, ranks, 5));
+        }
+    }
+
+    private static int allRanks(long cardMask) {
+        int ranks = 0;
+        for (int suit = 0; suit < SUITS.length; suit++) {
+            ranks |= HandEvaluator.suitRanks(cardMask, suit);
+        }
+        return ranks;
+    }
+
+    /**
+     * @return The part of the card mask that belongs to the flush suit
+     */
+    private static long flushMask(long cardMask) {
+        for (int suit = 0; suit < SUITS.length; suit++) {
+            int suitRanks = HandEvaluator.suitRanks(cardMask, suit);
+            if (Integer.bitCount(suitRanks) >= 5) {
+                return (long) suitRanks << (suit * HandEvaluator.SUIT_SHIFT);
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * @return Up to <code>count</code> cards of the given rank
+     */
+    private static List<Card> cardsOfRank(long cardMask, int rank, int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int suit = 0; suit < SUITS.length && cards.size() < count; suit++) {
+            if ((HandEvaluator.suitRanks(cardMask, suit) & (1 << rank)) != 0) {
+                cards.add(Card.of(RANKS[rank], SUITS[suit]));
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * @return One card for each of the <code>count</code> highest ranks in the rank bits, in descending rank
+     */
+    private static List<Card> kickerCards(long cardMask, int rankBits, int count) {
+        List<Card> cards = new ArrayList<>(count);
+        while (rankBits != 0 && cards.size() < count) {
+            int rank = HandEvaluator.highestRank(rankBits);
+            cards.addAll(cardsOfRank(cardMask, rank, 1));
+            rankBits &= ~(1 << rank);
+        }
+        return cards;
+    }
+
+    /**
+     * @return The five cards of the straight with the given high rank, in descending rank. The Ace stands in for a
+     * missing lowest rank, as in 5-4-3-2-A or the 9-8-7-6-A of a short deck.
+     */
+    private static List<Card> straightCards(long cardMask, int highRank) {
+        List<Card> cards = new ArrayList<>(5);
+        int ranks = allRanks(cardMask);
+        for (int rank = highRank; rank > highRank - 5; rank--) {
+            boolean aceLow = rank < 0 || (ranks & (1 << rank)) == 0;
+            cards.addAll(cardsOfRank(cardMask, aceLow ? CardRank.ACE.ordinal() : rank, 1));
+        }
+        return cards;
+    }
+
+}
@@ -0,0 +1,601 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.DeckProfile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Precomputed lookup tables that resolve five to seven cards to their equivalence class, from 1 (7-5-4-3-2)
+ * to 7462 (Royal Flush).
+ *
+ * <p>Flushes are looked up directly by the 13 rank bits of the flush suit. Every other hand only depends on
+ * how many cards of each rank it has, so the rank counts are mapped to a dense index with a perfect hash over
+ * all count combinations of that many cards (6175 for five cards, 49205 for seven).</p>
+ *
+ * <p>The tables are loaded from the {@value #RESOURCE} resource when it is bundled, and generated otherwise.
+ * The {@link Mode} selects how much memory is traded for lookup speed.</p>
+ *
+ * <p>Each {@link DeckProfile} has its own tables, generated with its straights and the order of its hand types,
+ * so the rules of the variant cost nothing at lookup time. The equivalence classes follow the order of the
+ * profile; the {@link HandEvaluator} scores of {@link #toScore(int)} describe the hands but only order them
+ * correctly in the {@link DeckProfile#STANDARD} profile, so hands of other profiles are compared by rank.</p>
+ */
+public class HandRankTable {
+
+    public enum Mode {
+        /**
+         * Only the five card tables (~60KB). Six and seven cards take the best of their five card subsets.
+         */
+        FIVE_CARD,
+        /**
+         * The five, six and seven card tables (~190KB). One perfect hash lookup per hand.
+         */
+        SEVEN_CARD,
+        /**
+         * {@link #SEVEN_CARD} plus a ~16MB table that resolves seven cards in five memory loads.
+         */
+        DIRECT
+    }
+
+    public static final String RESOURCE = "/hand-rank-table.bin";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int RANK_COUNT = 13;
+    private static final int SUIT_COUNT = 4;
+    private static final int MIN_CARDS = 5;
+    private static final int MAX_CARDS = 7;
+    private static final int HAND_TYPE_SHIFT = 20;
+
+    /**
+     * Per rank keys whose sums are unique for every seven card combination of ranks.
+     */
+    private static final int[] RANK_KEYS = {
+            0, 1, 5, 22, 98, 453, 2031, 8698, 22854, 83661, 262349, 636345, 1479181
+    };
+
+    /**
+     * <code>COMBINATIONS[rank][cards]</code> is the number of ways to spread the cards over the rank and the
+     * ranks above it, with at most four cards of each rank.
+     */
+    private static final int[][] COMBINATIONS = combinations();
+
+    /**
+     * <code>HASH_OFFSETS[hashOffset(rank, remainingCards, count)]</code> is the number of rank count combinations
+     * that come before the given count of the rank, once the lower ranks are fixed.
+     */
+    private static final int[] HASH_OFFSETS = hashOffsets();
+
+    private final Mode mode;
+    private final DeckProfile deckProfile;
+    private final int[] classScores;
+    private final short[] flushRanks;
+    private final short[][] rankCountRanks;
+    private final int[] suitKeys;
+    private final short[] directRanks;
+
+    public HandRankTable(Mode mode) {
+        this(DeckProfile.STANDARD, mode);
+    }
+
+    /**
+     * @param deckProfile the deck whose hand rules the tables are generated for
+     * @param mode
+     */
+    public HandRankTable(DeckProfile deckProfile, Mode mode) {
+        this(mode, deckProfile, HandRankTable.class.getResourceAsStream(resource(deckProfile)));
+    }
+
+    HandRankTable(Mode mode, InputStream resource) {
+        this(mode, DeckProfile.STANDARD, resource);
+    }
+
+    HandRankTable(Mode mode, DeckProfile deckProfile, InputStream resource) {
+        this.mode = mode;
+        this.deckProfile = deckProfile;
+        this.rankCountRanks = new short[mode == Mode.FIVE_CARD ? 1 : MAX_CARDS - MIN_CARDS + 1][];
+
+        if (resource == null) {
+            this.classScores = generateClassScores();
+            this.flushRanks = generateFlushRanks();
+            for (int i = 0; i < rankCountRanks.length; i++) {
+                rankCountRanks[i] = generateRankCountRanks(MIN_CARDS + i);
+            }
+        } else {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(resource))) {
+                if (in.readInt() != FORMAT_VERSION) {
+                    throw new IOException("Unsupported hand rank table version.");
+                }
+                this.classScores = new int[in.readInt()];
+                for (int i = 0; i < classScores.length; i++) {
+                    classScores[i] = in.readInt();
+                }
+                this.flushRanks = readShorts(in);
+                for (int i = 0; i < rankCountRanks.length; i++) {
+                    rankCountRanks[i] = readShorts(in);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not load the hand rank table.", e);
+            }
+        }
+
+        if (mode == Mode.DIRECT) {
+            this.suitKeys = generateSuitKeys();
+            this.directRanks = generateDirectRanks();
+        } else {
+            this.suitKeys = null;
+            this.directRanks = null;
+        }
+    }
+
+    /**
+     * @return The {@link Mode} the tables were built for
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return The {@link DeckProfile} whose hand rules the tables follow
+     */
+    public DeckProfile getDeckProfile() {
+        return deckProfile;
+    }
+
+    /**
+     * @param deckProfile
+     * @return The name of the resource the tables of the profile are bundled as
+     */
+    public static String resource(DeckProfile deckProfile) {
+        if (deckProfile == DeckProfile.STANDARD) {
+            return RESOURCE;
+        }
+        return "/hand-rank-table-" + deckProfile.name().toLowerCase().replace('_', '-') + ".bin";
+    }
+
+    /**
+     * @return The number of equivalence classes, i.e. the highest rank
+     */
+    public int getClassCount() {
+        return classScores.length;
+    }
+
+    /**
+     * @param cards
+     * @return The equivalence class of the cards
+     * @see #rank(long)
+     */
+    public int rank(List<Card> cards) {
+        return rank(HandEvaluator.cardMask(cards));
+    }
+
+    /**
+     * @param cardMask a card mask of five to seven cards
+     * @return The equivalence class of the best five cards, from 1 to {@link #getClassCount()}
+     * @throws IllegalArgumentException if there are not five to seven cards
+     */
+    public int rank(long cardMask) {
+        int cardCount = Long.bitCount(cardMask);
+        if (cardCount < MIN_CARDS || cardCount > MAX_CARDS) {
+            throw new IllegalArgumentException("Only hands of five to seven cards can be ranked.");
+        }
+
+        if (directRanks != null && cardCount == MAX_CARDS) {
+            return lookupDirect(cardMask);
+        }
+        if (cardCount - MIN_CARDS < rankCountRanks.length) {
+            return lookup(cardMask, cardCount);
+        }
+
+        int best = 0;
+        for (long first = cardMask; first != 0; first &= first - 1) {
+            long firstCard = first & -first;
+            if (cardCount == MIN_CARDS + 1) {
+                best = Math.max(best, lookup(cardMask & ~firstCard, MIN_CARDS));
+                continue;
+            }
+            for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                best = Math.max(best, lookup(cardMask & ~firstCard & ~(second & -second), MIN_CARDS));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Scores the card mask with the lookup tables when possible.
+     *
+     * @param cardMask
+     * @return The strength score of the best five cards by the rules of the profile, the same as
+     * {@link HandEvaluator#evaluate(long)} in the {@link DeckProfile#STANDARD} profile
+     */
+    public int evaluate(long cardMask) {
+        int cardCount = Long.bitCount(cardMask);
+        if (cardCount < MIN_CARDS || cardCount > MAX_CARDS) {
+            return HandEvaluator.evaluate(cardMask);
+        }
+        return toScore(rank(cardMask));
+    }
+
+    /**
+     * The score describes the hand of the equivalence class. It orders the classes like the ranks do only in the
+     * {@link DeckProfile#STANDARD} profile, so hands of other profiles are compared by {@link #valueOf(int)}.
+     *
+     * @param rank an equivalence class
+     * @return The {@link HandEvaluator} strength score of the equivalence class
+     */
+    public int toScore(int rank) {
+        return classScores[rank - 1];
+    }
+
+    /**
+     * @param rank an equivalence class
+     * @return The {@link HandValue} of the equivalence class, ordered by its rank
+     */
+    public HandValue valueOf(int rank) {
+        int score = toScore(rank);
+        return deckProfile == DeckProfile.STANDARD ? HandValue.of(score) : HandValue.of(score, rank);
+    }
+
+    /**
+     * @param cardMask
+     * @return The {@link HandValue} of the best five cards by the rules of the profile, ordered like
+     * {@link #evaluate(long)} for other card counts
+     */
+    public HandValue value(long cardMask) {
+        int cardCount = Long.bitCount(cardMask);
+        if (cardCount < MIN_CARDS || cardCount > MAX_CARDS) {
+            return HandValue.of(HandEvaluator.evaluate(cardMask));
+        }
+        return valueOf(rank(cardMask));
+    }
+
+    /**
+     * Writes the tables in the format read by the constructor. The {@link Mode#DIRECT} table is not written
+     * since it is quicker to rebuild than to read.
+     *
+     * @param out
+     * @throws IOException
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(classScores.length);
+        for (int classScore : classScores) {
+            data.writeInt(classScore);
+        }
+        writeShorts(data, flushRanks);
+        for (short[] ranks : rankCountRanks) {
+            writeShorts(data, ranks);
+        }
+        data.flush();
+    }
+
+    /**
+     * Generates the {@link Mode#SEVEN_CARD} tables of every {@link DeckProfile} into the directory given as the
+     * first argument. Used by the <code>generateHandRankTable</code> build task to bundle the tables as resources.
+     */
+    public static void main(String[] args) throws IOException {
+        for (DeckProfile deckProfile : DeckProfile.values()) {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[0] + resource(deckProfile)))) {
+                new HandRankTable(Mode.SEVEN_CARD, deckProfile, null).write(out);
+            }
+        }
+    }
+
+    private int lookup(long cardMask, int cardCount) {
+        int ranks = 0;
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            int suitRanks = HandEvaluator.suitRanks(cardMask, suit);
+            if (Integer.bitCount(suitRanks) >= MIN_CARDS) {
+                return flushRanks[suitRanks];
+            }
+            ranks |= suitRanks;
+        }
+        return rankCountRanks[cardCount - MIN_CARDS][hash(cardMask, ranks, cardCount)];
+    }
+
+    /**
+     * @param cardMask
+     * @param ranks     the ranks with at least one card in the card mask
+     * @param cardCount the number of cards in the card mask
+     * @return The perfect hash of the rank counts of the card mask
+     * @see #hash(int[], int)
+     */
+    static int hash(long cardMask, int ranks, int cardCount) {
+        int index = 0;
+        int remaining = cardCount;
+        for (; ranks != 0; ranks &= ranks - 1) {
+            int rank = Integer.numberOfTrailingZeros(ranks);
+            int count = (int) ((cardMask >>> rank) & 1L) + (int) ((cardMask >>> (rank + 16)) & 1L)
+                    + (int) ((cardMask >>> (rank + 32)) & 1L) + (int) ((cardMask >>> (rank + 48)) & 1L);
+            index += HASH_OFFSETS[hashOffset(rank, remaining, count)];
+            remaining -= count;
+        }
+        return index;
+    }
+
+    private int lookupDirect(long cardMask) {
+        int spades = HandEvaluator.suitRanks(cardMask, 0);
+        int clubs = HandEvaluator.suitRanks(cardMask, 1);
+        int diamonds = HandEvaluator.suitRanks(cardMask, 2);
+        int hearts = HandEvaluator.suitRanks(cardMask, 3);
+
+        if (Integer.bitCount(spades) >= MIN_CARDS) {
+            return flushRanks[spades];
+        } else if (Integer.bitCount(clubs) >= MIN_CARDS) {
+            return flushRanks[clubs];
+        } else if (Integer.bitCount(diamonds) >= MIN_CARDS) {
+            return flushRanks[diamonds];
+        } else if (Integer.bitCount(hearts) >= MIN_CARDS) {
+            return flushRanks[hearts];
+        }
+        return directRanks[suitKeys[spades] + suitKeys[clubs] + suitKeys[diamonds] + suitKeys[hearts]];
+    }
+
+    /**
+     * @param cardCount
+     * @return The number of ways to spread that many cards over the ranks, the size of a rank count table
+     */
+    static int rankCountCombinations(int cardCount) {
+        return COMBINATIONS[0][cardCount];
+    }
+
+    private static int[][] combinations() {
+        int[][] combinations = new int[RANK_COUNT + 1][MAX_CARDS + 1];
+        combinations[RANK_COUNT][0] = 1;
+        for (int rank = RANK_COUNT - 1; rank >= 0; rank--) {
+            for (int cards = 0; cards <= MAX_CARDS; cards++) {
+                for (int count = 0; count <= Math.min(SUIT_COUNT, cards); count++) {
+                    combinations[rank][cards] += combinations[rank + 1][cards - count];
+                }
+            }
+        }
+        return combinations;
+    }
+
+    private static int[] hashOffsets() {
+        int[] offsets = new int[hashOffset(RANK_COUNT, 0, 0)];
+        for (int rank = 0; rank < RANK_COUNT; rank++) {
+            for (int remaining = 0; remaining <= MAX_CARDS; remaining++) {
+                for (int count = 1; count <= SUIT_COUNT && count <= remaining; count++) {
+                    offsets[hashOffset(rank, remaining, count)] = offsets[hashOffset(rank, remaining, count - 1)]
+                            + COMBINATIONS[rank + 1][remaining - count + 1];
+                }
+            }
+        }
+        return offsets;
+    }
+
+    private static int hashOffset(int rank, int remaining, int count) {
+        return (rank * (MAX_CARDS + 1) + remaining) * (SUIT_COUNT + 1) + count;
+    }
+
+    /**
+     * @param counts    the number of cards of each rank
+     * @param cardCount the sum of the counts
+     * @return A dense index from 0 to the number of ways to spread that many cards over the ranks
+     */
+    static int hash(int[] counts, int cardCount) {
+        int index = 0;
+        int remaining = cardCount;
+        for (int rank = 0; rank < RANK_COUNT; rank++) {
+            index += HASH_OFFSETS[hashOffset(rank, remaining, counts[rank])];
+            remaining -= counts[rank];
+        }
+        return index;
+    }
+
+    /**
+     * @return The strength scores of every distinct five card hand, sorted in the order of the profile
+     */
+    private int[] generateClassScores() {
+        TreeSet<Integer> scores = new TreeSet<>(Comparator.comparingInt(this::strength));
+        for (int suitRanks = 0; suitRanks < 1 << RANK_COUNT; suitRanks++) {
+            if (Integer.bitCount(suitRanks) == MIN_CARDS && isInDeck(suitRanks)) {
+                scores.add(score(suitRanks));
+            }
+        }
+        forEachRankCount(MIN_CARDS, counts -> {
+            long cardMask = withoutFlush(counts);
+            if (isInDeck(cardMask)) {
+                scores.add(score(cardMask));
+            }
+        });
+
+        return scores.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private short[] generateFlushRanks() {
+        short[] ranks = new short[1 << RANK_COUNT];
+        for (int suitRanks = 0; suitRanks < ranks.length; suitRanks++) {
+            int cardCount = Integer.bitCount(suitRanks);
+            if (cardCount >= MIN_CARDS && cardCount <= MAX_CARDS && isInDeck(suitRanks)) {
+                ranks[suitRanks] = toRank(score(suitRanks));
+            }
+        }
+        return ranks;
+    }
+
+    private short[] generateRankCountRanks(int cardCount) {
+        short[] ranks = new short[COMBINATIONS[0][cardCount]];
+        forEachRankCount(cardCount, counts -> {
+            long cardMask = withoutFlush(counts);
+            if (isInDeck(cardMask)) {
+                ranks[hash(counts, cardCount)] = toRank(score(cardMask));
+            }
+        });
+        return ranks;
+    }
+
+    /**
+     * Hands with cards that are not in the deck of the profile are left out of the tables and rank 0.
+     */
+    private boolean isInDeck(long cardMask) {
+        long lowerRanks = (1L << deckProfile.getLowestRank().ordinal()) - 1;
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            if ((cardMask & lowerRanks << suit * HandEvaluator.SUIT_SHIFT) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scores the best five of five to seven cards by the rules of the profile.
+     */
+    private int score(long cardMask) {
+        if (deckProfile == DeckProfile.STANDARD) {
+            return HandEvaluator.evaluate(cardMask);
+        }
+        if (Long.bitCount(cardMask) == MIN_CARDS) {
+            return fiveCardScore(cardMask);
+        }
+
+        int best = -1;
+        for (long subset = cardMask; subset != 0; subset = (subset - 1) & cardMask) {
+            if (Long.bitCount(subset) == MIN_CARDS) {
+                int score = fiveCardScore(subset);
+                if (best < 0 || strength(score) > strength(best)) {
+                    best = score;
+                }
+            }
+        }
+        return best;
+    }
+
+    private int fiveCardScore(long cardMask) {
+        int ranks = 0;
+        boolean flush = false;
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            int suitRanks = HandEvaluator.suitRanks(cardMask, suit);
+            flush |= Integer.bitCount(suitRanks) == MIN_CARDS;
+            ranks |= suitRanks;
+        }
+        if (ranks == deckProfile.getWheel()) {
+            int highRank = deckProfile.getLowestRank().ordinal() + 3;
+            return HandEvaluator.score(flush ? HandType.STRAIGHT_FLUSH : HandType.STRAIGHT, highRank);
+        }
+        return HandEvaluator.evaluate(cardMask);
+    }
+
+    /**
+     * @return A key that orders the strength scores the way the profile ranks their hands
+     */
+    private int strength(int score) {
+        if (!deckProfile.isFlushOverFullHouse()) {
+            return score;
+        }
+        HandType handType = HandEvaluator.getHandType(score);
+        int ranks = score & ((1 << HAND_TYPE_SHIFT) - 1);
+        if (handType == HandType.FLUSH) {
+            return HandType.FULL_HOUSE.ordinal() << HAND_TYPE_SHIFT | ranks;
+        } else if (handType == HandType.FULL_HOUSE) {
+            return HandType.FLUSH.ordinal() << HAND_TYPE_SHIFT | ranks;
+        }
+        return score;
+    }
+
+    private static int[] generateSuitKeys() {
+        int[] keys = new int[1 << RANK_COUNT];
+        for (int suitRanks = 1; suitRanks < keys.length; suitRanks++) {
+            int rank = Integer.numberOfTrailingZeros(suitRanks);
+            keys[suitRanks] = keys[suitRanks & (suitRanks - 1)] + RANK_KEYS[rank];
+        }
+        return keys;
+    }
+
+    private short[] generateDirectRanks() {
+        int highestKey = SUIT_COUNT * RANK_KEYS[RANK_COUNT - 1] + (MAX_CARDS - SUIT_COUNT) * RANK_KEYS[RANK_COUNT - 2];
+        short[] ranks = new short[highestKey + 1];
+        short[] sevenCardRanks = rankCountRanks[MAX_CARDS - MIN_CARDS];
+        forEachRankCount(MAX_CARDS, counts -> {
+            int key = 0;
+            for (int rank = 0; rank < RANK_COUNT; rank++) {
+                key += counts[rank] * RANK_KEYS[rank];
+            }
+            ranks[key] = sevenCardRanks[hash(counts, MAX_CARDS)];
+        });
+        return ranks;
+    }
+
+    /**
+     * Calls the action with every way of spreading the cards over the ranks, with at most four of each rank.
+     */
+    static void forEachRankCount(int cardCount, Consumer<int[]> action) {
+        forEachRankCount(new int[RANK_COUNT], 0, cardCount, action);
+    }
+
+    private static void forEachRankCount(int[] counts, int rank, int remaining, Consumer<int[]> action) {
+        if (rank == RANK_COUNT) {
+            if (remaining == 0) {
+                action.accept(counts);
+            }
+            return;
+        }
+        for (int count = 0; count <= Math.min(SUIT_COUNT, remaining); count++) {
+            counts[rank] = count;
+            forEachRankCount(counts, rank + 1, remaining - count, action);
+        }
+        counts[rank] = 0;
+    }
+
+    /**
+     * @return A card mask with the rank counts, dealt round robin over the suits so that it can not be a flush
+     */
+    static long withoutFlush(int[] counts) {
+        long cardMask = 0L;
+        int card = 0;
+        for (int rank = 0; rank < RANK_COUNT; rank++) {
+            for (int i = 0; i < counts[rank]; i++) {
+                cardMask |= 1L << (card++ % SUIT_COUNT * HandEvaluator.SUIT_SHIFT + rank);
+            }
+        }
+        return cardMask;
+    }
+
+    private short toRank(int score) {
+        int strength = strength(score);
+        int low = 0;
+        int high = classScores.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleStrength = strength(classScores[middle]);
+            if (middleStrength < strength) {
+                low = middle + 1;
+            } else if (middleStrength > strength) {
+                high = middle - 1;
+            } else {
+                return (short) (middle + 1);
+            }
+        }
+        throw new IllegalStateException("Unknown hand strength score " + score);
+    }
+
+    private static short[] readShorts(DataInputStream in) throws IOException {
+        short[] values = new short[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readShort();
+        }
+        return values;
+    }
+
+    private static void writeShorts(DataOutputStream out, short[] values) throws IOException {
+        out.writeInt(values.length);
+        for (short value : values) {
+            out.writeShort(value);
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.CardRank;
+
+/**
+ * The strength of a {@link Hand}: the {@link HandType} and the ranks that break ties within it, packed into a
+ * single <code>int</code>. Values are totally ordered, and equal values are a tie.
+ *
+ * <p>The score orders hands by the rules of the standard deck. Hands ranked by the {@link HandRankTable} of another
+ * {@link com.synacy.poker.model.deck.DeckProfile} carry their table rank as their strength as well, and are
+ * ordered by it, so a short-deck flush beats a full house. Values of hands ranked for different deck profiles are
+ * not compared with each other.</p>
+ *
+ * @see HandEvaluator#evaluate(long)
+ * @see HandRankTable#valueOf(int)
+ */
+public final class HandValue implements Comparable<HandValue> {
+
+    private static final CardRank[] RANKS = CardRank.values();
+
+    private final int score;
+    private final int strength;
+
+    private HandValue(int score, int strength) {
+        this.score = score;
+        this.strength = strength;
+    }
+
+    /**
+     * @param score a {@link HandEvaluator} strength score
+     * @return The {@link HandValue} of the score, ordered by it
+     */
+    public static HandValue of(int score) {
+        return new HandValue(score, score);
+    }
+
+    /**
+     * @param score    a {@link HandEvaluator} strength score, describing the hand
+     * @param strength what the value is ordered by, higher is better, e.g. a {@link HandRankTable} rank
+     * @return The {@link HandValue} of the score, ordered by the strength
+     */
+    public static HandValue of(int score, int strength) {
+        return new HandValue(score, strength);
+    }
+
+    /**
+     * @return The packed strength score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return What the value is ordered by, the score unless the hand was ranked for another deck profile
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * @return The {@link HandType}
+     */
+    public HandType getHandType() {
+        return HandEvaluator.getHandType(score);
+    }
+
+    /**
+     * @param position from 0 to 4, the most significant rank first
+     * @return The {@link CardRank} at the position, e.g. the rank of the pair followed by the kickers
+     */
+    public CardRank getRank(int position) {
+        return RANKS[HandEvaluator.getRank(score, position)];
+    }
+
+    /**
+     * @param other
+     * @return true if this value beats the other value
+     */
+    public boolean beats(HandValue other) {
+        return strength > other.strength;
+    }
+
+    @Override
+    public int compareTo(HandValue other) {
+        return Integer.compare(strength, other.strength);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        HandValue that = (HandValue) o;
+        return score == that.score && strength == that.strength;
+    }
+
+    @Override
+    public int hashCode() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return getHandType() + "(" + Integer.toHexString(score) + ")";
+    }
+
+}
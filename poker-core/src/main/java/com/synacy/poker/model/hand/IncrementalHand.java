@@ -0,0 +1,178 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+
+/**
+ * The evaluation state of a growing set of cards, such as a player's hole cards as the flop, turn and river are
+ * dealt. Adding or removing a card updates the rank bit sets and suit counts in constant time, and
+ * {@link #evaluate()} scores the best hand from that state without looking at the cards again.
+ *
+ * <p>Cards can be removed in any order, so simulations can walk boards card by card and back. An instance is not
+ * thread safe.</p>
+ */
+public final class IncrementalHand {
+
+    private static final int SUIT_COUNT_BITS = 8;
+    private static final int FLUSH_COUNT_BIAS = 0x7B7B7B7B;
+    private static final int SUIT_COUNT_HIGH_BITS = 0x80808080;
+
+    private long cardMask;
+    private int ranks;
+    private int pairs;
+    private int trips;
+    private int quads;
+
+    /**
+     * The number of cards of each suit, 8 bits per suit.
+     */
+    private int suitCounts;
+
+    public IncrementalHand() {
+    }
+
+    /**
+     * @param cardMask the cards to start with
+     */
+    public IncrementalHand(long cardMask) {
+        addAll(cardMask);
+    }
+
+    /**
+     * @param card
+     * @throws IllegalArgumentException if the card was already added
+     */
+    public void add(Card card) {
+        addAll(HandEvaluator.cardMask(card));
+    }
+
+    /**
+     * @param cardMask the cards to add
+     * @throws IllegalArgumentException if one of the cards was already added
+     */
+    public void addAll(long cardMask) {
+        if ((this.cardMask & cardMask) != 0) {
+            throw new IllegalArgumentException("A card was added more than once.");
+        }
+        for (long remaining = cardMask; remaining != 0; remaining &= remaining - 1) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            int rankBit = 1 << (bit % HandEvaluator.SUIT_SHIFT);
+            if ((trips & rankBit) != 0) {
+                quads |= rankBit;
+            } else if ((pairs & rankBit) != 0) {
+                trips |= rankBit;
+            } else if ((ranks & rankBit) != 0) {
+                pairs |= rankBit;
+            } else {
+                ranks |= rankBit;
+            }
+            suitCounts += 1 << (bit / HandEvaluator.SUIT_SHIFT * SUIT_COUNT_BITS);
+        }
+        this.cardMask |= cardMask;
+    }
+
+    /**
+     * @param card
+     * @throws IllegalArgumentException if the card was not added
+     */
+    public void remove(Card card) {
+        removeAll(HandEvaluator.cardMask(card));
+    }
+
+    /**
+     * @param cardMask the cards to remove
+     * @throws IllegalArgumentException if one of the cards was not added
+     */
+    public void removeAll(long cardMask) {
+        if ((this.cardMask & cardMask) != cardMask) {
+            throw new IllegalArgumentException("A card to remove was not added.");
+        }
+        for (long remaining = cardMask; remaining != 0; remaining &= remaining - 1) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            int rankBit = 1 << (bit % HandEvaluator.SUIT_SHIFT);
+            if ((quads & rankBit) != 0) {
+                quads &= ~rankBit;
+            } else if ((trips & rankBit) != 0) {
+                trips &= ~rankBit;
+            } else if ((pairs & rankBit) != 0) {
+                pairs &= ~rankBit;
+            } else {
+                ranks &= ~rankBit;
+            }
+            suitCounts -= 1 << (bit / HandEvaluator.SUIT_SHIFT * SUIT_COUNT_BITS);
+        }
+        this.cardMask &= ~cardMask;
+    }
+
+    public void clear() {
+        cardMask = 0L;
+        ranks = 0;
+        pairs = 0;
+        trips = 0;
+        quads = 0;
+        suitCounts = 0;
+    }
+
+    /**
+     * @return A copy of the state that can be changed independently
+     */
+    public IncrementalHand copy() {
+        IncrementalHand copy = new IncrementalHand();
+        copy.cardMask = cardMask;
+        copy.ranks = ranks;
+        copy.pairs = pairs;
+        copy.trips = trips;
+        copy.quads = quads;
+        copy.suitCounts = suitCounts;
+        return copy;
+    }
+
+    /**
+     * @return The card mask of the added cards
+     */
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    public int size() {
+        return Long.bitCount(cardMask);
+    }
+
+    /**
+     * @param suitOrdinal
+     * @return The number of added cards of the suit
+     */
+    public int getSuitCount(int suitOrdinal) {
+        return (suitCounts >>> (suitOrdinal * SUIT_COUNT_BITS)) & 0xFF;
+    }
+
+    /**
+     * @param rankOrdinal
+     * @return The number of added cards of the rank
+     */
+    public int getRankCount(int rankOrdinal) {
+        return (ranks >>> rankOrdinal & 1) + (pairs >>> rankOrdinal & 1)
+                + (trips >>> rankOrdinal & 1) + (quads >>> rankOrdinal & 1);
+    }
+
+    /**
+     * Scores the best five card hand of the added cards.
+     *
+     * @return The strength score of the hand, the same as {@link HandEvaluator#evaluate(long)}
+     */
+    public int evaluate() {
+        return HandEvaluator.evaluate(ranks, pairs, trips, quads, flushRanks());
+    }
+
+    /**
+     * Adds 123 to every suit count, which sets the high bit of the suits with at least five cards.
+     */
+    private int flushRanks() {
+        int flushSuits = (suitCounts + FLUSH_COUNT_BIAS) & SUIT_COUNT_HIGH_BITS;
+        if (flushSuits == 0) {
+            return 0;
+        }
+        int suit = Integer.numberOfTrailingZeros(flushSuits) / SUIT_COUNT_BITS;
+        return HandEvaluator.suitRanks(cardMask, suit);
+    }
+
+}
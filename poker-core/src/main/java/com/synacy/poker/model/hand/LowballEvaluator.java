@@ -0,0 +1,325 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.CardRank;
+
+import java.util.TreeSet;
+
+/**
+ * Scores five to seven cards as a low hand, where the best hand wins the low half of a split pot or the whole pot
+ * of a lowball game.
+ *
+ * <p>Like the {@link HandRankTable}, a hand resolves to an equivalence class, but the classes count up from the
+ * best low: 1 is 5-4-3-2-A in {@link Type#ACE_TO_FIVE} and 7-5-4-3-2 in {@link Type#DEUCE_TO_SEVEN}, and of two
+ * hands the lower class is the better one. A hand without a qualifying low is {@link #NO_LOW}.</p>
+ *
+ * <p>The tables are keyed on the rank bits of the card mask. Five cards of different ranks are one lookup by
+ * their rank bits, and in ace-to-five, where straights and flushes do not count, so are six or seven cards with at
+ * least five different ranks, which covers every qualifying 8-or-better low. Other hands are looked up by the
+ * perfect hash of their rank counts shared with the {@link HandRankTable}, with one table per number of cards.
+ * Only six or seven deuce-to-seven cards holding five of a suit go over their five card hands, since whether the
+ * best of them is a flush depends on the suits.</p>
+ */
+public final class LowballEvaluator {
+
+    public enum Type {
+        /**
+         * The Ace is low and straights and flushes do not count, so 5-4-3-2-A is the best hand.
+         */
+        ACE_TO_FIVE,
+        /**
+         * {@link #ACE_TO_FIVE} where only five different ranks of Eight or lower qualify, as in the low half
+         * of Hi/Lo games.
+         */
+        EIGHT_OR_BETTER,
+        /**
+         * The Ace is high and straights and flushes count against the hand, so 7-5-4-3-2 of mixed suits is
+         * the best hand.
+         */
+        DEUCE_TO_SEVEN
+    }
+
+    /**
+     * What {@link #evaluate(long)} returns for a hand without a qualifying low.
+     */
+    public static final int NO_LOW = Integer.MAX_VALUE;
+
+    private static final int RANK_COUNT = 13;
+    private static final int SUIT_COUNT = 4;
+    private static final int HAND_CARDS = 5;
+    private static final int MAX_CARDS = 7;
+    private static final int ACE = CardRank.ACE.ordinal();
+    private static final int WHEEL = 0x100F;
+
+    /**
+     * The rank bits of the Ace to the Eight.
+     */
+    private static final int EIGHT_OR_BETTER_RANKS = 0x107F;
+
+    /**
+     * The rank bits of 8-7-6-5-4, the worst 8-or-better low.
+     */
+    private static final int WORST_EIGHT_OR_BETTER = 0x7C;
+
+    private final Type type;
+    private final int classCount;
+    private final short[] distinctRanks;
+    private final short[] flushRanks;
+    private final short[][] rankCountRanks;
+
+    public LowballEvaluator(Type type) {
+        this.type = type;
+        this.distinctRanks = new short[1 << RANK_COUNT];
+        this.flushRanks = type == Type.DEUCE_TO_SEVEN ? new short[1 << RANK_COUNT] : null;
+        this.rankCountRanks = new short[type == Type.EIGHT_OR_BETTER ? 1 : MAX_CARDS - HAND_CARDS + 1][];
+
+        TreeSet<Integer> scores = new TreeSet<>();
+        HandRankTable.forEachRankCount(HAND_CARDS, counts -> scores.add(score(HandRankTable.withoutFlush(counts))));
+        if (flushRanks != null) {
+            for (int rankBits = 0; rankBits < flushRanks.length; rankBits++) {
+                if (Integer.bitCount(rankBits) == HAND_CARDS) {
+                    scores.add(score(rankBits));
+                }
+            }
+        }
+        int[] classScores = scores.stream().mapToInt(Integer::intValue).toArray();
+
+        short[] fiveCardRanks = new short[HandRankTable.rankCountCombinations(HAND_CARDS)];
+        HandRankTable.forEachRankCount(HAND_CARDS, counts -> {
+            long cardMask = HandRankTable.withoutFlush(counts);
+            int rank = toRank(classScores, score(cardMask));
+            int ranks = ranks(cardMask);
+            fiveCardRanks[HandRankTable.hash(cardMask, ranks, HAND_CARDS)] = (short) rank;
+            if (Integer.bitCount(ranks) == HAND_CARDS) {
+                distinctRanks[ranks] = (short) rank;
+            }
+        });
+        rankCountRanks[0] = fiveCardRanks;
+        for (int rankBits = 0; rankBits < distinctRanks.length; rankBits++) {
+            int cardCount = Integer.bitCount(rankBits);
+            if (flushRanks != null && cardCount == HAND_CARDS) {
+                flushRanks[rankBits] = (short) toRank(classScores, score(rankBits));
+            } else if (type != Type.DEUCE_TO_SEVEN && cardCount > HAND_CARDS && cardCount <= MAX_CARDS) {
+                distinctRanks[rankBits] = distinctRanks[lowestAceToFive(rankBits)];
+            }
+        }
+
+        // without a flush, the best low of six or seven cards only depends on their rank counts
+        for (int i = 1; i < rankCountRanks.length; i++) {
+            int cardCount = HAND_CARDS + i;
+            short[] ranks = new short[HandRankTable.rankCountCombinations(cardCount)];
+            HandRankTable.forEachRankCount(cardCount, counts -> {
+                long cardMask = HandRankTable.withoutFlush(counts);
+                ranks[HandRankTable.hash(cardMask, ranks(cardMask), cardCount)] = (short) bestOfFiveCards(cardMask);
+            });
+            rankCountRanks[i] = ranks;
+        }
+        this.classCount = type == Type.EIGHT_OR_BETTER ? distinctRanks[WORST_EIGHT_OR_BETTER] : classScores.length;
+    }
+
+    /**
+     * @return The {@link Type} of low the evaluator scores
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return The number of equivalence classes, i.e. the worst low
+     */
+    public int getClassCount() {
+        return classCount;
+    }
+
+    /**
+     * @param cardMask a card mask of up to seven cards
+     * @return The equivalence class of the best low of five of the cards, from 1 to {@link #getClassCount()}, or
+     * {@link #NO_LOW} if there are fewer than five cards or they do not qualify
+     */
+    public int evaluate(long cardMask) {
+        int cardCount = Long.bitCount(cardMask);
+        if (cardCount < HAND_CARDS || cardCount > MAX_CARDS) {
+            return NO_LOW;
+        }
+
+        int ranks = ranks(cardMask);
+        if (type == Type.EIGHT_OR_BETTER) {
+            int lowRanks = ranks & EIGHT_OR_BETTER_RANKS;
+            return Integer.bitCount(lowRanks) >= HAND_CARDS ? distinctRanks[lowRanks] : NO_LOW;
+        }
+        if (cardCount == HAND_CARDS) {
+            return lookup(cardMask, ranks);
+        }
+        if (type == Type.ACE_TO_FIVE && Integer.bitCount(ranks) >= HAND_CARDS) {
+            return distinctRanks[ranks];
+        }
+        if (flushRanks != null && hasFlush(cardMask)) {
+            return bestOfFiveCards(cardMask);
+        }
+        return rankCountRanks[cardCount - HAND_CARDS][HandRankTable.hash(cardMask, ranks, cardCount)];
+    }
+
+    /**
+     * @param cardMask a card mask of up to seven cards
+     * @return The card mask of the five cards making the best low, or 0 if there is no qualifying low
+     */
+    public long bestHand(long cardMask) {
+        int best = evaluate(cardMask);
+        if (best == NO_LOW) {
+            return 0L;
+        }
+        int cardCount = Long.bitCount(cardMask);
+        if (cardCount == HAND_CARDS) {
+            return cardMask;
+        }
+
+        for (long first = cardMask; first != 0; first &= first - 1) {
+            long firstCard = first & -first;
+            if (cardCount == HAND_CARDS + 1) {
+                if (evaluate(cardMask & ~firstCard) == best) {
+                    return cardMask & ~firstCard;
+                }
+                continue;
+            }
+            for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                long hand = cardMask & ~firstCard & ~(second & -second);
+                if (evaluate(hand) == best) {
+                    return hand;
+                }
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * @return The equivalence class of five cards, for the types without a qualifier
+     */
+    private int lookup(long cardMask, int ranks) {
+        if (Integer.bitCount(ranks) < HAND_CARDS) {
+            return rankCountRanks[0][HandRankTable.hash(cardMask, ranks, HAND_CARDS)];
+        }
+        if (flushRanks != null && isFlush(cardMask, ranks)) {
+            return flushRanks[ranks];
+        }
+        return distinctRanks[ranks];
+    }
+
+    /**
+     * @return The best equivalence class of the five card hands within six or seven cards
+     */
+    private int bestOfFiveCards(long cardMask) {
+        int cardCount = Long.bitCount(cardMask);
+        int best = NO_LOW;
+        for (long first = cardMask; first != 0; first &= first - 1) {
+            long firstCard = first & -first;
+            if (cardCount == HAND_CARDS + 1) {
+                long hand = cardMask & ~firstCard;
+                best = Math.min(best, lookup(hand, ranks(hand)));
+                continue;
+            }
+            for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                long hand = cardMask & ~firstCard & ~(second & -second);
+                best = Math.min(best, lookup(hand, ranks(hand)));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Orders five cards from the best low to the worst: the {@link Type#DEUCE_TO_SEVEN} score is the
+     * {@link HandEvaluator} score with the wheel as Ace high, and the ace-to-five score compares the number of
+     * paired cards, then the ranks of the most paired cards and then the kickers, from the highest.
+     */
+    private int score(long cardMask) {
+        if (type == Type.DEUCE_TO_SEVEN) {
+            int ranks = ranks(cardMask);
+            if (ranks != WHEEL) {
+                return HandEvaluator.evaluate(cardMask);
+            }
+            HandType handType = isFlush(cardMask, ranks) ? HandType.FLUSH : HandType.HIGH_CARD;
+            return handType.ordinal() << 20 | ACE << 16 | CardRank.FIVE.ordinal() << 12
+                    | CardRank.FOUR.ordinal() << 8 | CardRank.THREE.ordinal() << 4 | CardRank.TWO.ordinal();
+        }
+
+        int[] counts = new int[RANK_COUNT];
+        int mostCards = 0;
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            for (int suitRanks = HandEvaluator.suitRanks(cardMask, suit); suitRanks != 0;
+                 suitRanks &= suitRanks - 1) {
+                int rank = aceToFive(Integer.numberOfTrailingZeros(suitRanks));
+                mostCards = Math.max(mostCards, ++counts[rank]);
+            }
+        }
+
+        // no pair, one pair, two pair, three of a kind, full house and four of a kind, from 0 to 5
+        int paired = HAND_CARDS - Integer.bitCount(ranks(cardMask)) + Math.max(0, mostCards - 2);
+        int score = paired << 20;
+        int shift = 16;
+        for (int count = mostCards; count > 0; count--) {
+            for (int rank = RANK_COUNT - 1; rank >= 0; rank--) {
+                if (counts[rank] == count) {
+                    score |= rank << shift;
+                    shift -= 4;
+                }
+            }
+        }
+        return score;
+    }
+
+    /**
+     * @return The rank bits of the five lowest ranks, counting the Ace as the lowest
+     */
+    private static int lowestAceToFive(int rankBits) {
+        int lowest = rankBits & (1 << ACE);
+        for (int bits = rankBits & ~(1 << ACE); Integer.bitCount(lowest) < HAND_CARDS; bits &= bits - 1) {
+            lowest |= bits & -bits;
+        }
+        return lowest;
+    }
+
+    /**
+     * @return The rank ordinal in ace-to-five order, from 0 for the Ace to 12 for the King
+     */
+    private static int aceToFive(int rank) {
+        return rank == ACE ? 0 : rank + 1;
+    }
+
+    private static boolean isFlush(long cardMask, int ranks) {
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            if (HandEvaluator.suitRanks(cardMask, suit) == ranks) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasFlush(long cardMask) {
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            if (Integer.bitCount(HandEvaluator.suitRanks(cardMask, suit)) >= HAND_CARDS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int ranks(long cardMask) {
+        return HandEvaluator.suitRanks(cardMask, 0) | HandEvaluator.suitRanks(cardMask, 1)
+                | HandEvaluator.suitRanks(cardMask, 2) | HandEvaluator.suitRanks(cardMask, 3);
+    }
+
+    private static int toRank(int[] classScores, int score) {
+        int low = 0;
+        int high = classScores.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (classScores[middle] < score) {
+                low = middle + 1;
+            } else if (classScores[middle] > score) {
+                high = middle - 1;
+            } else {
+                return middle + 1;
+            }
+        }
+        throw new IllegalStateException("Unknown low score " + score);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.synacy.poker.model.hand;
+
+/**
+ * Evicts the least recently used entry. The slots form a doubly linked list in two <code>int</code> arrays, most
+ * recently used first.
+ */
+public class LruEvictionPolicy implements EvictionPolicy {
+
+    private static final int NONE = -1;
+
+    private final int[] previous;
+    private final int[] next;
+    private int head = NONE;
+    private int tail = NONE;
+
+    public LruEvictionPolicy(int capacity) {
+        this.previous = new int[capacity];
+        this.next = new int[capacity];
+    }
+
+    @Override
+    public void inserted(int slot) {
+        linkFirst(slot);
+    }
+
+    @Override
+    public void accessed(int slot) {
+        if (slot != head) {
+            unlink(slot);
+            linkFirst(slot);
+        }
+    }
+
+    @Override
+    public int selectVictim() {
+        int victim = tail;
+        unlink(victim);
+        return victim;
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return 8L * previous.length;
+    }
+
+    private void linkFirst(int slot) {
+        previous[slot] = NONE;
+        next[slot] = head;
+        if (head != NONE) {
+            previous[head] = slot;
+        } else {
+            tail = slot;
+        }
+        head = slot;
+    }
+
+    private void unlink(int slot) {
+        if (previous[slot] != NONE) {
+            next[previous[slot]] = next[slot];
+        } else {
+            head = next[slot];
+        }
+        if (next[slot] != NONE) {
+            previous[next[slot]] = previous[slot];
+        } else {
+            tail = previous[slot];
+        }
+    }
+
+}
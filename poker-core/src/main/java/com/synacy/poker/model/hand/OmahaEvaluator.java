@@ -0,0 +1,338 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.CardSet;
+
+import java.util.Arrays;
+
+/**
+ * Scores Omaha hands, whose best five cards are exactly two of the player's hole cards and three of the community
+ * cards, for the high hand and the 8-or-better low of Omaha Hi/Lo.
+ *
+ * <p>Scoring every one of the 60 ways of choosing two of four hole cards and three of five community cards on its
+ * own would cost 60 hand evaluations per player. Instead the community cards are prepared once per board into a
+ * {@link Board}, which keeps the rank multiset, suit and low ranks of each of its triples. A player's hole pairs
+ * are then combined with those triples in a loop that does not allocate: a five card hand that is not a flush is
+ * one lookup in a table indexed by the rank multisets of the triple and the pair, and a flush, which needs a
+ * suited triple and a pair of the same suit, is one lookup by its rank bits.</p>
+ *
+ * <p>High hands are scored as {@link HandRankTable} equivalence classes. A low is the bits of its five ranks, the
+ * Ace as bit 0 up to the Eight as bit 7, so of two lows the lower value is the better one.</p>
+ */
+public final class OmahaEvaluator {
+
+    /**
+     * What {@link #evaluateLow(Board, long)} returns when the player has no qualifying low, the same as the
+     * {@link LowballEvaluator}.
+     */
+    public static final int NO_LOW = LowballEvaluator.NO_LOW;
+
+    private static final int RANK_COUNT = 13;
+    private static final int SUIT_COUNT = 4;
+    private static final int BOARD_TRIPLES = 10;
+    private static final int TRIPLE_CLASSES = 455;
+    private static final int PAIR_CLASSES = 91;
+    private static final int NOT_SUITED = -1;
+    private static final int NOT_PAIR_SUITED = -2;
+
+    /**
+     * <code>TRIPLE_INDEXES[(a * 13 + b) * 13 + c]</code> is the index of the multiset of the three rank ordinals.
+     */
+    private static final short[] TRIPLE_INDEXES = new short[RANK_COUNT * RANK_COUNT * RANK_COUNT];
+
+    /**
+     * <code>PAIR_INDEXES[a * 13 + b]</code> is the index of the multiset of the two rank ordinals.
+     */
+    private static final byte[] PAIR_INDEXES = new byte[RANK_COUNT * RANK_COUNT];
+
+    /**
+     * The low bit of each rank ordinal, 0 for the Nine to the King.
+     */
+    private static final int[] LOW_BITS = {2, 4, 8, 16, 32, 64, 128, 0, 0, 0, 0, 0, 1};
+
+    private static final int[][] TRIPLE_RANKS = new int[TRIPLE_CLASSES][];
+    private static final int[][] PAIR_RANKS = new int[PAIR_CLASSES][];
+
+    static {
+        int triple = 0;
+        int pair = 0;
+        for (int a = 0; a < RANK_COUNT; a++) {
+            for (int b = a; b < RANK_COUNT; b++) {
+                PAIR_RANKS[pair] = new int[]{a, b};
+                PAIR_INDEXES[a * RANK_COUNT + b] = (byte) pair;
+                PAIR_INDEXES[b * RANK_COUNT + a] = (byte) pair;
+                pair++;
+                for (int c = b; c < RANK_COUNT; c++) {
+                    TRIPLE_RANKS[triple] = new int[]{a, b, c};
+                    for (int[] order : new int[][]{{a, b, c}, {a, c, b}, {b, a, c}, {b, c, a}, {c, a, b}, {c, b, a}}) {
+                        TRIPLE_INDEXES[(order[0] * RANK_COUNT + order[1]) * RANK_COUNT + order[2]] = (short) triple;
+                    }
+                    triple++;
+                }
+            }
+        }
+    }
+
+    private final HandRankTable handRankTable;
+
+    /**
+     * <code>ranks[triple * 91 + pair]</code> is the equivalence class of the five ranks, without a flush.
+     */
+    private final short[] ranks;
+
+    /**
+     * The equivalence class of each flush, by the rank bits of its five cards.
+     */
+    private final short[] flushRanks;
+
+    public OmahaEvaluator(HandRankTable handRankTable) {
+        this.handRankTable = handRankTable;
+        this.ranks = new short[TRIPLE_CLASSES * PAIR_CLASSES];
+        this.flushRanks = new short[1 << RANK_COUNT];
+
+        int[] counts = new int[RANK_COUNT];
+        for (int triple = 0; triple < TRIPLE_CLASSES; triple++) {
+            for (int pair = 0; pair < PAIR_CLASSES; pair++) {
+                Arrays.fill(counts, 0);
+                for (int rank : TRIPLE_RANKS[triple]) {
+                    counts[rank]++;
+                }
+                for (int rank : PAIR_RANKS[pair]) {
+                    counts[rank]++;
+                }
+                long cardMask = withoutFlush(counts);
+                if (cardMask != 0L) {
+                    ranks[triple * PAIR_CLASSES + pair] = (short) handRankTable.rank(cardMask);
+                }
+            }
+        }
+        for (int rankBits = 0; rankBits < flushRanks.length; rankBits++) {
+            if (Integer.bitCount(rankBits) == 5) {
+                flushRanks[rankBits] = (short) handRankTable.rank(rankBits);
+            }
+        }
+    }
+
+    /**
+     * Prepares the triples of the community cards, once for all the players.
+     *
+     * @param communityCards
+     * @return The prepared board, without triples before the flop
+     */
+    public Board prepareBoard(CardSet communityCards) {
+        return new Board(communityCards.getMask());
+    }
+
+    /**
+     * @param board
+     * @param holeCards the card mask of the player's hole cards
+     * @return The {@link HandRankTable} equivalence class of the best high hand, or 0 before the flop
+     */
+    public int evaluate(Board board, long holeCards) {
+        return bestHigh(board, holeCards) >>> 16;
+    }
+
+    /**
+     * @param board
+     * @param holeCards the card mask of the player's hole cards
+     * @return The card mask of the five cards of the best high hand, or of the best two hole cards before the flop
+     */
+    public long bestHand(Board board, long holeCards) {
+        if (board.triples == 0) {
+            return bestHolePair(board, holeCards);
+        }
+        int best = bestHigh(board, holeCards);
+        return board.tripleMasks[best & 15] | 1L << (best >>> 4 & 63) | 1L << (best >>> 10 & 63);
+    }
+
+    /**
+     * @param board
+     * @param holeCards the card mask of the player's hole cards
+     * @return The rank bits of the best 8-or-better low, or {@link #NO_LOW}
+     */
+    public int evaluateLow(Board board, long holeCards) {
+        int best = bestLow(board, holeCards);
+        return best == NO_LOW ? NO_LOW : best >>> 16;
+    }
+
+    /**
+     * @param board
+     * @param holeCards the card mask of the player's hole cards
+     * @return The card mask of the five cards of the best 8-or-better low, or 0 if there is none
+     */
+    public long bestLowHand(Board board, long holeCards) {
+        int best = bestLow(board, holeCards);
+        if (best == NO_LOW) {
+            return 0L;
+        }
+        return board.tripleMasks[best & 15] | 1L << (best >>> 4 & 63) | 1L << (best >>> 10 & 63);
+    }
+
+    /**
+     * @param rank an equivalence class returned by {@link #evaluate(Board, long)}
+     * @return The {@link HandEvaluator} strength score of the equivalence class
+     */
+    public int toScore(int rank) {
+        return handRankTable.toScore(rank);
+    }
+
+    /**
+     * @return The best equivalence class in bits 16 and up, then the card bits of the two hole cards and the index
+     * of the triple, so that the best combination can be rebuilt
+     */
+    private int bestHigh(Board board, long holeCards) {
+        int best = 0;
+        for (long first = holeCards; first != 0; first &= first - 1) {
+            int firstBit = Long.numberOfTrailingZeros(first);
+            for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                int secondBit = Long.numberOfTrailingZeros(second);
+                int pair = PAIR_INDEXES[(firstBit & 15) * RANK_COUNT + (secondBit & 15)];
+                int pairSuit = firstBit >>> 4 == secondBit >>> 4 ? firstBit >>> 4 : NOT_PAIR_SUITED;
+                int pairRankBits = 1 << (firstBit & 15) | 1 << (secondBit & 15);
+                int combination = secondBit << 10 | firstBit << 4;
+
+                for (int triple = 0; triple < board.triples; triple++) {
+                    int rank = board.tripleSuits[triple] == pairSuit
+                            ? flushRanks[board.tripleRankBits[triple] | pairRankBits]
+                            : ranks[board.tripleOffsets[triple] + pair];
+                    int candidate = rank << 16 | combination | triple;
+                    if (candidate > best) {
+                        best = candidate;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return The best low in bits 16 and up, packed as in {@link #bestHigh(Board, long)}, or {@link #NO_LOW}
+     */
+    private int bestLow(Board board, long holeCards) {
+        int best = NO_LOW;
+        for (long first = holeCards; first != 0; first &= first - 1) {
+            int firstBit = Long.numberOfTrailingZeros(first);
+            int firstLow = LOW_BITS[firstBit & 15];
+            for (long second = first & (first - 1); second != 0 && firstLow != 0; second &= second - 1) {
+                int secondBit = Long.numberOfTrailingZeros(second);
+                int pairLow = firstLow | LOW_BITS[secondBit & 15];
+                if (Integer.bitCount(pairLow) != 2) {
+                    continue;
+                }
+                int combination = secondBit << 10 | firstBit << 4;
+
+                for (int triple = 0; triple < board.triples; triple++) {
+                    int low = board.tripleLows[triple] | pairLow;
+                    if (Integer.bitCount(low) == 5) {
+                        int candidate = low << 16 | combination | triple;
+                        if (candidate < best) {
+                            best = candidate;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long bestHolePair(Board board, long holeCards) {
+        long bestPair = 0L;
+        int bestScore = -1;
+        for (long first = holeCards; first != 0; first &= first - 1) {
+            for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                long pair = (first & -first) | (second & -second);
+                int score = HandEvaluator.evaluate(pair | board.cardMask);
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestPair = pair;
+                }
+            }
+        }
+        return bestPair;
+    }
+
+    /**
+     * @return A card mask with the rank counts, dealt round robin over the suits so that it can not be a flush, or 0
+     * if a rank has more than four cards
+     */
+    private static long withoutFlush(int[] counts) {
+        long cardMask = 0L;
+        int card = 0;
+        for (int rank = 0; rank < RANK_COUNT; rank++) {
+            if (counts[rank] > SUIT_COUNT) {
+                return 0L;
+            }
+            for (int i = 0; i < counts[rank]; i++) {
+                cardMask |= 1L << (card++ % SUIT_COUNT * HandEvaluator.SUIT_SHIFT + rank);
+            }
+        }
+        return cardMask;
+    }
+
+    /**
+     * The community cards of one board, split into every triple of three cards. A board can be {@link #reset} to
+     * other community cards, so a loop over many boards prepares each of them without allocating.
+     */
+    public static final class Board {
+
+        private long cardMask;
+        private int triples;
+        private final long[] tripleMasks = new long[BOARD_TRIPLES];
+        private final int[] tripleOffsets = new int[BOARD_TRIPLES];
+        private final int[] tripleSuits = new int[BOARD_TRIPLES];
+        private final int[] tripleRankBits = new int[BOARD_TRIPLES];
+        private final int[] tripleLows = new int[BOARD_TRIPLES];
+
+        /**
+         * Creates a board without community cards, to be {@link #reset} to the cards of each board.
+         */
+        public Board() {
+        }
+
+        Board(long cardMask) {
+            reset(cardMask);
+        }
+
+        /**
+         * Prepares the triples of other community cards in place of the current ones.
+         *
+         * @param cardMask the card mask of the community cards
+         * @return This board
+         */
+        public Board reset(long cardMask) {
+            if (Long.bitCount(cardMask) > 5) {
+                throw new IllegalArgumentException("There are at most five community cards.");
+            }
+            this.cardMask = cardMask;
+
+            int triple = 0;
+            for (long first = cardMask; first != 0; first &= first - 1) {
+                int a = Long.numberOfTrailingZeros(first);
+                for (long second = first & (first - 1); second != 0; second &= second - 1) {
+                    int b = Long.numberOfTrailingZeros(second);
+                    for (long third = second & (second - 1); third != 0; third &= third - 1) {
+                        int c = Long.numberOfTrailingZeros(third);
+                        tripleMasks[triple] = 1L << a | 1L << b | 1L << c;
+                        tripleOffsets[triple] = TRIPLE_INDEXES[((a & 15) * RANK_COUNT + (b & 15)) * RANK_COUNT + (c & 15)]
+                                * PAIR_CLASSES;
+                        tripleSuits[triple] = a >>> 4 == b >>> 4 && b >>> 4 == c >>> 4 ? a >>> 4 : NOT_SUITED;
+                        tripleRankBits[triple] = 1 << (a & 15) | 1 << (b & 15) | 1 << (c & 15);
+                        int low = LOW_BITS[a & 15] | LOW_BITS[b & 15] | LOW_BITS[c & 15];
+                        tripleLows[triple] = Integer.bitCount(low) == 3 ? low : 0;
+                        triple++;
+                    }
+                }
+            }
+            this.triples = triple;
+            return this;
+        }
+
+        /**
+         * @return The card mask of the community cards
+         */
+        public long getCardMask() {
+            return cardMask;
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.metrics.PokerMetrics;
+import com.synacy.poker.model.deck.DeckProfile;
+
+/**
+ * A {@link HandIdentifier} that scores card masks with a {@link HandRankTable}, so the hands are identified by the
+ * rules of the table's {@link DeckProfile}.
+ */
+public class RankTableHandIdentifier extends HandIdentifier {
+
+    private final HandRankTable handRankTable;
+
+    public RankTableHandIdentifier(HandRankTable handRankTable) {
+        this(handRankTable, PokerMetrics.DISABLED);
+    }
+
+    public RankTableHandIdentifier(HandRankTable handRankTable, PokerMetrics metrics) {
+        super(metrics);
+        this.handRankTable = handRankTable;
+    }
+
+    /**
+     * @return The table the hands are scored with
+     */
+    public HandRankTable getHandRankTable() {
+        return handRankTable;
+    }
+
+    @Override
+    protected int evaluate(long cardMask) {
+        return handRankTable.evaluate(cardMask);
+    }
+
+    @Override
+    protected HandValue value(long cardMask) {
+        return handRankTable.value(cardMask);
+    }
+
+}
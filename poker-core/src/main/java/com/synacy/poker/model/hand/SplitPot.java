@@ -0,0 +1,79 @@
+package com.synacy.poker.model.hand;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The winners of a pot split between the best high hand and the best low hand. Winners are bits of the players'
+ * indexes, so a player who wins both halves scoops the pot.
+ */
+public class SplitPot {
+
+    private final List<Hand> playerHands;
+    private final List<Hand> lowHands;
+    private final long highWinners;
+    private final long lowWinners;
+
+    /**
+     * @param playerHands the high hand of each player, in the order of the players
+     * @param highWinners
+     * @param lowHands    the five cards of each winning low, in the order of the players
+     * @param lowWinners
+     */
+    public SplitPot(List<Hand> playerHands, long highWinners, List<Hand> lowHands, long lowWinners) {
+        this.playerHands = Collections.unmodifiableList(playerHands);
+        this.highWinners = highWinners;
+        this.lowHands = Collections.unmodifiableList(lowHands);
+        this.lowWinners = lowWinners;
+    }
+
+    /**
+     * @return The high {@link Hand} of each player, in the order of the players
+     */
+    public List<Hand> getPlayerHands() {
+        return playerHands;
+    }
+
+    /**
+     * @return The winning high {@link Hand}s. Tied players all have their hand returned.
+     */
+    public List<Hand> getHighHands() {
+        List<Hand> highHands = new ArrayList<>(Long.bitCount(highWinners));
+        for (int i = 0; i < playerHands.size(); i++) {
+            if ((highWinners & 1L << i) != 0) {
+                highHands.add(playerHands.get(i));
+            }
+        }
+        return highHands;
+    }
+
+    /**
+     * @return The five cards of each winning low as a {@link Hand}, or nothing if no player has a low
+     */
+    public List<Hand> getLowHands() {
+        return lowHands;
+    }
+
+    /**
+     * @return The bits of the indexes of the players winning the high half
+     */
+    public long getHighWinners() {
+        return highWinners;
+    }
+
+    /**
+     * @return The bits of the indexes of the players winning the low half, 0 if no player has a low
+     */
+    public long getLowWinners() {
+        return lowWinners;
+    }
+
+    /**
+     * @return true if the pot is split, false if the high hand takes it all for lack of a low
+     */
+    public boolean hasLow() {
+        return lowWinners != 0L;
+    }
+
+}
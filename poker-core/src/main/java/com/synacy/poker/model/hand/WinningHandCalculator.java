@@ -0,0 +1,320 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.metrics.PokerMetrics;
+import com.synacy.poker.metrics.PokerMetrics.Operation;
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A service class used to calculate the winning hand.
+ *
+ * <p>Hands are compared by their {@link HandRankTable} rank, so the winners follow the rules of the table's
+ * {@link DeckProfile}.</p>
+ *
+ * <p>When the {@link HandIdentifier} is a {@link CachingHandIdentifier} and the hands follow the standard deck,
+ * the players' cards are scored through its {@link EvaluationCache} instead, which orders them the same way.</p>
+ *
+ * <p>Omaha hands are scored with an {@link OmahaEvaluator} built on the same {@link HandRankTable}, and low hands
+ * with a {@link LowballEvaluator} of each {@link LowballEvaluator.Type}. A Hi/Lo showdown scores each player's
+ * high and low hands together in {@link #calculateSplitPot(List, CardSet, GameType)}.</p>
+ */
+public class WinningHandCalculator {
+
+    private static final int MIN_CARDS = 5;
+    private static final int MAX_CARDS = 7;
+
+    private final HandIdentifier handIdentifier;
+    private final HandRankTable handRankTable;
+    private final OmahaEvaluator omahaEvaluator;
+    private final LowballEvaluator[] lowballEvaluators;
+    private final EvaluationCache evaluationCache;
+    private final PokerMetrics metrics;
+
+    public WinningHandCalculator(HandIdentifier handIdentifier, HandRankTable handRankTable) {
+        this(handIdentifier, handRankTable, PokerMetrics.DISABLED);
+    }
+
+    public WinningHandCalculator(HandIdentifier handIdentifier, HandRankTable handRankTable, PokerMetrics metrics) {
+        this.handIdentifier = handIdentifier;
+        this.handRankTable = handRankTable;
+        this.omahaEvaluator = new OmahaEvaluator(handRankTable);
+        this.lowballEvaluators = new LowballEvaluator[LowballEvaluator.Type.values().length];
+        for (LowballEvaluator.Type type : LowballEvaluator.Type.values()) {
+            lowballEvaluators[type.ordinal()] = new LowballEvaluator(type);
+        }
+        this.evaluationCache = handIdentifier instanceof CachingHandIdentifier
+                && handRankTable.getDeckProfile() == DeckProfile.STANDARD
+                ? ((CachingHandIdentifier) handIdentifier).getCache() : null;
+        this.metrics = metrics;
+    }
+
+    /**
+     * calculates the winner player from their cards and the community cards on the table.
+     * Every player's cards are ranked once, the winners are picked in a single pass and only their hands are built.
+     *
+     * @param communityCards and players
+     * @return The winning {@link Hand} from a list of player hands. Tied players all have their hand returned.
+     */
+    public List<Hand> calculateWinningHand(List<Player> players, List<Card> communityCards) {
+        return calculateWinningHand(players, CardSet.of(communityCards));
+    }
+
+    /**
+     * @param players
+     * @param communityCards
+     * @return The winning {@link Hand} from a list of player hands. Tied players all have their hand returned.
+     * @see #calculateWinningHand(List, List)
+     */
+    public List<Hand> calculateWinningHand(List<Player> players, CardSet communityCards) {
+        long start = metrics.start(Operation.CALCULATE_WINNING_HAND);
+        long communityMask = communityCards.getMask();
+        long[] winnerCardMasks = new long[players.size()];
+        int winnerCount = 0;
+        int winningStrength = Integer.MIN_VALUE;
+
+        for (Player player : players) {
+            long cardMask = player.getCardSet().getMask() | communityMask;
+            int strength = strength(cardMask);
+            if (strength > winningStrength) {
+                winningStrength = strength;
+                winnerCount = 0;
+            }
+            if (strength == winningStrength) {
+                winnerCardMasks[winnerCount++] = cardMask;
+            }
+        }
+
+        List<Hand> winningHands = new ArrayList<>(winnerCount);
+        for (int i = 0; i < winnerCount; i++) {
+            winningHands.add(handIdentifier.identifyHand(winnerCardMasks[i],
+                    valueOf(winningStrength, winnerCardMasks[i])));
+        }
+        metrics.stop(Operation.CALCULATE_WINNING_HAND, start);
+        return winningHands;
+    }
+
+    /**
+     * @param players
+     * @param communityCards
+     * @param gameType       how the players' hole cards make their hands
+     * @return The winning {@link Hand}s, the best five cards of each tied player
+     * @see #calculateWinningHand(List, List)
+     */
+    public List<Hand> calculateWinningHand(List<Player> players, CardSet communityCards, GameType gameType) {
+        if (!gameType.isOmaha()) {
+            return calculateWinningHand(players, communityCards);
+        }
+
+        long start = metrics.start(Operation.CALCULATE_WINNING_HAND);
+        OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(communityCards);
+        long[] winnerHoleCards = new long[players.size()];
+        int winnerCount = 0;
+        int winningRank = Integer.MIN_VALUE;
+
+        for (Player player : players) {
+            long holeCards = player.getCardSet().getMask();
+            int rank = omahaEvaluator.evaluate(board, holeCards);
+            if (rank > winningRank) {
+                winningRank = rank;
+                winnerCount = 0;
+            }
+            if (rank == winningRank) {
+                winnerHoleCards[winnerCount++] = holeCards;
+            }
+        }
+
+        List<Hand> winningHands = new ArrayList<>(winnerCount);
+        HandValue winningValue = handRankTable.valueOf(winningRank);
+        for (int i = 0; i < winnerCount; i++) {
+            winningHands.add(handIdentifier.identifyHand(omahaEvaluator.bestHand(board, winnerHoleCards[i]),
+                    winningValue));
+        }
+        metrics.stop(Operation.CALCULATE_WINNING_HAND, start);
+        return winningHands;
+    }
+
+    /**
+     * Calculates the winners of the low half of an Omaha Hi/Lo pot: five cards of different ranks, all Eight or
+     * lower with the Ace low, made of two hole cards and three community cards.
+     *
+     * @param players
+     * @param communityCards
+     * @return The five cards of each tied winning low as a {@link Hand}, or nothing if no player has a low
+     * @see #calculateSplitPot(List, CardSet, GameType)
+     */
+    public List<Hand> calculateWinningLowHand(List<Player> players, CardSet communityCards) {
+        long start = metrics.start(Operation.CALCULATE_WINNING_HAND);
+        OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(communityCards);
+        long[] winnerHoleCards = new long[players.size()];
+        int winnerCount = 0;
+        int winningLow = OmahaEvaluator.NO_LOW;
+
+        for (Player player : players) {
+            long holeCards = player.getCardSet().getMask();
+            int low = omahaEvaluator.evaluateLow(board, holeCards);
+            if (low < winningLow) {
+                winningLow = low;
+                winnerCount = 0;
+            }
+            if (low == winningLow && low != OmahaEvaluator.NO_LOW) {
+                winnerHoleCards[winnerCount++] = holeCards;
+            }
+        }
+
+        List<Hand> winningHands = new ArrayList<>(winnerCount);
+        for (int i = 0; i < winnerCount; i++) {
+            winningHands.add(handIdentifier.identifyHand(
+                    CardSet.fromMask(omahaEvaluator.bestLowHand(board, winnerHoleCards[i])), CardSet.EMPTY));
+        }
+        metrics.stop(Operation.CALCULATE_WINNING_HAND, start);
+        return winningHands;
+    }
+
+    /**
+     * Calculates the winners of both halves of a Hold'em split pot, where the players make their high and low
+     * hands from any of their cards and the community cards.
+     *
+     * @param players
+     * @param communityCards
+     * @param lowType        the low the other half of the pot goes to
+     * @return Each player's high hand, and the high and low winners
+     * @see #calculateSplitPot(List, CardSet, GameType)
+     */
+    public SplitPot calculateSplitPot(List<Player> players, CardSet communityCards, LowballEvaluator.Type lowType) {
+        return calculateSplitPot(players, communityCards, false, getLowballEvaluator(lowType));
+    }
+
+    /**
+     * Calculates the showdown of the game type in one pass over each player's cards, scoring the high hand and, in
+     * Hi/Lo games, the 8-or-better low together. Each player's high hand is built, and only the winners' lows.
+     * Without a Hi/Lo game or a qualifying low the high hand takes the whole pot.
+     *
+     * @param players
+     * @param communityCards
+     * @param gameType       how the players' hole cards make their hands, and whether the pot is split
+     * @return Each player's high hand, and the high and low winners
+     */
+    public SplitPot calculateSplitPot(List<Player> players, CardSet communityCards, GameType gameType) {
+        return calculateSplitPot(players, communityCards, gameType.isOmaha(),
+                gameType.isHiLo() ? getLowballEvaluator(LowballEvaluator.Type.EIGHT_OR_BETTER) : null);
+    }
+
+    /**
+     * @param lowballEvaluator the evaluator of the Hold'em lows, or null without a low half
+     */
+    private SplitPot calculateSplitPot(List<Player> players, CardSet communityCards, boolean omaha,
+                                       LowballEvaluator lowballEvaluator) {
+        long start = metrics.start(Operation.CALCULATE_WINNING_HAND);
+        boolean hiLo = lowballEvaluator != null;
+        OmahaEvaluator.Board board = omaha ? omahaEvaluator.prepareBoard(communityCards) : null;
+        long communityMask = communityCards.getMask();
+        long[] cardMasks = new long[players.size()];
+        int[] strengths = new int[players.size()];
+        int[] lows = new int[players.size()];
+        int winningStrength = Integer.MIN_VALUE;
+        int winningLow = LowballEvaluator.NO_LOW;
+
+        List<Hand> playerHands = new ArrayList<>(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            long holeCards = players.get(i).getCardSet().getMask();
+            HandValue value;
+            if (omaha) {
+                cardMasks[i] = holeCards;
+                long bestHand = omahaEvaluator.bestHand(board, holeCards);
+                if (communityMask == 0L) {
+                    strengths[i] = HandEvaluator.evaluate(bestHand);
+                    value = HandValue.of(strengths[i]);
+                } else {
+                    strengths[i] = omahaEvaluator.evaluate(board, holeCards);
+                    value = handRankTable.valueOf(strengths[i]);
+                }
+                lows[i] = hiLo ? omahaEvaluator.evaluateLow(board, holeCards) : LowballEvaluator.NO_LOW;
+                playerHands.add(handIdentifier.identifyHand(bestHand, value));
+            } else {
+                cardMasks[i] = holeCards | communityMask;
+                strengths[i] = strength(cardMasks[i]);
+                lows[i] = hiLo ? lowballEvaluator.evaluate(cardMasks[i]) : LowballEvaluator.NO_LOW;
+                playerHands.add(handIdentifier.identifyHand(cardMasks[i], valueOf(strengths[i], cardMasks[i])));
+            }
+            winningStrength = Math.max(winningStrength, strengths[i]);
+            winningLow = Math.min(winningLow, lows[i]);
+        }
+
+        List<Hand> lowHands = new ArrayList<>(1);
+        long highWinners = 0L;
+        long lowWinners = 0L;
+        for (int i = 0; i < players.size(); i++) {
+            if (strengths[i] == winningStrength) {
+                highWinners |= 1L << i;
+            }
+            if (lows[i] == winningLow && winningLow != LowballEvaluator.NO_LOW) {
+                lowWinners |= 1L << i;
+                long lowHand = omaha ? omahaEvaluator.bestLowHand(board, cardMasks[i])
+                        : lowballEvaluator.bestHand(cardMasks[i]);
+                lowHands.add(handIdentifier.identifyHand(CardSet.fromMask(lowHand), CardSet.EMPTY));
+            }
+        }
+        metrics.stop(Operation.CALCULATE_WINNING_HAND, start);
+        return new SplitPot(playerHands, highWinners, lowHands, lowWinners);
+    }
+
+    /**
+     * @param type
+     * @return The evaluator of the given type of low hands
+     */
+    public LowballEvaluator getLowballEvaluator(LowballEvaluator.Type type) {
+        return lowballEvaluators[type.ordinal()];
+    }
+
+    /**
+     * @return The table the hands are ranked with, for the rules of its {@link DeckProfile}
+     */
+    public HandRankTable getHandRankTable() {
+        return handRankTable;
+    }
+
+    /**
+     * @return The identifier the winning hands are built with
+     */
+    public HandIdentifier getHandIdentifier() {
+        return handIdentifier;
+    }
+
+    /**
+     * @return The evaluator of Omaha hands, sharing this calculator's {@link HandRankTable}
+     */
+    public OmahaEvaluator getOmahaEvaluator() {
+        return omahaEvaluator;
+    }
+
+    /**
+     * Ranks five to seven cards by the rules of the table's {@link DeckProfile}, and scores other card counts with
+     * the {@link HandEvaluator}, or scores every card count through the evaluation cache. The players of a showdown
+     * hold as many cards as each other, so either way the higher value is the better hand.
+     */
+    private int strength(long cardMask) {
+        if (evaluationCache != null) {
+            return evaluationCache.evaluate(cardMask);
+        }
+        int cardCount = Long.bitCount(cardMask);
+        if (cardCount < MIN_CARDS || cardCount > MAX_CARDS) {
+            return HandEvaluator.evaluate(cardMask);
+        }
+        return handRankTable.rank(cardMask);
+    }
+
+    private HandValue valueOf(int strength, long cardMask) {
+        int cardCount = Long.bitCount(cardMask);
+        if (evaluationCache != null || cardCount < MIN_CARDS || cardCount > MAX_CARDS) {
+            return HandValue.of(strength);
+        }
+        return handRankTable.valueOf(strength);
+    }
+
+}
@@ -6,6 +6,7 @@ import com.synacy.poker.model.hand.HandType;
 import com.synacy.poker.utils.EnumUtil;
 import com.synacy.poker.utils.RankingUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,6 +26,13 @@ public class FourOfAKind extends Hand {
         return HandType.FOUR_OF_A_KIND;
     }
 
+    public List<Card> getCards() {
+        List<Card> cards = new ArrayList<>();
+        cards.addAll(fourOfAKindCards);
+        cards.addAll(otherCards);
+        return cards;
+    }
+
     /**
      * @return Returns the name of the hand plus kicker, e.g. Quads (4) - A High
      */
@@ -5,6 +5,7 @@ import com.synacy.poker.model.hand.Hand;
 import com.synacy.poker.model.hand.HandType;
 import com.synacy.poker.utils.EnumUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,6 +25,13 @@ public class FullHouse extends Hand {
         return HandType.FULL_HOUSE;
     }
 
+    public List<Card> getCards() {
+        List<Card> cards = new ArrayList<>();
+        cards.addAll(threeOfAKindCards);
+        cards.addAll(pairCards);
+        return cards;
+    }
+
     /**
      * @return The name of the hand with rank of the three pair and two pair, e.g.
      * 444AA - Full House (4,A)
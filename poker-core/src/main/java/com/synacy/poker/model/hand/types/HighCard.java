@@ -22,6 +22,10 @@ public class HighCard extends Hand {
         return HandType.HIGH_CARD;
     }
 
+    public List<Card> getCards() {
+        return cards;
+    }
+
     /**
      * @return The cards ordered by descending rank, e.g. A,K,Q,3,2
      */
@@ -6,6 +6,7 @@ import com.synacy.poker.model.hand.HandType;
 import com.synacy.poker.utils.EnumUtil;
 import com.synacy.poker.utils.RankingUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,6 +26,13 @@ public class OnePair extends Hand {
         return HandType.ONE_PAIR;
     }
 
+    public List<Card> getCards() {
+        List<Card> cards = new ArrayList<>();
+        cards.addAll(pairCards);
+        cards.addAll(otherCards);
+        return cards;
+    }
+
     /**
      * @return The name of the hand plus kickers ordered by descending rank, e.g. One Pair (2) - A,K,Q High,
      * or the name of the hand and rank if there are no community cards yet in play, e.g. One Pair (2)
@@ -6,6 +6,7 @@ import com.synacy.poker.model.hand.HandType;
 import com.synacy.poker.utils.EnumUtil;
 import com.synacy.poker.utils.RankingUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,6 +26,13 @@ public class ThreeOfAKind extends Hand {
         return HandType.THREE_OF_A_KIND;
     }
 
+    public List<Card> getCards() {
+        List<Card> cards = new ArrayList<>();
+        cards.addAll(threeOfAKindCards);
+        cards.addAll(otherCards);
+        return cards;
+    }
+
     /**
      * @return The name of the hand plus kickers in descending rank, e.g. Trips (4) - A,2 High
      */
@@ -6,6 +6,7 @@ import com.synacy.poker.model.hand.HandType;
 import com.synacy.poker.utils.EnumUtil;
 import com.synacy.poker.utils.RankingUtil;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,6 +28,14 @@ public class TwoPair extends Hand {
         return HandType.TWO_PAIR;
     }
 
+    public List<Card> getCards() {
+        List<Card> cards = new ArrayList<>();
+        cards.addAll(firstPairCards);
+        cards.addAll(secondPairCards);
+        cards.addAll(otherCards);
+        return cards;
+    }
+
     /**
      * @return The name of the hand with kicker ranked in descending order, e.g. Two Pair (4,3) - A High
      */
@@ -0,0 +1,531 @@
+package com.synacy.poker.services;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.equity.Equity;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.hand.HandEvaluator;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.LowballEvaluator;
+import com.synacy.poker.model.hand.OmahaEvaluator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Calculates each player's {@link Equity} over the rest of the board, dealt from the cards of the
+ * {@link DeckProfile} that are not in any player's hand or on the table.
+ *
+ * <p>When there are no more remaining boards than samples, every board is enumerated and the equity is exact.
+ * Otherwise the board is dealt many times at random. The random boards are spread over one worker per core, each
+ * with its own split of the random number generator. Hold'em boards are scored with the profile's
+ * {@link HandRankTable} without allocating, Omaha boards with its {@link OmahaEvaluator}, and in Hi/Lo games the
+ * pot is split with the best 8-or-better low whenever there is one.</p>
+ */
+public class EquityCalculator {
+
+    private static final int MAX_COMMUNITY_CARDS = 5;
+
+    /**
+     * Shares are counted in units of 1/5040 of a pot, so each half of a split pot divides evenly between up to ten
+     * players.
+     */
+    private static final int POT_UNITS = 5040;
+
+    private static final double[] ACKLAM_A = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+    private static final double[] ACKLAM_B = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+            6.680131188771972e+01, -1.328068155288572e+01};
+    private static final double[] ACKLAM_C = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+    private static final double[] ACKLAM_D = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+            3.754408661907416e+00};
+
+    private final HandRankTable handRankTable;
+    private final int samples;
+    private final double confidenceLevel;
+    private final ConcurrentMap<DeckProfile, HandRankTable> handRankTables = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DeckProfile, OmahaEvaluator> omahaEvaluators = new ConcurrentHashMap<>();
+    private final LowballEvaluator lowballEvaluator = new LowballEvaluator(LowballEvaluator.Type.EIGHT_OR_BETTER);
+
+    /**
+     * @param handRankTable   the table of its profile, whose mode the tables of the other profiles are built in
+     * @param samples         the number of boards dealt when no number is given
+     * @param confidenceLevel the confidence level of the margins of error when none is given
+     */
+    public EquityCalculator(HandRankTable handRankTable, int samples, double confidenceLevel) {
+        this.handRankTable = handRankTable;
+        this.samples = samples;
+        this.confidenceLevel = confidenceLevel;
+        handRankTables.put(handRankTable.getDeckProfile(), handRankTable);
+    }
+
+    /**
+     * Estimates the players' Texas Hold'em equity with the configured number of samples and confidence level.
+     *
+     * @param players
+     * @param communityCards
+     * @return The {@link Equity} of each player, in the order of the players
+     */
+    public List<Equity> calculateEquity(List<Player> players, List<Card> communityCards) {
+        return calculateEquity(GameType.TEXAS_HOLDEM, DeckProfile.STANDARD, players, communityCards);
+    }
+
+    /**
+     * Estimates the players' equity with the configured number of samples and confidence level.
+     *
+     * @param gameType
+     * @param deckProfile
+     * @param players
+     * @param communityCards
+     * @return The {@link Equity} of each player, in the order of the players
+     */
+    public List<Equity> calculateEquity(GameType gameType, DeckProfile deckProfile, List<Player> players,
+                                        List<Card> communityCards) {
+        return calculateEquity(gameType, deckProfile, players, communityCards, samples, confidenceLevel,
+                new SplittableRandom());
+    }
+
+    /**
+     * Calculates the players' Texas Hold'em equity like
+     * {@link #calculateEquity(GameType, DeckProfile, List, List, int, double, SplittableRandom)}.
+     */
+    public List<Equity> calculateEquity(List<Player> players, List<Card> communityCards, int samples,
+                                        double confidenceLevel, SplittableRandom random) {
+        return calculateEquity(GameType.TEXAS_HOLDEM, DeckProfile.STANDARD, players, communityCards, samples,
+                confidenceLevel, random);
+    }
+
+    /**
+     * Calculates the players' equity exactly if there are at most <code>samples</code> remaining boards, or
+     * estimates it by dealing the rest of the board <code>samples</code> times.
+     *
+     * @param gameType
+     * @param deckProfile     the deck the board is dealt from
+     * @param players
+     * @param communityCards
+     * @param samples         the number of boards to deal
+     * @param confidenceLevel the confidence level of the margin of error, e.g. 0.95
+     * @param random          the generator that is split between the workers
+     * @return The {@link Equity} of each player, in the order of the players
+     * @throws IllegalArgumentException if the players do not hold the game's number of hole cards, or a card is
+     *                                  not in the deck or dealt twice
+     */
+    public List<Equity> calculateEquity(GameType gameType, DeckProfile deckProfile, List<Player> players,
+                                        List<Card> communityCards, int samples, double confidenceLevel,
+                                        SplittableRandom random) {
+        validate(samples, confidenceLevel);
+
+        Table table = new Table(gameType, deckProfile, players, communityCards);
+        if (combinations(table.remainingCards.length, table.cardsToDeal) <= samples) {
+            return enumerate(table).toEquities(players, 0);
+        }
+
+        int workers = Math.min(samples, Runtime.getRuntime().availableProcessors());
+        SplittableRandom[] randoms = new SplittableRandom[workers];
+        for (int i = 0; i < workers; i++) {
+            randoms[i] = random.split();
+        }
+
+        Tally tally = IntStream.range(0, workers)
+                .parallel()
+                .mapToObj(worker -> sample(table, samples / workers + (worker < samples % workers ? 1 : 0),
+                        randoms[worker]))
+                .reduce(Tally::add)
+                .orElseThrow(IllegalStateException::new);
+
+        return tally.toEquities(players, zScore(confidenceLevel));
+    }
+
+    /**
+     * Calculates the players' equity like
+     * {@link #calculateEquity(GameType, DeckProfile, List, List, int, double, SplittableRandom)}, but on the
+     * calling thread and <code>batchSize</code> boards at a time. The equities over the boards dealt so far are
+     * passed to the listener after every batch, and the calculation stops early when the listener returns false.
+     * Enumerated equities are exact and passed to the listener once.
+     *
+     * @param gameType
+     * @param deckProfile     the deck the board is dealt from
+     * @param players
+     * @param communityCards
+     * @param samples         the number of boards to deal
+     * @param confidenceLevel the confidence level of the margin of error, e.g. 0.95
+     * @param random
+     * @param batchSize       the number of boards between calls to the listener
+     * @param listener        returns true to carry on
+     * @return The {@link Equity} of each player over all the boards that were dealt
+     */
+    public List<Equity> calculateEquity(GameType gameType, DeckProfile deckProfile, List<Player> players,
+                                        List<Card> communityCards, int samples, double confidenceLevel,
+                                        SplittableRandom random, int batchSize, Predicate<List<Equity>> listener) {
+        validate(samples, confidenceLevel);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+
+        Table table = new Table(gameType, deckProfile, players, communityCards);
+        if (combinations(table.remainingCards.length, table.cardsToDeal) <= samples) {
+            List<Equity> equities = enumerate(table).toEquities(players, 0);
+            listener.test(equities);
+            return equities;
+        }
+
+        double zScore = zScore(confidenceLevel);
+        Tally tally = new Tally(players.size());
+        List<Equity> equities;
+        int boards = 0;
+        do {
+            int batch = Math.min(batchSize, samples - boards);
+            tally.add(sample(table, batch, random));
+            boards += batch;
+            equities = tally.toEquities(players, zScore);
+        } while (listener.test(equities) && boards < samples);
+        return equities;
+    }
+
+    /**
+     * Calculates the players' exact Texas Hold'em equity by scoring every remaining board.
+     *
+     * @param players
+     * @param communityCards
+     * @return The {@link Equity} of each player, in the order of the players
+     */
+    public List<Equity> enumerateEquity(List<Player> players, List<Card> communityCards) {
+        return enumerateEquity(GameType.TEXAS_HOLDEM, DeckProfile.STANDARD, players, communityCards);
+    }
+
+    /**
+     * Calculates the players' exact equity by scoring every remaining board.
+     *
+     * @param gameType
+     * @param deckProfile
+     * @param players
+     * @param communityCards
+     * @return The {@link Equity} of each player, in the order of the players
+     */
+    public List<Equity> enumerateEquity(GameType gameType, DeckProfile deckProfile, List<Player> players,
+                                        List<Card> communityCards) {
+        return enumerate(new Table(gameType, deckProfile, players, communityCards)).toEquities(players, 0);
+    }
+
+    /**
+     * Checks the cards the way a calculation would, without calculating, e.g. before queueing one.
+     *
+     * @param gameType
+     * @param deckProfile
+     * @param players
+     * @param communityCards
+     * @throws IllegalArgumentException if the players do not hold the game's number of hole cards, or a card is not
+     *                                  in the deck or dealt twice
+     */
+    public static void validate(GameType gameType, DeckProfile deckProfile, List<Player> players,
+                                List<Card> communityCards) {
+        new Table(gameType, deckProfile, players, communityCards);
+    }
+
+    private static void validate(int samples, double confidenceLevel) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("At least one sample is required.");
+        }
+        if (confidenceLevel <= 0 || confidenceLevel >= 1) {
+            throw new IllegalArgumentException("The confidence level must be between 0 and 1.");
+        }
+    }
+
+    private Tally enumerate(Table table) {
+        Tally tally = new Tally(table.holeMasks.length);
+        enumerate(table, 0, table.cardsToDeal, table.communityMask, tally, scorer(table));
+        return tally;
+    }
+
+    /**
+     * Adds each remaining card from <code>from</code> onwards to the board in turn, so every board is visited
+     * once and in the same order.
+     */
+    private void enumerate(Table table, int from, int cardsToDeal, long boardMask, Tally tally, Scorer scorer) {
+        if (cardsToDeal == 0) {
+            scorer.score(boardMask);
+            tally.record(scorer.highs, scorer.lows);
+            return;
+        }
+        for (int i = from; i <= table.remainingCards.length - cardsToDeal; i++) {
+            enumerate(table, i + 1, cardsToDeal - 1, boardMask | 1L << table.remainingCards[i], tally, scorer);
+        }
+    }
+
+    private Tally sample(Table table, int boards, SplittableRandom random) {
+        Tally tally = new Tally(table.holeMasks.length);
+        int[] deck = table.remainingCards.clone();
+        Scorer scorer = scorer(table);
+
+        for (int board = 0; board < boards; board++) {
+            long boardMask = table.communityMask;
+            for (int i = 0; i < table.cardsToDeal; i++) {
+                int pick = i + random.nextInt(deck.length - i);
+                int card = deck[pick];
+                deck[pick] = deck[i];
+                deck[i] = card;
+                boardMask |= 1L << card;
+            }
+            scorer.score(boardMask);
+            tally.record(scorer.highs, scorer.lows);
+        }
+        return tally;
+    }
+
+    private Scorer scorer(Table table) {
+        HandRankTable profileTable = handRankTables.computeIfAbsent(table.deckProfile,
+                deckProfile -> new HandRankTable(deckProfile, handRankTable.getMode()));
+        OmahaEvaluator omahaEvaluator = table.gameType.isOmaha()
+                ? omahaEvaluators.computeIfAbsent(table.deckProfile, deckProfile -> new OmahaEvaluator(profileTable))
+                : null;
+        return new Scorer(table, profileTable, omahaEvaluator, table.gameType.isHiLo() ? lowballEvaluator : null);
+    }
+
+    /**
+     * @return The number of ways to choose <code>k</code> of <code>n</code> cards
+     */
+    static long combinations(int n, int k) {
+        long combinations = 1;
+        for (int i = 0; i < k; i++) {
+            combinations = combinations * (n - i) / (i + 1);
+        }
+        return combinations;
+    }
+
+    /**
+     * @return The two-sided z-score of the confidence level
+     */
+    static double zScore(double confidenceLevel) {
+        return inverseNormal(0.5 + confidenceLevel / 2);
+    }
+
+    /**
+     * Acklam's rational approximation of the inverse standard normal distribution, accurate to about 1e-9.
+     */
+    private static double inverseNormal(double p) {
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((ACKLAM_C[0] * q + ACKLAM_C[1]) * q + ACKLAM_C[2]) * q + ACKLAM_C[3]) * q + ACKLAM_C[4]) * q
+                    + ACKLAM_C[5])
+                    / ((((ACKLAM_D[0] * q + ACKLAM_D[1]) * q + ACKLAM_D[2]) * q + ACKLAM_D[3]) * q + 1);
+        } else if (p > 1 - 0.02425) {
+            return -inverseNormal(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((ACKLAM_A[0] * r + ACKLAM_A[1]) * r + ACKLAM_A[2]) * r + ACKLAM_A[3]) * r + ACKLAM_A[4]) * r
+                + ACKLAM_A[5]) * q
+                / (((((ACKLAM_B[0] * r + ACKLAM_B[1]) * r + ACKLAM_B[2]) * r + ACKLAM_B[3]) * r + ACKLAM_B[4]) * r + 1);
+    }
+
+    /**
+     * The known cards of a table, as card masks and the card mask bits that are still in the deck.
+     */
+    static class Table {
+
+        final GameType gameType;
+        final DeckProfile deckProfile;
+        final long[] holeMasks;
+        final long communityMask;
+        final int cardsToDeal;
+        final int[] remainingCards;
+
+        /**
+         * @throws IllegalArgumentException if the players do not hold the game's number of hole cards, or a card
+         *                                  is not in the deck or dealt twice
+         */
+        Table(GameType gameType, DeckProfile deckProfile, List<Player> players, List<Card> communityCards) {
+            if (players.size() < 2) {
+                throw new IllegalArgumentException("At least two players are required.");
+            }
+            if (communityCards.size() > MAX_COMMUNITY_CARDS) {
+                throw new IllegalArgumentException("There are more than " + MAX_COMMUNITY_CARDS + " community cards.");
+            }
+            this.gameType = gameType;
+            this.deckProfile = deckProfile;
+
+            long deckMask = 0L;
+            for (int suit = 0; suit < 4; suit++) {
+                for (int rank = deckProfile.getLowestRank().ordinal(); rank < 13; rank++) {
+                    deckMask |= 1L << (suit * HandEvaluator.SUIT_SHIFT + rank);
+                }
+            }
+
+            holeMasks = new long[players.size()];
+            communityMask = CardSet.of(communityCards).getMask();
+            long deadMask = communityMask;
+            for (int i = 0; i < players.size(); i++) {
+                holeMasks[i] = players.get(i).getCardSet().getMask();
+                if (Long.bitCount(holeMasks[i]) != gameType.getHoleCards()) {
+                    throw new IllegalArgumentException("Each player must hold " + gameType.getHoleCards()
+                            + " hole cards in " + gameType + ".");
+                }
+                if ((deadMask & holeMasks[i]) != 0) {
+                    throw new IllegalArgumentException("A card was dealt more than once.");
+                }
+                deadMask |= holeMasks[i];
+            }
+            if ((deadMask & ~deckMask) != 0) {
+                throw new IllegalArgumentException("A card is not in the " + deckProfile + " deck.");
+            }
+            cardsToDeal = MAX_COMMUNITY_CARDS - communityCards.size();
+
+            long remainingMask = deckMask & ~deadMask;
+            remainingCards = new int[Long.bitCount(remainingMask)];
+            for (int count = 0; remainingMask != 0; remainingMask &= remainingMask - 1) {
+                remainingCards[count++] = Long.numberOfTrailingZeros(remainingMask);
+            }
+        }
+
+    }
+
+    /**
+     * Scores every player's high hand, and low hand in Hi/Lo games, on one board at a time. High hands are the
+     * equivalence classes of the profile's {@link HandRankTable}, so they are ordered by the profile's rules. A scorer
+     * is used by one thread and prepares every Omaha board in the same reused {@link OmahaEvaluator.Board}.
+     */
+    static class Scorer {
+
+        final int[] highs;
+        final int[] lows;
+        private final long[] holeMasks;
+        private final HandRankTable handRankTable;
+        private final OmahaEvaluator omahaEvaluator;
+        private final OmahaEvaluator.Board omahaBoard = new OmahaEvaluator.Board();
+        private final LowballEvaluator lowballEvaluator;
+
+        /**
+         * @param omahaEvaluator   the evaluator of Omaha games, or null in Hold'em
+         * @param lowballEvaluator the 8-or-better evaluator of Hi/Lo games, or null
+         */
+        Scorer(Table table, HandRankTable handRankTable, OmahaEvaluator omahaEvaluator,
+               LowballEvaluator lowballEvaluator) {
+            this.holeMasks = table.holeMasks;
+            this.handRankTable = handRankTable;
+            this.omahaEvaluator = omahaEvaluator;
+            this.lowballEvaluator = lowballEvaluator;
+            this.highs = new int[holeMasks.length];
+            this.lows = new int[holeMasks.length];
+            Arrays.fill(lows, LowballEvaluator.NO_LOW);
+        }
+
+        void score(long boardMask) {
+            if (omahaEvaluator != null) {
+                OmahaEvaluator.Board board = omahaBoard.reset(boardMask);
+                for (int i = 0; i < holeMasks.length; i++) {
+                    highs[i] = omahaEvaluator.evaluate(board, holeMasks[i]);
+                    if (lowballEvaluator != null) {
+                        lows[i] = omahaEvaluator.evaluateLow(board, holeMasks[i]);
+                    }
+                }
+                return;
+            }
+            for (int i = 0; i < holeMasks.length; i++) {
+                highs[i] = handRankTable.rank(holeMasks[i] | boardMask);
+                if (lowballEvaluator != null) {
+                    lows[i] = lowballEvaluator.evaluate(holeMasks[i] | boardMask);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Per player win, tie and pot share counts. A win takes the whole pot, and a tie any smaller share of it,
+     * including half of a split pot. Shares are whole {@link #POT_UNITS}, so merging tallies in any order gives the
+     * same totals.
+     */
+    static class Tally {
+
+        private long boards;
+        private final long[] wins;
+        private final long[] ties;
+        private final long[] shares;
+        private final long[] squaredShares;
+
+        Tally(int players) {
+            wins = new long[players];
+            ties = new long[players];
+            shares = new long[players];
+            squaredShares = new long[players];
+        }
+
+        /**
+         * @param highs the players' high hands, higher is better
+         * @param lows  the players' low hands, lower is better, or {@link LowballEvaluator#NO_LOW}
+         */
+        void record(int[] highs, int[] lows) {
+            int bestHigh = Integer.MIN_VALUE;
+            int highWinners = 0;
+            int bestLow = LowballEvaluator.NO_LOW;
+            int lowWinners = 0;
+            for (int i = 0; i < highs.length; i++) {
+                if (highs[i] > bestHigh) {
+                    bestHigh = highs[i];
+                    highWinners = 1;
+                } else if (highs[i] == bestHigh) {
+                    highWinners++;
+                }
+                if (lows[i] < bestLow) {
+                    bestLow = lows[i];
+                    lowWinners = 1;
+                } else if (lows[i] == bestLow) {
+                    lowWinners++;
+                }
+            }
+
+            int highPot = bestLow == LowballEvaluator.NO_LOW ? POT_UNITS : POT_UNITS / 2;
+            long highShare = highPot / highWinners;
+            long lowShare = bestLow == LowballEvaluator.NO_LOW ? 0 : (POT_UNITS - highPot) / lowWinners;
+            for (int i = 0; i < highs.length; i++) {
+                long share = (highs[i] == bestHigh ? highShare : 0)
+                        + (lows[i] == bestLow && lowShare != 0 ? lowShare : 0);
+                if (share == POT_UNITS) {
+                    wins[i]++;
+                } else if (share != 0) {
+                    ties[i]++;
+                }
+                shares[i] += share;
+                squaredShares[i] += share * share;
+            }
+            boards++;
+        }
+
+        Tally add(Tally other) {
+            boards += other.boards;
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+                ties[i] += other.ties[i];
+                shares[i] += other.shares[i];
+                squaredShares[i] += other.squaredShares[i];
+            }
+            return this;
+        }
+
+        /**
+         * @param zScore the z-score of the margin of error, or 0 for exact results
+         */
+        List<Equity> toEquities(List<Player> players, double zScore) {
+            List<Equity> equities = new ArrayList<>(players.size());
+            for (int i = 0; i < players.size(); i++) {
+                double mean = (double) shares[i] / POT_UNITS / boards;
+                double meanOfSquares = (double) squaredShares[i] / POT_UNITS / POT_UNITS / boards;
+                double variance = Math.max(0, meanOfSquares - mean * mean);
+                double marginOfError = zScore * Math.sqrt(variance / boards);
+                equities.add(new Equity(players.get(i), boards, wins[i], ties[i], mean, marginOfError));
+            }
+            return equities;
+        }
+
+    }
+
+}
@@ -0,0 +1,447 @@
+package com.synacy.poker.services;
+
+import com.synacy.poker.history.HandHistory;
+import com.synacy.poker.history.HandRecord;
+import com.synacy.poker.metrics.PokerMetrics;
+import com.synacy.poker.metrics.PokerMetrics.Operation;
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.deck.Deck;
+import com.synacy.poker.model.deck.DeckBuilder;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.game.ShowdownResult;
+import com.synacy.poker.model.game.TableSnapshot;
+import com.synacy.poker.model.hand.CachingHandIdentifier;
+import com.synacy.poker.model.hand.EvaluationCache;
+import com.synacy.poker.model.hand.Hand;
+import com.synacy.poker.model.hand.HandEvaluator;
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.HandValue;
+import com.synacy.poker.model.hand.IncrementalHand;
+import com.synacy.poker.model.hand.OmahaEvaluator;
+import com.synacy.poker.model.hand.SplitPot;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The game engine of one table. Tables are created and looked up through the {@link TableManager}.
+ *
+ * <p>Each player has an {@link IncrementalHand} that every dealt card is added to, so their current best hand is
+ * scored without going over the cards again.</p>
+ *
+ * <p>After every action the players' hands and the winners are identified once into a versioned
+ * {@link ShowdownResult}, which answers {@link #identifyPlayerHand(Player)} and {@link #checkIfPlayerWon(Player)}
+ * until the next action. The showdown is calculated by
+ * {@link WinningHandCalculator#calculateSplitPot(List, CardSet, GameType)}.</p>
+ *
+ * <p>With a {@link CachingHandIdentifier} on the standard deck, the Hold'em hands are scored through its
+ * {@link EvaluationCache} instead, so repeated card masks are looked up rather than evaluated.</p>
+ *
+ * <p>In Hi/Lo games each player's 8-or-better low is scored along with their hand at the showdown.</p>
+ *
+ * <p>In Omaha the players' hands are scored by the {@link OmahaEvaluator} of the {@link WinningHandCalculator}
+ * instead, from the community cards prepared once per action.</p>
+ *
+ * <p>A table dealing from a {@link DeckProfile} other than the standard deck ranks the hands with the
+ * {@link HandRankTable} of the {@link WinningHandCalculator}, whose tables must be generated for that profile.</p>
+ *
+ * <p>Each game played to the showdown is recorded in the table's {@link HandHistory} as soon as its winners are
+ * known, with the time of the showdown.</p>
+ *
+ * <p>A table is not thread safe: the {@link TableManager} serializes the actions on it. After every action the
+ * table publishes an immutable {@link TableSnapshot}, which can be read without locking.</p>
+ */
+public class GameService {
+
+    private List<Player> players = new ArrayList<>();
+    private List<IncrementalHand> playerStates = new ArrayList<>();
+
+    private List<Card> communityCards = new ArrayList<>();
+    private CardSet communityCardSet = CardSet.EMPTY;
+
+    private DeckBuilder deckBuilder;
+    private HandIdentifier handIdentifier;
+    private WinningHandCalculator winningHandCalculator;
+    private PokerMetrics metrics;
+    private GameType gameType;
+    private DeckProfile deckProfile;
+    private HandHistory handHistory;
+    private EvaluationCache evaluationCache;
+
+    private Deck deck;
+
+    private List<Hand> winningHand = new ArrayList<>();
+
+    private long version;
+    private ShowdownResult result;
+    private volatile TableSnapshot snapshot;
+
+    private static final int MAX_COMMUNITY_CARDS = 5;
+
+    public GameService(DeckBuilder deckBuilder,
+                       HandIdentifier handIdentifier,
+                       WinningHandCalculator winningHandCalculator) {
+        this(deckBuilder, handIdentifier, winningHandCalculator, PokerMetrics.DISABLED);
+    }
+
+    public GameService(DeckBuilder deckBuilder,
+                       HandIdentifier handIdentifier,
+                       WinningHandCalculator winningHandCalculator,
+                       PokerMetrics metrics) {
+        this(deckBuilder, handIdentifier, winningHandCalculator, metrics, GameType.TEXAS_HOLDEM);
+    }
+
+    /**
+     * @param deckBuilder
+     * @param handIdentifier
+     * @param winningHandCalculator
+     * @param metrics
+     * @param gameType              the variant played at the table
+     */
+    public GameService(DeckBuilder deckBuilder,
+                       HandIdentifier handIdentifier,
+                       WinningHandCalculator winningHandCalculator,
+                       PokerMetrics metrics,
+                       GameType gameType) {
+        this(deckBuilder, handIdentifier, winningHandCalculator, metrics, gameType, DeckProfile.STANDARD);
+    }
+
+    /**
+     * @param deckBuilder
+     * @param handIdentifier
+     * @param winningHandCalculator ranking hands by the rules of the deck profile
+     * @param metrics
+     * @param gameType              the variant played at the table
+     * @param deckProfile           the cards the table deals from
+     * @throws IllegalArgumentException if the winning hand calculator ranks hands of another deck profile
+     */
+    public GameService(DeckBuilder deckBuilder,
+                       HandIdentifier handIdentifier,
+                       WinningHandCalculator winningHandCalculator,
+                       PokerMetrics metrics,
+                       GameType gameType,
+                       DeckProfile deckProfile) {
+        this(deckBuilder, handIdentifier, winningHandCalculator, metrics, gameType, deckProfile, HandHistory.DISABLED);
+    }
+
+    /**
+     * @param deckBuilder
+     * @param handIdentifier
+     * @param winningHandCalculator ranking hands by the rules of the deck profile
+     * @param metrics
+     * @param gameType              the variant played at the table
+     * @param deckProfile           the cards the table deals from
+     * @param handHistory           where the completed games are recorded
+     * @throws IllegalArgumentException if the winning hand calculator ranks hands of another deck profile
+     */
+    public GameService(DeckBuilder deckBuilder,
+                       HandIdentifier handIdentifier,
+                       WinningHandCalculator winningHandCalculator,
+                       PokerMetrics metrics,
+                       GameType gameType,
+                       DeckProfile deckProfile,
+                       HandHistory handHistory) {
+        if (deckProfile != DeckProfile.STANDARD
+                && winningHandCalculator.getHandRankTable().getDeckProfile() != deckProfile) {
+            throw new IllegalArgumentException("The hands are not ranked for the " + deckProfile + " deck.");
+        }
+        players.add(new Player("Alex"));
+        players.add(new Player("Bob"));
+        players.add(new Player("Jane"));
+        players.forEach(player -> playerStates.add(new IncrementalHand()));
+
+        this.deckBuilder = deckBuilder;
+        this.handIdentifier = handIdentifier;
+        this.winningHandCalculator = winningHandCalculator;
+        this.metrics = metrics;
+        this.gameType = gameType;
+        this.deckProfile = deckProfile;
+        this.handHistory = handHistory;
+        if (handIdentifier instanceof CachingHandIdentifier && deckProfile == DeckProfile.STANDARD) {
+            this.evaluationCache = ((CachingHandIdentifier) handIdentifier).getCache();
+        }
+
+        startNewGame();
+    }
+
+    /**
+     * Starts a new game.
+     *
+     * <h3>The following describes a new game.</h3>
+     * <ul>
+     * <li>Players' previous hands are cleared</li>
+     * <li>Community cards and the previous winners are cleared</li>
+     * <li>The cards dealt from the deck are put back</li>
+     * <li>The deck is shuffled</li>
+     * <li>Players' are dealt with new cards.</li>
+     * </ul>
+     */
+    public void startNewGame() {
+        long start = metrics.start(Operation.START_NEW_GAME);
+        players.forEach(Player::clearHand);
+        playerStates.forEach(IncrementalHand::clear);
+        communityCards.clear();
+        communityCardSet = CardSet.EMPTY;
+        winningHand = new ArrayList<>();
+
+        if (deck == null) {
+            deck = deckBuilder.buildDeck(deckProfile);
+        } else {
+            deck.reset();
+        }
+        deck.shuffle();
+
+        dealHands();
+        updateResult();
+        metrics.handDealt();
+        metrics.stop(Operation.START_NEW_GAME, start);
+    }
+
+    /**
+     * The action to take after a new game has been started.
+     *
+     * <ol>
+     * <li>Deal three community cards</li>
+     * <li>Deal one community card</li>
+     * <li>Deal another community card</li>
+     * <li>Determine the winner/s, count the showdown and record the game in the {@link HandHistory}</li>
+     * </ol>
+     * <p>
+     * Dealt community are of course removed from the deck at the time their placed on the table. Once the game has
+     * ended the action changes nothing, so the showdown is counted and recorded only once.
+     */
+    public void nextAction() {
+        long start = metrics.start(Operation.NEXT_ACTION);
+        boolean wasInPlay = !hasEnded();
+        if (communityCards.isEmpty()) {
+            burnCard();
+            dealThreeCommunityCards();
+        } else if (communityCards.size() < MAX_COMMUNITY_CARDS) {
+            burnCard();
+            dealOneCommunityCard();
+        }
+
+        if (wasInPlay) {
+            updateResult();
+            if (hasEnded()) {
+                identifyWinningHand();
+                metrics.showdown(winningHand);
+                if (handHistory != HandHistory.DISABLED) {
+                    handHistory.record(HandRecord.of(System.currentTimeMillis(), gameType, deckProfile, players,
+                            communityCards, result.getWinners(), result.getLowWinners()));
+                }
+            }
+        }
+        metrics.stop(Operation.NEXT_ACTION, start);
+    }
+
+    /**
+     * Identifies the winning hand from the winners of the current {@link ShowdownResult}, whose hands are already
+     * identified, so the showdown is not evaluated again.
+     *
+     * @see <a href="https://www.youtube.com/watch?v=GAoR9ji8D6A">Poker rules</a>
+     */
+    public void identifyWinningHand() {
+        List<Hand> hands = new ArrayList<>(result.getWinnerCount());
+        for (int i = 0; i < players.size(); i++) {
+            if (result.isWinner(i)) {
+                hands.add(result.getHand(i));
+            }
+        }
+        winningHand = hands;
+    }
+
+    /**
+     * Checks if the player won
+     *
+     * @param player
+     * @return true if the player's hand is equal to the winning hand.
+     */
+    public boolean checkIfPlayerWon(Player player) {
+        int playerIndex = indexOf(player);
+        return playerIndex >= 0 && result.isWinner(playerIndex);
+    }
+
+    /**
+     * Identifies the player's hand. A hand is combination of the two cards in the player's
+     * possession and the community cards on the table.
+     *
+     * @param player
+     * @return The {@link} of a player, e.g. High Card, One Pair, Straight, etc.
+     * @see <a href="https://www.youtube.com/watch?v=GAoR9ji8D6A">Poker rules</a>
+     */
+    public Hand identifyPlayerHand(Player player) {
+        int playerIndex = indexOf(player);
+        if (playerIndex >= 0) {
+            return result.getHand(playerIndex);
+        }
+        return handIdentifier.identifyHand(player.getCardSet(), communityCardSet);
+    }
+
+    /**
+     * @return The list of {@link Player}s
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return The variant played at the table
+     */
+    public GameType getGameType() {
+        return gameType;
+    }
+
+    /**
+     * @return The cards the table deals from
+     */
+    public DeckProfile getDeckProfile() {
+        return deckProfile;
+    }
+
+    /**
+     * @return The builder of the table's deck, with the source it is shuffled with
+     */
+    public DeckBuilder getDeckBuilder() {
+        return deckBuilder;
+    }
+
+    /**
+     * @return The list of community cards {@link Card}
+     */
+    public List<Card> getCommunityCards() {
+        return communityCards;
+    }
+
+    /**
+     * @return The {@link ShowdownResult} of the current state of the table
+     */
+    public ShowdownResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return The {@link TableSnapshot} taken after the last action
+     */
+    public TableSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return The community cards as a {@link CardSet}
+     */
+    public CardSet getCommunityCardSet() {
+        return communityCardSet;
+    }
+
+    /**
+     * @return true if the number of community cards is equal to the maximum community cards allowed.
+     */
+    public boolean hasEnded() {
+        return communityCards.size() >= MAX_COMMUNITY_CARDS;
+    }
+
+    private void dealHands() {
+        for (int i = 0; i < gameType.getHoleCards(); i++) {
+            dealOneCardToEachPlayer();
+        }
+    }
+
+    private void dealOneCardToEachPlayer() {
+        for (int i = 0; i < players.size(); i++) {
+            Card card = deck.removeFromTop();
+            players.get(i).addToHand(card);
+            playerStates.get(i).add(card);
+        }
+    }
+
+    private void dealThreeCommunityCards() {
+        dealOneCommunityCard();
+        dealOneCommunityCard();
+        dealOneCommunityCard();
+    }
+
+    private void dealOneCommunityCard() {
+        Card card = deck.removeFromTop();
+        communityCards.add(card);
+        communityCardSet = communityCardSet.with(card);
+        playerStates.forEach(playerState -> playerState.add(card));
+    }
+
+    private void burnCard() {
+        deck.removeFromTop();
+    }
+
+    private int indexOf(Player player) {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i) == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Publishes the players' hands. At the showdown the {@link WinningHandCalculator} scores the high and low hands
+     * and picks the winners in one pass.
+     */
+    private void updateResult() {
+        if (hasEnded()) {
+            SplitPot splitPot = winningHandCalculator.calculateSplitPot(players, communityCardSet, gameType);
+            publishResult(splitPot.getPlayerHands(), splitPot.getHighWinners(), splitPot.getLowWinners());
+        } else if (gameType.isOmaha()) {
+            publishResult(omahaHands(), 0L, 0L);
+        } else {
+            publishResult(holdemHands(), 0L, 0L);
+        }
+    }
+
+    private List<Hand> holdemHands() {
+        HandRankTable handRankTable = deckProfile != DeckProfile.STANDARD && !communityCards.isEmpty()
+                ? winningHandCalculator.getHandRankTable() : null;
+        List<Hand> playerHands = new ArrayList<>(players.size());
+        for (IncrementalHand playerState : playerStates) {
+            HandValue value;
+            if (handRankTable != null) {
+                value = handRankTable.value(playerState.getCardMask());
+            } else {
+                value = HandValue.of(evaluationCache != null ? evaluationCache.evaluate(playerState.getCardMask())
+                        : playerState.evaluate());
+            }
+            playerHands.add(handIdentifier.identifyHand(playerState.getCardMask(), value));
+        }
+        return playerHands;
+    }
+
+    private List<Hand> omahaHands() {
+        OmahaEvaluator omahaEvaluator = winningHandCalculator.getOmahaEvaluator();
+        HandRankTable handRankTable = winningHandCalculator.getHandRankTable();
+        OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(communityCardSet);
+        List<Hand> playerHands = new ArrayList<>(players.size());
+        for (Player player : players) {
+            long bestHand = omahaEvaluator.bestHand(board, player.getCardSet().getMask());
+            HandValue value = communityCards.isEmpty() ? HandValue.of(HandEvaluator.evaluate(bestHand))
+                    : handRankTable.value(bestHand);
+            playerHands.add(handIdentifier.identifyHand(bestHand, value));
+        }
+        return playerHands;
+    }
+
+    /**
+     * Publishes the {@link ShowdownResult} of the players' hands and a new {@link TableSnapshot}.
+     *
+     * @param playerHands the hand of each player
+     * @param winners     the bits of the players with the winning high hand, 0 before the showdown
+     * @param lowWinners  the bits of the players with the winning low hand, 0 if there is none
+     */
+    private void publishResult(List<Hand> playerHands, long winners, long lowWinners) {
+        result = new ShowdownResult(++version, playerHands, winners, lowWinners);
+        snapshot = new TableSnapshot(players, communityCards, result, hasEnded());
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.synacy.poker.simulation;
+
+import com.synacy.poker.model.deck.DeckBuilder;
+import com.synacy.poker.model.deck.SeededShuffleSource;
+import com.synacy.poker.model.deck.ShuffleSource;
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+import com.synacy.poker.services.GameService;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays complete games on {@link GameService}s without the web application: a new game, then every action up to
+ * the river and the showdown.
+ *
+ * <p>The games are split across worker threads. Each worker has its own table, and so its own deck, shuffled from
+ * its own {@link SeededShuffleSource} split off the run's seed, so a run is reproducible for the same seed and
+ * number of threads. Workers count into their own {@link SimulationStatistics} and merge them into the run's
+ * totals every {@value #MERGE_INTERVAL} games, which are reported while the run goes on.</p>
+ */
+public class SimulationRunner {
+
+    private static final int MERGE_INTERVAL = 10_000;
+
+    private final HandIdentifier handIdentifier;
+    private final WinningHandCalculator winningHandCalculator;
+    private final int threads;
+    private final long seed;
+
+    /**
+     * @param handIdentifier
+     * @param winningHandCalculator
+     * @param threads               the number of worker threads
+     * @param seed                  the seed the workers' shuffle sources are split from
+     */
+    public SimulationRunner(HandIdentifier handIdentifier, WinningHandCalculator winningHandCalculator,
+                            int threads, long seed) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("There must be at least one worker thread.");
+        }
+        this.handIdentifier = handIdentifier;
+        this.winningHandCalculator = winningHandCalculator;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    /**
+     * Plays the games and prints the totals so far to <code>out</code> every report interval, and the final
+     * statistics and throughput at the end.
+     *
+     * @param games                the number of games to play
+     * @param out
+     * @param reportIntervalMillis
+     * @return The statistics of all the games
+     */
+    public SimulationStatistics run(long games, PrintStream out, long reportIntervalMillis) {
+        ShuffleSource seedSource = new SeededShuffleSource(seed);
+        List<GameService> tables = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            tables.add(new GameService(new DeckBuilder(seedSource.split()), handIdentifier, winningHandCalculator));
+        }
+        SimulationStatistics totals = new SimulationStatistics(tables.get(0).getPlayers().size());
+
+        long startTime = System.nanoTime();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulation-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> report(totals, startTime, out), reportIntervalMillis,
+                reportIntervalMillis, TimeUnit.MILLISECONDS);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                GameService table = tables.get(i);
+                long workerGames = games / threads + (i < games % threads ? 1 : 0);
+                futures.add(workers.submit(() -> play(table, workerGames, totals)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The simulation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A simulation worker failed.", e.getCause());
+        } finally {
+            workers.shutdownNow();
+            reporter.shutdownNow();
+        }
+
+        synchronized (totals) {
+            totals.print(out);
+        }
+        report(totals, startTime, out);
+        return totals;
+    }
+
+    private static void play(GameService table, long games, SimulationStatistics totals) {
+        SimulationStatistics statistics = new SimulationStatistics(totals.getSeats());
+        for (long game = 0; game < games; game++) {
+            if (game > 0) {
+                table.startNewGame();
+            }
+            while (!table.hasEnded()) {
+                table.nextAction();
+            }
+            statistics.record(table.getResult());
+
+            if (statistics.getGames() == MERGE_INTERVAL) {
+                synchronized (totals) {
+                    totals.merge(statistics);
+                }
+                statistics.clear();
+            }
+        }
+        synchronized (totals) {
+            totals.merge(statistics);
+        }
+    }
+
+    private static void report(SimulationStatistics totals, long startTime, PrintStream out) {
+        long games;
+        long tiedGames;
+        synchronized (totals) {
+            games = totals.getGames();
+            tiedGames = totals.getTiedGames();
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        out.printf("%d games in %.1f s, %.0f games/s, %d ties%n", games, seconds, games / seconds, tiedGames);
+    }
+
+    /**
+     * Runs a simulation from the command line. The arguments are the number of games (1,000,000 by default), the
+     * number of worker threads (one per processor by default) and the seed (1 by default).
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+
+        HandIdentifier handIdentifier = new HandIdentifier();
+        WinningHandCalculator winningHandCalculator = new WinningHandCalculator(handIdentifier,
+                new HandRankTable(HandRankTable.Mode.DIRECT));
+        new SimulationRunner(handIdentifier, winningHandCalculator, threads, seed)
+                .run(games, System.out, TimeUnit.SECONDS.toMillis(5));
+    }
+
+}
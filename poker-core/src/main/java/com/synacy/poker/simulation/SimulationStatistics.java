@@ -0,0 +1,154 @@
+package com.synacy.poker.simulation;
+
+import com.synacy.poker.model.game.ShowdownResult;
+import com.synacy.poker.model.hand.HandType;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Running totals over simulated games: how often each {@link HandType} is a player's final hand and how often it
+ * wins, the wins of each seat and the number of tied games. A tie counts as a win of every tied seat and as
+ * its {@link ShowdownResult#getPotShare(int)}, <code>1/n</code> of a pot, in the seat's pot share.
+ *
+ * <p>Not thread safe. Each worker keeps its own statistics and merges them into the shared ones.</p>
+ */
+public class SimulationStatistics {
+
+    private static final HandType[] HAND_TYPES = HandType.values();
+
+    private final long[] handTypes = new long[HAND_TYPES.length];
+    private final long[] winningHandTypes = new long[HAND_TYPES.length];
+    private final long[] seatWins;
+    private final double[] seatPotShares;
+    private long games;
+    private long tiedGames;
+
+    public SimulationStatistics(int seats) {
+        this.seatWins = new long[seats];
+        this.seatPotShares = new double[seats];
+    }
+
+    /**
+     * @param result the result of a game that reached the showdown
+     */
+    public void record(ShowdownResult result) {
+        for (int seat = 0; seat < seatWins.length; seat++) {
+            int handType = result.getHand(seat).getHandType().ordinal();
+            handTypes[handType]++;
+            if (result.isWinner(seat)) {
+                winningHandTypes[handType]++;
+                seatWins[seat]++;
+                seatPotShares[seat] += result.getPotShare(seat);
+            }
+        }
+        if (result.isTied()) {
+            tiedGames++;
+        }
+        games++;
+    }
+
+    /**
+     * Adds the other statistics to these.
+     *
+     * @param other
+     */
+    public void merge(SimulationStatistics other) {
+        for (int i = 0; i < handTypes.length; i++) {
+            handTypes[i] += other.handTypes[i];
+            winningHandTypes[i] += other.winningHandTypes[i];
+        }
+        for (int seat = 0; seat < seatWins.length; seat++) {
+            seatWins[seat] += other.seatWins[seat];
+            seatPotShares[seat] += other.seatPotShares[seat];
+        }
+        games += other.games;
+        tiedGames += other.tiedGames;
+    }
+
+    /**
+     * @return A copy that does not change with these statistics
+     */
+    public SimulationStatistics copy() {
+        SimulationStatistics copy = new SimulationStatistics(seatWins.length);
+        copy.merge(this);
+        return copy;
+    }
+
+    public void clear() {
+        Arrays.fill(handTypes, 0L);
+        Arrays.fill(winningHandTypes, 0L);
+        Arrays.fill(seatWins, 0L);
+        Arrays.fill(seatPotShares, 0.0);
+        games = 0L;
+        tiedGames = 0L;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getTiedGames() {
+        return tiedGames;
+    }
+
+    /**
+     * @param handType
+     * @return The number of players' final hands of the type
+     */
+    public long getHandTypeCount(HandType handType) {
+        return handTypes[handType.ordinal()];
+    }
+
+    /**
+     * @param handType
+     * @return The number of winning hands of the type, counting every hand of a tie
+     */
+    public long getWinningHandTypeCount(HandType handType) {
+        return winningHandTypes[handType.ordinal()];
+    }
+
+    /**
+     * @param seat
+     * @return The number of games the seat won or tied
+     */
+    public long getSeatWins(int seat) {
+        return seatWins[seat];
+    }
+
+    /**
+     * @param seat
+     * @return The number of pots the seat won, splitting tied pots among the winners
+     */
+    public double getSeatPotShare(int seat) {
+        return seatPotShares[seat];
+    }
+
+    public int getSeats() {
+        return seatWins.length;
+    }
+
+    /**
+     * Prints the frequencies, win rates and tie rate as a table.
+     *
+     * @param out
+     */
+    public void print(PrintStream out) {
+        long hands = games * seatWins.length;
+        out.printf("%-16s %12s %9s %12s%n", "Hand type", "Hands", "Share", "Wins");
+        for (HandType handType : HAND_TYPES) {
+            out.printf("%-16s %12d %8.4f%% %12d%n", handType, handTypes[handType.ordinal()],
+                    percentage(handTypes[handType.ordinal()], hands), winningHandTypes[handType.ordinal()]);
+        }
+        for (int seat = 0; seat < seatWins.length; seat++) {
+            out.printf("Seat %d: wins %.4f%%, pot share %.4f%%%n", seat + 1, percentage(seatWins[seat], games),
+                    percentage(seatPotShares[seat], games));
+        }
+        out.printf("Ties: %d (%.4f%%)%n", tiedGames, percentage(tiedGames, games));
+    }
+
+    private static double percentage(double count, long total) {
+        return total == 0 ? 0.0 : 100.0 * count / total;
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.synacy.poker.history;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.hand.HandEvaluator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HandHistoryLogTest {
+
+    private static final long TIMESTAMP = 1_700_000_000_000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void getEncodedLength_packsTheCardsInSixBits() {
+        SplittableRandom random = new SplittableRandom(1);
+
+        assertEquals(17, randomRecord(random, 3, 2, 0L, 5).getEncodedLength());
+        assertEquals(19, randomRecord(random, 3, 2, 1L, 5).getEncodedLength());
+        assertEquals(26, randomRecord(random, 9, 2, 0L, 5).getEncodedLength());
+        assertEquals(21, randomRecord(random, 3, 4, 0L, 5).getEncodedLength());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_withTooManySeats_throwsException() {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i <= HandRecord.MAX_SEATS; i++) {
+            players.add(new Player("Player " + i));
+        }
+
+        HandRecord.of(TIMESTAMP, GameType.TEXAS_HOLDEM, DeckProfile.STANDARD, players, new ArrayList<>(), 1L, 0L);
+    }
+
+    @Test
+    public void record_isReadBackInOrder() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        List<HandRecord> records = randomRecords(2000);
+
+        try (HandHistoryLog log = new HandHistoryLog(directory)) {
+            records.forEach(log::record);
+        }
+
+        assertEquals(records, readAll(directory));
+    }
+
+    @Test
+    public void record_startsNewSegmentsWhenOneIsFull() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        List<HandRecord> records = randomRecords(2000);
+
+        try (HandHistoryLog log = new HandHistoryLog(directory, 4096, 4096, 64, 10L)) {
+            records.forEach(log::record);
+        }
+
+        assertTrue(HandHistoryLog.segments(directory).size() > 5);
+        assertEquals(records, readAll(directory));
+    }
+
+    @Test
+    public void record_afterReopening_appendsToTheLastSegment() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        List<HandRecord> records = randomRecords(300);
+
+        try (HandHistoryLog log = new HandHistoryLog(directory, 4096, 4096, 64, 10L)) {
+            records.subList(0, 100).forEach(log::record);
+        }
+        try (HandHistoryLog log = new HandHistoryLog(directory, 4096, 4096, 64, 10L)) {
+            records.subList(100, records.size()).forEach(log::record);
+            assertEquals(0L, log.getDroppedCount());
+        }
+
+        assertEquals(records, readAll(directory));
+    }
+
+    @Test
+    public void record_farFromTheSegmentTimestamp_startsANewSegment() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        SplittableRandom random = new SplittableRandom(11);
+        List<HandRecord> records = new ArrayList<>();
+        records.add(randomRecord(TIMESTAMP, random, 3, 2, 0L, 5));
+        records.add(randomRecord(TIMESTAMP - 60_000L, random, 3, 2, 0L, 5));
+        records.add(randomRecord(TIMESTAMP + 30L * 24 * 60 * 60 * 1000, random, 3, 2, 0L, 5));
+
+        try (HandHistoryLog log = new HandHistoryLog(directory, 4096, 16, 16, 10L)) {
+            records.forEach(log::record);
+        }
+
+        assertEquals(2, HandHistoryLog.segments(directory).size());
+        assertEquals(records, readAll(directory));
+    }
+
+    @Test
+    public void record_afterClosing_isDropped() throws IOException {
+        HandHistoryLog log = new HandHistoryLog(folder.getRoot().toPath());
+        log.close();
+
+        log.record(randomRecord(new SplittableRandom(3), 3, 2, 0L, 5));
+
+        assertEquals(1L, log.getDroppedCount());
+        assertEquals(0L, log.getWrittenCount());
+    }
+
+    @Test
+    public void next_decodesTheCardMasksAndWinners() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        HandRecord record = randomRecord(new SplittableRandom(5), 6, 4, 6L, 5);
+
+        try (HandHistoryLog log = new HandHistoryLog(directory)) {
+            log.record(record);
+        }
+
+        try (HandHistoryReader reader = new HandHistoryReader(directory)) {
+            assertTrue(reader.next());
+            assertEquals(record.getTimestamp(), reader.getTimestamp());
+            assertEquals(GameType.OMAHA_HI_LO, reader.getGameType());
+            assertEquals(record.getDeckProfile(), reader.getDeckProfile());
+            assertEquals(6, reader.getSeatCount());
+            assertEquals(4, reader.getHoleCardCount());
+            for (int seat = 0; seat < 6; seat++) {
+                assertEquals(HandEvaluator.cardMask(record.getHoleCards(seat)), reader.getHoleCardMask(seat));
+            }
+            assertEquals(HandEvaluator.cardMask(record.getCommunityCards()), reader.getCommunityCardMask());
+            assertEquals(record.getWinners(), reader.getWinners());
+            assertEquals(6L, reader.getLowWinners());
+            assertFalse(reader.next());
+        }
+    }
+
+    private static List<HandRecord> readAll(Path directory) throws IOException {
+        List<HandRecord> records = new ArrayList<>();
+        try (HandHistoryReader reader = new HandHistoryReader(directory)) {
+            while (reader.next()) {
+                records.add(reader.toRecord());
+            }
+        }
+        return records;
+    }
+
+    private static List<HandRecord> randomRecords(int count) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<HandRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int seatCount = 1 + random.nextInt(HandRecord.MAX_SEATS);
+            int holeCardCount = seatCount > 10 ? 2 : 2 + 2 * random.nextInt(2);
+            long lowWinners = random.nextInt(3) == 0 ? 1L << random.nextInt(seatCount) : 0L;
+            records.add(randomRecord(TIMESTAMP + i * 1000L, random, seatCount, holeCardCount, lowWinners,
+                    random.nextInt(6)));
+        }
+        return records;
+    }
+
+    private static HandRecord randomRecord(SplittableRandom random, int seatCount, int holeCardCount,
+                                           long lowWinners, int communityCardCount) {
+        return randomRecord(TIMESTAMP, random, seatCount, holeCardCount, lowWinners, communityCardCount);
+    }
+
+    private static HandRecord randomRecord(long timestamp, SplittableRandom random, int seatCount,
+                                           int holeCardCount, long lowWinners, int communityCardCount) {
+        long dealt = 0L;
+        List<Player> players = new ArrayList<>(seatCount);
+        for (int seat = 0; seat < seatCount; seat++) {
+            Player player = new Player("Player " + seat);
+            for (int i = 0; i < holeCardCount; i++) {
+                Card card = randomCard(random, dealt);
+                dealt |= 1L << card.getIndex();
+                player.addToHand(card);
+            }
+            players.add(player);
+        }
+        List<Card> communityCards = new ArrayList<>();
+        for (int i = 0; i < communityCardCount; i++) {
+            Card card = randomCard(random, dealt);
+            dealt |= 1L << card.getIndex();
+            communityCards.add(card);
+        }
+        long winners = 1L << random.nextInt(seatCount) | 1L << random.nextInt(seatCount);
+        GameType gameType = holeCardCount == 4
+                ? lowWinners != 0 ? GameType.OMAHA_HI_LO : GameType.OMAHA
+                : lowWinners != 0 ? GameType.TEXAS_HOLDEM_HI_LO : GameType.TEXAS_HOLDEM;
+        DeckProfile deckProfile = random.nextBoolean() ? DeckProfile.STANDARD : DeckProfile.SHORT_DECK;
+        return HandRecord.of(timestamp, gameType, deckProfile, players, communityCards, winners, lowWinners);
+    }
+
+    private static Card randomCard(SplittableRandom random, long dealt) {
+        while (true) {
+            int index = random.nextInt(Card.DECK_SIZE);
+            if ((dealt & (1L << index)) == 0) {
+                return Card.fromIndex(index);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.synacy.poker.metrics;
+
+import com.synacy.poker.metrics.PokerMetrics.Operation;
+import com.synacy.poker.model.hand.Hand;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PokerMetricsTest {
+
+    private final CountingRecorder recorder = new CountingRecorder();
+
+    @Test
+    public void disabled_doesNotTime() {
+        assertFalse(PokerMetrics.DISABLED.isEnabled());
+        assertEquals(PokerMetrics.NOT_TIMED, PokerMetrics.DISABLED.start(Operation.START_NEW_GAME));
+    }
+
+    @Test
+    public void stop_recordsTheElapsedTime() {
+        PokerMetrics metrics = new PokerMetrics(recorder, 1);
+
+        metrics.stop(Operation.IDENTIFY_HAND, metrics.start(Operation.IDENTIFY_HAND));
+        metrics.handDealt();
+
+        assertTrue(metrics.isEnabled());
+        assertEquals(1, recorder.times[Operation.IDENTIFY_HAND.ordinal()]);
+        assertEquals(1, recorder.handsDealt);
+    }
+
+    @Test
+    public void start_samplesTheShortOperations() {
+        PokerMetrics metrics = new PokerMetrics(recorder, 64);
+        for (int i = 0; i < 6400; i++) {
+            metrics.stop(Operation.SHUFFLE, metrics.start(Operation.SHUFFLE));
+            metrics.stop(Operation.NEXT_ACTION, metrics.start(Operation.NEXT_ACTION));
+        }
+
+        assertEquals(100, recorder.times[Operation.SHUFFLE.ordinal()], 40);
+        assertEquals(6400, recorder.times[Operation.NEXT_ACTION.ordinal()]);
+    }
+
+    @Test
+    public void roundSampleRate_roundsUpToAPowerOfTwo() {
+        assertEquals(1, PokerMetrics.roundSampleRate(0));
+        assertEquals(64, PokerMetrics.roundSampleRate(64));
+        assertEquals(128, PokerMetrics.roundSampleRate(65));
+        assertEquals(128, new PokerMetrics(recorder, 100).getSampleRate());
+    }
+
+    private static class CountingRecorder implements PokerMetrics.Recorder {
+
+        private final int[] times = new int[Operation.values().length];
+        private int handsDealt;
+
+        @Override
+        public void recordTime(Operation operation, long nanos) {
+            times[operation.ordinal()]++;
+        }
+
+        @Override
+        public void recordHandDealt() {
+            handsDealt++;
+        }
+
+        @Override
+        public void recordShowdown(List<Hand> winningHands) {
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.synacy.poker.model.card;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CardSetTest {
+
+	private final Card aceOfHearts = Card.of(CardRank.ACE, CardSuit.HEARTS);
+	private final Card aceOfSpades = Card.of(CardRank.ACE, CardSuit.SPADES);
+	private final Card twoOfHearts = Card.of(CardRank.TWO, CardSuit.HEARTS);
+
+	@Test
+	public void of_ignoresDuplicates() {
+		CardSet cardSet = CardSet.of(Arrays.asList(aceOfHearts, new Card(CardRank.ACE, CardSuit.HEARTS), twoOfHearts));
+
+		assertEquals(2, cardSet.size());
+		assertTrue(cardSet.contains(aceOfHearts));
+		assertFalse(cardSet.contains(aceOfSpades));
+	}
+
+	@Test
+	public void union_containsTheCardsOfBothSets() {
+		CardSet union = CardSet.of(aceOfHearts).union(CardSet.of(aceOfSpades, twoOfHearts));
+
+		assertEquals(CardSet.of(aceOfHearts, aceOfSpades, twoOfHearts), union);
+		assertTrue(union.containsAll(CardSet.of(aceOfSpades)));
+		assertEquals(CardSet.of(aceOfSpades), union.minus(CardSet.of(aceOfHearts, twoOfHearts)));
+	}
+
+	@Test
+	public void with_doesNotChangeTheOriginalSet() {
+		CardSet cardSet = CardSet.of(aceOfHearts);
+
+		cardSet.with(aceOfSpades);
+
+		assertEquals(1, cardSet.size());
+	}
+
+	@Test
+	public void suitAndRankViews() {
+		CardSet cardSet = CardSet.of(aceOfHearts, aceOfSpades, twoOfHearts);
+
+		assertEquals(CardSet.of(aceOfHearts, twoOfHearts), cardSet.ofSuit(CardSuit.HEARTS));
+		assertEquals(CardSet.of(aceOfHearts, aceOfSpades), cardSet.ofRank(CardRank.ACE));
+		assertEquals(2, cardSet.suitCount(CardSuit.HEARTS));
+		assertEquals(2, cardSet.rankCount(CardRank.ACE));
+		assertEquals(0b1001, cardSet.rankSuits(CardRank.ACE));
+		assertEquals(1 << CardRank.ACE.ordinal() | 1 << CardRank.TWO.ordinal(), cardSet.ranks());
+	}
+
+	@Test
+	public void histograms() {
+		CardSet cardSet = CardSet.of(aceOfHearts, aceOfSpades, twoOfHearts);
+
+		long rankHistogram = cardSet.rankHistogram();
+		int suitHistogram = cardSet.suitHistogram();
+
+		assertEquals(2, rankHistogram >>> (3 * CardRank.ACE.ordinal()) & 7);
+		assertEquals(1, rankHistogram >>> (3 * CardRank.TWO.ordinal()) & 7);
+		assertEquals(0, rankHistogram >>> (3 * CardRank.KING.ordinal()) & 7);
+		assertEquals(2, suitHistogram >>> (8 * CardSuit.HEARTS.ordinal()) & 0xFF);
+		assertEquals(1, suitHistogram >>> (8 * CardSuit.SPADES.ordinal()) & 0xFF);
+	}
+
+	@Test
+	public void iterator_returnsTheSharedCardsInSuitThenRankOrder() {
+		CardSet cardSet = CardSet.of(aceOfHearts, aceOfSpades, twoOfHearts);
+
+		assertEquals(Arrays.asList(aceOfSpades, twoOfHearts, aceOfHearts), cardSet.toList());
+		assertSame(aceOfSpades, cardSet.iterator().next());
+		assertEquals(52, CardSet.fullDeck().toList().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void fromMask_withBitsOutsideTheRanks_throwsException() {
+		CardSet.fromMask(1L << 13);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void of_blankCard_throwsException() {
+		CardSet.of(new BlankCard());
+	}
+
+	@Test
+	public void parse_readsRankAndSuitLettersInEitherCase() {
+		CardSet cardSet = CardSet.parse(" Ah as\t2H ");
+
+		assertEquals(CardSet.of(aceOfHearts, aceOfSpades, twoOfHearts), cardSet);
+		assertEquals(CardSet.EMPTY, CardSet.parse(""));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parse_repeatedCard_throwsException() {
+		CardSet.parse("Ah 2h ah");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parse_unknownSuit_throwsException() {
+		CardSet.parse("Ax");
+	}
+
+}
@@ -22,6 +22,31 @@ public class CardTest {
 		assertNotEquals(card1, card2);
 	}
 
+	@Test
+	public void of_returnsTheSameInstanceForTheSameRankAndSuit() {
+		Card card = Card.of(CardRank.QUEEN, CardSuit.CLUBS);
+
+		assertSame(card, Card.of(CardRank.QUEEN, CardSuit.CLUBS));
+		assertEquals(new Card(CardRank.QUEEN, CardSuit.CLUBS), card);
+	}
+
+	@Test
+	public void fromIndex_coversEveryCardOnce() {
+		for (int index = 0; index < Card.DECK_SIZE; index++) {
+			Card card = Card.fromIndex(index);
+
+			assertEquals(index, card.getIndex());
+			assertEquals(card.getRank().ordinal(), Card.rankOf(index));
+			assertEquals(card.getSuit().ordinal(), Card.suitOf(index));
+			assertSame(card, Card.of(card.getRank(), card.getSuit()));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void fromIndex_outsideTheDeck_throwsException() {
+		Card.fromIndex(Card.DECK_SIZE);
+	}
+
 	@Test
 	public void styleClass_whenDiamondsOrHearts_returnsRedClass() {
 		Card card1 = new Card(CardRank.ACE, CardSuit.DIAMONDS);
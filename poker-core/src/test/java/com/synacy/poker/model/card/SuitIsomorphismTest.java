@@ -0,0 +1,144 @@
+package com.synacy.poker.model.card;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SuitIsomorphismTest {
+
+	private static final int[][] SUIT_PERMUTATIONS = permutations();
+
+	@Test
+	public void size_matchesTheKnownNumberOfIsomorphismClasses() {
+		assertEquals(169, new SuitIsomorphism(2).size());
+		assertEquals(1755, new SuitIsomorphism(3).size());
+		assertEquals(1286792, new SuitIsomorphism(2, 3).size());
+		assertEquals(55190538, new SuitIsomorphism(2, 3, 1).size());
+		assertEquals(2428287420L, new SuitIsomorphism(2, 3, 1, 1).size());
+		assertEquals(13960050, new SuitIsomorphism(2, 4).size());
+		assertEquals(123156254, new SuitIsomorphism(2, 5).size());
+	}
+
+	@Test
+	public void index_everyFlopMapsOntoADenseRange() {
+		SuitIsomorphism flops = new SuitIsomorphism(3);
+		BitSet indexes = new BitSet();
+		for (int a = 0; a < Card.DECK_SIZE; a++) {
+			for (int b = a + 1; b < Card.DECK_SIZE; b++) {
+				for (int c = b + 1; c < Card.DECK_SIZE; c++) {
+					long index = flops.index(CardSet.of(Card.fromIndex(a), Card.fromIndex(b), Card.fromIndex(c)));
+					assertTrue(index >= 0 && index < flops.size());
+					indexes.set((int) index);
+				}
+			}
+		}
+
+		assertEquals(1755, indexes.cardinality());
+	}
+
+	@Test
+	public void canonicalize_sameIndexAndRepresentativeForEverySuitPermutation() {
+		SuitIsomorphism isomorphism = new SuitIsomorphism(2, 3, 1, 1);
+		Random random = new Random(3);
+		for (int i = 0; i < 2000; i++) {
+			long[] rounds = randomRounds(random, 2, 3, 1, 1);
+			SuitIsomorphism.CanonicalHand canonical = isomorphism.canonicalize(rounds);
+
+			for (int[] permutation : SUIT_PERMUTATIONS) {
+				SuitIsomorphism.CanonicalHand permuted = isomorphism.canonicalize(permute(rounds, permutation));
+				assertEquals(canonical.getIndex(), permuted.getIndex());
+				assertEquals(canonical.getCards(), permuted.getCards());
+			}
+		}
+	}
+
+	@Test
+	public void canonicalize_differentIndexesForHandsThatAreNotIsomorphic() {
+		SuitIsomorphism isomorphism = new SuitIsomorphism(2, 3);
+		CardSet aceKingOfSpades = CardSet.of(Card.of(CardRank.ACE, CardSuit.SPADES),
+				Card.of(CardRank.KING, CardSuit.SPADES));
+		CardSet spadeFlop = CardSet.of(Card.of(CardRank.TWO, CardSuit.SPADES),
+				Card.of(CardRank.THREE, CardSuit.SPADES), Card.of(CardRank.FOUR, CardSuit.SPADES));
+		CardSet heartFlop = CardSet.of(Card.of(CardRank.TWO, CardSuit.HEARTS),
+				Card.of(CardRank.THREE, CardSuit.HEARTS), Card.of(CardRank.FOUR, CardSuit.HEARTS));
+
+		assertTrue(isomorphism.index(aceKingOfSpades, spadeFlop) != isomorphism.index(aceKingOfSpades, heartFlop));
+	}
+
+	@Test
+	public void toOriginal_mapsTheCanonicalHandBack() {
+		SuitIsomorphism isomorphism = new SuitIsomorphism(2, 3, 1);
+		Random random = new Random(5);
+		for (int i = 0; i < 1000; i++) {
+			long[] rounds = randomRounds(random, 2, 3, 1);
+			SuitIsomorphism.CanonicalHand canonical = isomorphism.canonicalize(rounds);
+
+			for (int round = 0; round < rounds.length; round++) {
+				assertEquals(CardSet.fromMask(rounds[round]), canonical.toOriginal(canonical.getRound(round)));
+			}
+			for (CardSuit suit : CardSuit.values()) {
+				assertEquals(suit, canonical.getOriginalSuit(canonical.getCanonicalSuit(suit)));
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void canonicalize_withSharedCards_throwsException() {
+		CardSet aceOfSpades = CardSet.of(Card.of(CardRank.ACE, CardSuit.SPADES));
+
+		new SuitIsomorphism(1, 1).canonicalize(aceOfSpades, aceOfSpades);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void canonicalize_withWrongRoundSize_throwsException() {
+		new SuitIsomorphism(2).canonicalize(CardSet.of(Card.of(CardRank.ACE, CardSuit.SPADES)));
+	}
+
+	private static long[] randomRounds(Random random, int... roundSizes) {
+		long dealt = 0L;
+		long[] rounds = new long[roundSizes.length];
+		for (int round = 0; round < roundSizes.length; round++) {
+			while (Long.bitCount(rounds[round]) < roundSizes[round]) {
+				Card card = Card.fromIndex(random.nextInt(Card.DECK_SIZE));
+				long bit = CardSet.of(card).getMask();
+				if ((dealt & bit) == 0) {
+					dealt |= bit;
+					rounds[round] |= bit;
+				}
+			}
+		}
+		return rounds;
+	}
+
+	private static long[] permute(long[] rounds, int[] permutation) {
+		long[] permuted = new long[rounds.length];
+		for (int round = 0; round < rounds.length; round++) {
+			for (int suit = 0; suit < permutation.length; suit++) {
+				long lane = rounds[round] >>> (suit * CardSet.SUIT_SHIFT) & CardSet.RANK_BITS;
+				permuted[round] |= lane << (permutation[suit] * CardSet.SUIT_SHIFT);
+			}
+		}
+		return permuted;
+	}
+
+	private static int[][] permutations() {
+		int[][] permutations = new int[24][];
+		int count = 0;
+		for (int a = 0; a < 4; a++) {
+			for (int b = 0; b < 4; b++) {
+				for (int c = 0; c < 4; c++) {
+					int d = 6 - a - b - c;
+					if (a != b && a != c && b != c && d != a && d != b && d != c) {
+						permutations[count++] = new int[]{a, b, c, d};
+					}
+				}
+			}
+		}
+		return permutations;
+	}
+
+}
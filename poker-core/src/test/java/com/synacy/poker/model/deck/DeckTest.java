@@ -0,0 +1,142 @@
+package com.synacy.poker.model.deck;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSuit;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DeckTest {
+
+	private Deck deck;
+
+	@Before
+	public void setUp() {
+		deck = new Deck();
+	}
+
+	@Test
+	public void constructor_initializesWithNoCards() {
+		assertEquals(0, deck.size());
+	}
+
+	@Test
+	public void addCard() {
+		Card card = new Card(CardRank.ACE, CardSuit.HEARTS);
+
+		deck.addCard(card);
+
+		assertEquals(1, deck.size());
+	}
+
+	@Test
+	public void shuffle_returnsShuffledDeckOfEqualSize() {
+		Card aceHearts = new Card(CardRank.ACE, CardSuit.HEARTS);
+		Card aceDiamonds = new Card(CardRank.ACE, CardSuit.DIAMONDS);
+		Card aceClubs = new Card(CardRank.ACE, CardSuit.CLUBS);
+		Card aceSpades = new Card(CardRank.ACE, CardSuit.SPADES);
+		deck.addCards(Arrays.asList(aceHearts, aceDiamonds, aceClubs, aceSpades));
+
+		deck.shuffle();
+
+		assertEquals(4, deck.size());
+	}
+
+	@Test
+	public void removeFromTop_removeCardFromTopOfDeck() {
+		Card expectedTopCard = new Card(CardRank.ACE, CardSuit.HEARTS);
+		Card bottomCard = new Card(CardRank.ACE, CardSuit.DIAMONDS);
+		deck.addCards(Arrays.asList(expectedTopCard, bottomCard));
+
+		Card actualRemovedTopCard = deck.removeFromTop();
+
+		assertEquals(expectedTopCard, actualRemovedTopCard);
+	}
+
+	@Test
+	public void addCard_ignoresCardAlreadyInDeck() {
+		deck.addCards(Arrays.asList(new Card(CardRank.ACE, CardSuit.HEARTS), new Card(CardRank.ACE, CardSuit.HEARTS)));
+
+		assertEquals(1, deck.size());
+	}
+
+	@Test
+	public void removeFromTop_returnsTheSharedCard() {
+		deck.addCard(new Card(CardRank.TEN, CardSuit.SPADES));
+
+		assertSame(Card.of(CardRank.TEN, CardSuit.SPADES), deck.removeFromTop());
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void removeFromTop_whenEmpty_throwsException() {
+		deck.addCard(new Card(CardRank.TEN, CardSuit.SPADES));
+		deck.removeFromTop();
+
+		deck.removeFromTop();
+	}
+
+	@Test
+	public void shuffle_withSameSeed_dealsTheSameCards() {
+		Deck otherDeck = new DeckBuilder(new SeededShuffleSource(42)).buildDeck();
+		deck = new DeckBuilder(new SeededShuffleSource(42)).buildDeck();
+
+		deck.shuffle();
+		otherDeck.shuffle();
+
+		while (deck.size() > 0) {
+			assertSame(otherDeck.removeFromTop(), deck.removeFromTop());
+		}
+	}
+
+	@Test
+	public void reset_putsRemovedCardsBack() {
+		deck = new DeckBuilder().buildDeck();
+		deck.shuffle();
+		Card topCard = deck.removeFromTop();
+		deck.removeFromTop();
+
+		deck.reset();
+
+		assertEquals(52, deck.size());
+		assertSame(topCard, deck.removeFromTop());
+	}
+
+	@Test
+	public void shuffle_keepsEveryRemainingCard() {
+		deck = new DeckBuilder().buildDeck();
+		deck.removeFromTop();
+
+		deck.shuffle();
+
+		Set<Card> cards = new HashSet<>();
+		while (deck.size() > 0) {
+			cards.add(deck.removeFromTop());
+		}
+		assertEquals(51, cards.size());
+	}
+
+	@Test
+	public void shuffle_withSplitSources_dealsDifferentCards() {
+		SeededShuffleSource shuffleSource = new SeededShuffleSource(42);
+		Deck otherDeck = new DeckBuilder().buildDeck();
+		deck = new DeckBuilder().buildDeck();
+
+		deck.shuffle(shuffleSource.split());
+		otherDeck.shuffle(shuffleSource.split());
+
+		int sameCards = 0;
+		while (deck.size() > 0) {
+			sameCards += deck.removeFromTop().equals(otherDeck.removeFromTop()) ? 1 : 0;
+		}
+		assertTrue(sameCards < 10);
+	}
+
+}
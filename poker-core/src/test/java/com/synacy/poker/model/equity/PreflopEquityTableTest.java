@@ -0,0 +1,94 @@
+package com.synacy.poker.model.equity;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSuit;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.hand.HandRankTable;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PreflopEquityTableTest {
+
+    private static final HandRankTable HAND_RANK_TABLE = new HandRankTable(HandRankTable.Mode.SEVEN_CARD);
+
+    private PreflopEquityTable table = new PreflopEquityTable(HAND_RANK_TABLE, 20000, null);
+
+    @Test
+    public void classIndex_every169ClassHasTheRightNumberOfHands() {
+        int[] hands = new int[PreflopEquityTable.CLASS_COUNT];
+        for (int a = 0; a < Card.DECK_SIZE; a++) {
+            for (int b = a + 1; b < Card.DECK_SIZE; b++) {
+                hands[PreflopEquityTable.classIndex(Card.fromIndex(a), Card.fromIndex(b))]++;
+            }
+        }
+
+        for (int classIndex = 0; classIndex < PreflopEquityTable.CLASS_COUNT; classIndex++) {
+            String name = PreflopEquityTable.className(classIndex);
+            int expected = name.endsWith("s") ? 4 : name.endsWith("o") ? 12 : 6;
+            assertEquals(name, expected, hands[classIndex]);
+        }
+    }
+
+    @Test
+    public void className() {
+        Card aceOfSpades = Card.of(CardRank.ACE, CardSuit.SPADES);
+
+        assertEquals("AA", PreflopEquityTable.className(PreflopEquityTable.classIndex(aceOfSpades,
+                Card.of(CardRank.ACE, CardSuit.HEARTS))));
+        assertEquals("AKs", PreflopEquityTable.className(PreflopEquityTable.classIndex(
+                Card.of(CardRank.KING, CardSuit.SPADES), aceOfSpades)));
+        assertEquals("AKo", PreflopEquityTable.className(PreflopEquityTable.classIndex(aceOfSpades,
+                Card.of(CardRank.KING, CardSuit.CLUBS))));
+        assertEquals("72o", PreflopEquityTable.className(PreflopEquityTable.classIndex(
+                Card.of(CardRank.TWO, CardSuit.DIAMONDS), Card.of(CardRank.SEVEN, CardSuit.HEARTS))));
+    }
+
+    @Test
+    public void getEquity_estimatedWithoutTheResource() {
+        Player player = new Player("Jane");
+        player.addToHand(Card.of(CardRank.ACE, CardSuit.SPADES));
+        player.addToHand(Card.of(CardRank.ACE, CardSuit.HEARTS));
+
+        assertEquals(0.852, table.getEquity(player, 1), 0.01);
+        assertTrue(table.getEquity(player, 1) > table.getEquity(player, 4));
+        assertTrue(table.getEquity(player, 4) > table.getEquity(player, 9));
+    }
+
+    @Test
+    public void write_readsBackTheSameEquities() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PreflopEquityTable(HAND_RANK_TABLE, 200, null).write(out);
+
+        PreflopEquityTable loaded = new PreflopEquityTable(HAND_RANK_TABLE, 200,
+                new ByteArrayInputStream(out.toByteArray()));
+        PreflopEquityTable written = new PreflopEquityTable(HAND_RANK_TABLE, 200, null);
+        for (int classIndex = 0; classIndex < PreflopEquityTable.CLASS_COUNT; classIndex++) {
+            for (int opponents = 1; opponents <= PreflopEquityTable.MAX_OPPONENTS; opponents++) {
+                assertEquals(written.getEquity(classIndex, opponents), loaded.getEquity(classIndex, opponents),
+                        1.0 / 0xFFFF);
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getEquity_withoutTheResourceOrFallbackSamples_throwsException() {
+        PreflopEquityTable unloaded = new PreflopEquityTable(HAND_RANK_TABLE, 0, null);
+
+        assertFalse(unloaded.isLoaded());
+        unloaded.getEquity(0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getEquity_withTooManyOpponents_throwsException() {
+        table.getEquity(0, PreflopEquityTable.MAX_OPPONENTS + 1);
+    }
+
+}
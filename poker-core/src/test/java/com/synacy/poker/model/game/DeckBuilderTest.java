@@ -2,6 +2,7 @@ package com.synacy.poker.model.game;
 
 import com.synacy.poker.model.deck.Deck;
 import com.synacy.poker.model.deck.DeckBuilder;
+import com.synacy.poker.model.deck.DeckProfile;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -17,4 +18,14 @@ public class DeckBuilderTest {
 		assertEquals(52, deck.size());
 	}
 
+	@Test
+	public void buildDeck_shortDeck() {
+		DeckBuilder deckBuilder = new DeckBuilder();
+
+		Deck deck = deckBuilder.buildDeck(DeckProfile.SHORT_DECK);
+
+		assertEquals(36, deck.size());
+		assertEquals(DeckProfile.SHORT_DECK.getDeckSize(), deck.size());
+	}
+
 }
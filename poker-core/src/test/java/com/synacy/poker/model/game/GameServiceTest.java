@@ -0,0 +1,166 @@
+package com.synacy.poker.model.game;
+
+import com.synacy.poker.history.HandHistory;
+import com.synacy.poker.history.HandRecord;
+import com.synacy.poker.metrics.PokerMetrics;
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.DeckBuilder;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.hand.Hand;
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+import com.synacy.poker.services.GameService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+
+public class GameServiceTest {
+
+
+    @Test
+    public void afterConstructorInit_eachPlayerHasTwoCards() {
+        DeckBuilder deckBuilder = new DeckBuilder();
+        HandIdentifier handIdentifier = mock(HandIdentifier.class);
+        WinningHandCalculator winningHandCalculator = mock(WinningHandCalculator.class);
+
+        GameService gameService = new GameService(deckBuilder, handIdentifier, winningHandCalculator);
+
+        assertPlayersHaveTwoCardsEach(gameService);
+    }
+
+    @Test
+    public void startNewGame_eachPlayerHasTwoCards() {
+        DeckBuilder deckBuilder = new DeckBuilder();
+        HandIdentifier handIdentifier = mock(HandIdentifier.class);
+        WinningHandCalculator winningHandCalculator = mock(WinningHandCalculator.class);
+
+        GameService gameService = new GameService(deckBuilder, handIdentifier, winningHandCalculator);
+
+        assertPlayersHaveTwoCardsEach(gameService);
+    }
+
+    private void assertPlayersHaveTwoCardsEach(GameService gameService) {
+        gameService.getPlayers().forEach(player ->
+                Assert.assertEquals("Players should have 2 cards each",
+                        2,
+                        player.getHand().size()));
+    }
+
+    @Test
+    public void nextAction_dealCommunityCards() {
+        DeckBuilder deckBuilder = new DeckBuilder();
+        HandIdentifier handIdentifier = new HandIdentifier();
+        WinningHandCalculator winningHandCalculator = new WinningHandCalculator(handIdentifier,
+                new HandRankTable(HandRankTable.Mode.FIVE_CARD));
+
+        GameService gameService = new GameService(deckBuilder, handIdentifier, winningHandCalculator);
+        gameService.nextAction();
+        assertEquals("Deal three community cards at the start", 3, gameService.getCommunityCards().size());
+
+        gameService.nextAction();
+        assertEquals("Expecting four community cards", 4, gameService.getCommunityCards().size());
+
+        gameService.nextAction();
+        assertEquals("Expecting 5 community cards", 5, gameService.getCommunityCards().size());
+    }
+
+    @Test
+    public void omahaHiLo_dealsFourCardsAndSplitsThePot() {
+        HandIdentifier handIdentifier = new HandIdentifier();
+        WinningHandCalculator winningHandCalculator = new WinningHandCalculator(handIdentifier,
+                new HandRankTable(HandRankTable.Mode.FIVE_CARD));
+
+        GameService gameService = new GameService(new DeckBuilder(), handIdentifier, winningHandCalculator,
+                PokerMetrics.DISABLED, GameType.OMAHA_HI_LO);
+        gameService.getPlayers().forEach(player -> assertEquals(4, player.getHand().size()));
+
+        for (int game = 0; game < 50; game++) {
+            while (!gameService.hasEnded()) {
+                gameService.nextAction();
+            }
+            ShowdownResult result = gameService.getResult();
+            double potShares = 0.0;
+            for (int i = 0; i < gameService.getPlayers().size(); i++) {
+                potShares += result.getPotShare(i);
+                assertEquals(5, result.getHand(i).getCards().size());
+            }
+            assertEquals(1.0, potShares, 1e-9);
+            gameService.startNewGame();
+        }
+    }
+
+    @Test
+    public void nextAction_recordsTheGameInTheHandHistoryAtTheShowdown() {
+        HandIdentifier handIdentifier = new HandIdentifier();
+        WinningHandCalculator winningHandCalculator = new WinningHandCalculator(handIdentifier,
+                new HandRankTable(HandRankTable.Mode.FIVE_CARD));
+        List<HandRecord> records = new ArrayList<>();
+        HandHistory handHistory = records::add;
+
+        GameService gameService = new GameService(new DeckBuilder(), handIdentifier, winningHandCalculator,
+                PokerMetrics.DISABLED, GameType.OMAHA_HI_LO, DeckProfile.STANDARD, handHistory);
+        gameService.nextAction();
+        gameService.startNewGame();
+        assertEquals("A game that did not end is not recorded", 0, records.size());
+
+        long before = System.currentTimeMillis();
+        while (!gameService.hasEnded()) {
+            gameService.nextAction();
+        }
+        assertEquals(1, records.size());
+        gameService.nextAction();
+        assertEquals("A game is recorded once", 1, records.size());
+
+        HandRecord record = records.get(0);
+        assertTrue(record.getTimestamp() >= before);
+        assertEquals(GameType.OMAHA_HI_LO, record.getGameType());
+        assertEquals(DeckProfile.STANDARD, record.getDeckProfile());
+        assertEquals(3, record.getSeatCount());
+        assertEquals(gameService.getPlayers().get(0).getHand(), record.getHoleCards(0));
+        assertEquals(gameService.getCommunityCards(), record.getCommunityCards());
+        assertEquals(gameService.getResult().getWinners(), record.getWinners());
+        assertEquals(gameService.getResult().getLowWinners(), record.getLowWinners());
+    }
+
+    @Test
+    public void nextAction_countsTheShowdownOnce() {
+        HandIdentifier handIdentifier = new HandIdentifier();
+        WinningHandCalculator winningHandCalculator = new WinningHandCalculator(handIdentifier,
+                new HandRankTable(HandRankTable.Mode.FIVE_CARD));
+        List<List<Hand>> showdowns = new ArrayList<>();
+        PokerMetrics metrics = new PokerMetrics(new PokerMetrics.Recorder() {
+            @Override
+            public void recordTime(PokerMetrics.Operation operation, long nanos) {
+            }
+
+            @Override
+            public void recordHandDealt() {
+            }
+
+            @Override
+            public void recordShowdown(List<Hand> winningHands) {
+                showdowns.add(winningHands);
+            }
+        }, 1);
+
+        GameService gameService = new GameService(new DeckBuilder(), handIdentifier, winningHandCalculator,
+                metrics, GameType.TEXAS_HOLDEM);
+        while (!gameService.hasEnded()) {
+            gameService.nextAction();
+        }
+        gameService.nextAction();
+        gameService.identifyWinningHand();
+
+        assertEquals(1, showdowns.size());
+        assertEquals(gameService.getResult().getWinnerCount(), showdowns.get(0).size());
+    }
+}
@@ -3,8 +3,11 @@ package com.synacy.poker.model.game;
 import com.synacy.poker.model.card.Card;
 import com.synacy.poker.model.card.CardRank;
 import com.synacy.poker.model.card.CardSuit;
+import com.synacy.poker.model.deck.DeckProfile;
 import com.synacy.poker.model.hand.Hand;
 import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.RankTableHandIdentifier;
 import com.synacy.poker.model.hand.types.Flush;
 import com.synacy.poker.model.hand.types.FourOfAKind;
 import com.synacy.poker.model.hand.types.FullHouse;
@@ -17,6 +20,7 @@ import com.synacy.poker.model.hand.types.TwoPair;
 import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -235,4 +239,61 @@ public class HandIdentifierTest {
 		assertTrue(identifiedHand instanceof HighCard);
 		assertEquals("A,Q,J,10,6", identifiedHand.toString());
 	}
+
+	@Test
+	public void identifyHand_fiveHighStraight() {
+		List<Card> playerCards = Arrays.asList(
+				new Card(CardRank.ACE, CardSuit.SPADES),
+				new Card(CardRank.TWO, CardSuit.CLUBS)
+		);
+
+		List<Card> communityCards = Arrays.asList(
+				new Card(CardRank.THREE, CardSuit.DIAMONDS),
+				new Card(CardRank.FOUR, CardSuit.SPADES),
+				new Card(CardRank.FIVE, CardSuit.HEARTS),
+				new Card(CardRank.KING, CardSuit.SPADES),
+				new Card(CardRank.KING, CardSuit.DIAMONDS)
+		);
+
+		Hand identifiedHand = handIdentifier.identifyHand(playerCards, communityCards);
+
+		assertTrue(identifiedHand instanceof Straight);
+		assertEquals("Straight (5 High)", identifiedHand.toString());
+	}
+
+	@Test
+	public void identifyHand_shortDeckNineHighStraight() {
+		HandIdentifier shortDeckIdentifier = new RankTableHandIdentifier(
+				new HandRankTable(DeckProfile.SHORT_DECK, HandRankTable.Mode.SEVEN_CARD));
+		List<Card> playerCards = Arrays.asList(
+				new Card(CardRank.ACE, CardSuit.SPADES),
+				new Card(CardRank.SIX, CardSuit.CLUBS)
+		);
+
+		List<Card> communityCards = Arrays.asList(
+				new Card(CardRank.SEVEN, CardSuit.DIAMONDS),
+				new Card(CardRank.EIGHT, CardSuit.SPADES),
+				new Card(CardRank.NINE, CardSuit.HEARTS),
+				new Card(CardRank.KING, CardSuit.SPADES),
+				new Card(CardRank.KING, CardSuit.DIAMONDS)
+		);
+
+		Hand identifiedHand = shortDeckIdentifier.identifyHand(playerCards, communityCards);
+
+		assertTrue(identifiedHand instanceof Straight);
+		assertEquals("Straight (9 High)", identifiedHand.toString());
+	}
+
+	@Test
+	public void identifyHand_onePairBeforeCommunityCards() {
+		List<Card> playerCards = Arrays.asList(
+				new Card(CardRank.KING, CardSuit.SPADES),
+				new Card(CardRank.KING, CardSuit.CLUBS)
+		);
+
+		Hand identifiedHand = handIdentifier.identifyHand(playerCards, Collections.emptyList());
+
+		assertTrue(identifiedHand instanceof OnePair);
+		assertEquals("One Pair (K)", identifiedHand.toString());
+	}
 }
@@ -0,0 +1,158 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.card.CardSuit;
+import com.synacy.poker.model.game.Player;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EvaluationCacheTest {
+
+    private final long aces = HandEvaluator.cardMask(Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES),
+            Card.of(CardRank.ACE, CardSuit.HEARTS)));
+    private final long kings = HandEvaluator.cardMask(Arrays.asList(Card.of(CardRank.KING, CardSuit.SPADES),
+            Card.of(CardRank.KING, CardSuit.HEARTS)));
+    private final long queens = HandEvaluator.cardMask(Arrays.asList(Card.of(CardRank.QUEEN, CardSuit.SPADES),
+            Card.of(CardRank.QUEEN, CardSuit.HEARTS)));
+
+    @Test
+    public void evaluate_matchesTheEvaluatorWhileEvicting() {
+        long[] cardMasks = randomCardMasks(5000, 1);
+        for (EvaluationCache.Eviction eviction : EvaluationCache.Eviction.values()) {
+            EvaluationCache cache = new EvaluationCache(1000, eviction);
+            SplittableRandom random = new SplittableRandom(2);
+            for (int i = 0; i < 50000; i++) {
+                long cardMask = cardMasks[random.nextInt(cardMasks.length)];
+                assertEquals(HandEvaluator.evaluate(cardMask), cache.evaluate(cardMask));
+            }
+
+            assertEquals(1000, cache.size());
+            assertTrue(cache.getEvictionCount() > 0);
+            assertEquals(50000, cache.getHitCount() + cache.getMissCount());
+            assertTrue(cache.getMemoryUsage() > 1000 * 12);
+        }
+    }
+
+    @Test
+    public void lru_evictsTheLeastRecentlyUsedEntry() {
+        EvaluationCache cache = new EvaluationCache(2, EvaluationCache.Eviction.LRU);
+        cache.evaluate(aces);
+        cache.evaluate(kings);
+        cache.evaluate(aces);
+
+        cache.evaluate(queens);
+
+        assertEquals(1, cache.getEvictionCount());
+        cache.evaluate(aces);
+        assertEquals(2, cache.getHitCount());
+        cache.evaluate(kings);
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void clock_evictsAnEntryThatWasNotReferencedSinceTheLastSweep() {
+        EvaluationCache cache = new EvaluationCache(2, EvaluationCache.Eviction.CLOCK);
+        cache.evaluate(aces);
+        cache.evaluate(kings);
+        cache.evaluate(queens);
+
+        cache.evaluate(kings);
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0.25, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void evaluate_concurrently() throws InterruptedException {
+        long[] cardMasks = randomCardMasks(20000, 3);
+        EvaluationCache cache = new EvaluationCache(4096, EvaluationCache.Eviction.CLOCK);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 50000; i++) {
+                        long cardMask = cardMasks[random.nextInt(cardMasks.length)];
+                        assertEquals(HandEvaluator.evaluate(cardMask), cache.evaluate(cardMask));
+                    }
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(Arrays.asList(), failures);
+        assertTrue(cache.size() <= cache.getCapacity());
+    }
+
+    @Test
+    public void cachingHandIdentifier_identifiesTheSameHands() {
+        CachingHandIdentifier cachingHandIdentifier = new CachingHandIdentifier(
+                new EvaluationCache(16, EvaluationCache.Eviction.LRU));
+        List<Card> playerCards = Arrays.asList(Card.of(CardRank.ACE, CardSuit.SPADES),
+                Card.of(CardRank.ACE, CardSuit.HEARTS));
+        List<Card> communityCards = Arrays.asList(Card.of(CardRank.ACE, CardSuit.CLUBS),
+                Card.of(CardRank.TWO, CardSuit.SPADES), Card.of(CardRank.TWO, CardSuit.HEARTS));
+
+        Hand hand = cachingHandIdentifier.identifyHand(playerCards, communityCards);
+        cachingHandIdentifier.identifyHand(playerCards, communityCards);
+
+        assertEquals(new HandIdentifier().identifyHand(playerCards, communityCards).toString(), hand.toString());
+        assertEquals(1, cachingHandIdentifier.getCache().getHitCount());
+    }
+
+    @Test
+    public void winningHandCalculator_scoresTheShowdownThroughTheCache() {
+        CachingHandIdentifier cachingHandIdentifier = new CachingHandIdentifier(
+                new EvaluationCache(1024, EvaluationCache.Eviction.LRU));
+        HandRankTable handRankTable = new HandRankTable(HandRankTable.Mode.FIVE_CARD);
+        WinningHandCalculator cachingCalculator = new WinningHandCalculator(cachingHandIdentifier, handRankTable);
+        WinningHandCalculator calculator = new WinningHandCalculator(new HandIdentifier(), handRankTable);
+        List<Player> players = Arrays.asList(player(aces), player(kings), player(queens));
+        CardSet communityCards = CardSet.parse("Kd 7c 2h 9s 3d");
+
+        List<Hand> winningHands = cachingCalculator.calculateWinningHand(players, communityCards);
+        cachingCalculator.calculateWinningHand(players, communityCards);
+
+        assertEquals(calculator.calculateWinningHand(players, communityCards).toString(), winningHands.toString());
+        assertEquals(HandType.THREE_OF_A_KIND, winningHands.get(0).getHandType());
+        assertEquals(3, cachingHandIdentifier.getCache().getMissCount());
+        assertEquals(3, cachingHandIdentifier.getCache().getHitCount());
+    }
+
+    private static Player player(long holeCards) {
+        Player player = new Player("Player");
+        CardSet.fromMask(holeCards).forEach(player::addToHand);
+        return player;
+    }
+
+    private static long[] randomCardMasks(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] cardMasks = new long[count];
+        for (int i = 0; i < count; i++) {
+            while (Long.bitCount(cardMasks[i]) < 7) {
+                cardMasks[i] |= HandEvaluator.cardMask(random.nextInt(Card.DECK_SIZE));
+            }
+        }
+        return cardMasks;
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSuit;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HandEvaluatorTest {
+
+    @Test
+    public void cardMask_oneBitPerCard() {
+        long cardMask = HandEvaluator.cardMask(Arrays.asList(
+                new Card(CardRank.TWO, CardSuit.SPADES),
+                new Card(CardRank.ACE, CardSuit.HEARTS)
+        ));
+
+        assertEquals(2, Long.bitCount(cardMask));
+        assertEquals(1, HandEvaluator.suitRanks(cardMask, CardSuit.SPADES.ordinal()));
+        assertEquals(1 << CardRank.ACE.ordinal(), HandEvaluator.suitRanks(cardMask, CardSuit.HEARTS.ordinal()));
+    }
+
+    @Test
+    public void evaluate_straightFlushBeatsFourOfAKind() {
+        int straightFlush = evaluate(
+                new Card(CardRank.FIVE, CardSuit.CLUBS),
+                new Card(CardRank.FOUR, CardSuit.CLUBS),
+                new Card(CardRank.THREE, CardSuit.CLUBS),
+                new Card(CardRank.TWO, CardSuit.CLUBS),
+                new Card(CardRank.ACE, CardSuit.CLUBS)
+        );
+        int fourOfAKind = evaluate(
+                new Card(CardRank.ACE, CardSuit.CLUBS),
+                new Card(CardRank.ACE, CardSuit.SPADES),
+                new Card(CardRank.ACE, CardSuit.HEARTS),
+                new Card(CardRank.ACE, CardSuit.DIAMONDS),
+                new Card(CardRank.KING, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.STRAIGHT_FLUSH, HandEvaluator.getHandType(straightFlush));
+        assertEquals(CardRank.FIVE.ordinal(), HandEvaluator.getRank(straightFlush, 0));
+        assertEquals(HandType.FOUR_OF_A_KIND, HandEvaluator.getHandType(fourOfAKind));
+        assertTrue(straightFlush > fourOfAKind);
+    }
+
+    @Test
+    public void evaluate_fullHouseFromTwoTrips() {
+        int score = evaluate(
+                new Card(CardRank.NINE, CardSuit.CLUBS),
+                new Card(CardRank.NINE, CardSuit.SPADES),
+                new Card(CardRank.NINE, CardSuit.HEARTS),
+                new Card(CardRank.KING, CardSuit.DIAMONDS),
+                new Card(CardRank.KING, CardSuit.CLUBS),
+                new Card(CardRank.KING, CardSuit.HEARTS),
+                new Card(CardRank.TWO, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.FULL_HOUSE, HandEvaluator.getHandType(score));
+        assertEquals(CardRank.KING.ordinal(), HandEvaluator.getRank(score, 0));
+        assertEquals(CardRank.NINE.ordinal(), HandEvaluator.getRank(score, 1));
+    }
+
+    @Test
+    public void evaluate_sixCardStraightUsesHighestFive() {
+        int score = evaluate(
+                new Card(CardRank.TWO, CardSuit.CLUBS),
+                new Card(CardRank.THREE, CardSuit.SPADES),
+                new Card(CardRank.FOUR, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.DIAMONDS),
+                new Card(CardRank.SIX, CardSuit.CLUBS),
+                new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                new Card(CardRank.ACE, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.STRAIGHT, HandEvaluator.getHandType(score));
+        assertEquals(CardRank.SEVEN.ordinal(), HandEvaluator.getRank(score, 0));
+    }
+
+    @Test
+    public void evaluate_kickerBreaksTie() {
+        int aceKicker = evaluate(
+                new Card(CardRank.TEN, CardSuit.CLUBS),
+                new Card(CardRank.TEN, CardSuit.SPADES),
+                new Card(CardRank.ACE, CardSuit.HEARTS),
+                new Card(CardRank.FOUR, CardSuit.DIAMONDS),
+                new Card(CardRank.THREE, CardSuit.CLUBS)
+        );
+        int kingKicker = evaluate(
+                new Card(CardRank.TEN, CardSuit.HEARTS),
+                new Card(CardRank.TEN, CardSuit.DIAMONDS),
+                new Card(CardRank.KING, CardSuit.HEARTS),
+                new Card(CardRank.FOUR, CardSuit.CLUBS),
+                new Card(CardRank.THREE, CardSuit.HEARTS)
+        );
+
+        assertEquals(HandType.ONE_PAIR, HandEvaluator.getHandType(aceKicker));
+        assertTrue(aceKicker > kingKicker);
+    }
+
+    @Test
+    public void evaluate_sameRanksInDifferentSuitsTie() {
+        int first = evaluate(
+                new Card(CardRank.ACE, CardSuit.CLUBS),
+                new Card(CardRank.JACK, CardSuit.SPADES),
+                new Card(CardRank.NINE, CardSuit.HEARTS),
+                new Card(CardRank.SIX, CardSuit.DIAMONDS),
+                new Card(CardRank.TWO, CardSuit.CLUBS)
+        );
+        int second = evaluate(
+                new Card(CardRank.ACE, CardSuit.HEARTS),
+                new Card(CardRank.JACK, CardSuit.CLUBS),
+                new Card(CardRank.NINE, CardSuit.SPADES),
+                new Card(CardRank.SIX, CardSuit.HEARTS),
+                new Card(CardRank.TWO, CardSuit.DIAMONDS)
+        );
+
+        assertEquals(HandType.HIGH_CARD, HandEvaluator.getHandType(first));
+        assertEquals(first, second);
+    }
+
+    private int evaluate(Card... cards) {
+        return HandEvaluator.evaluate(HandEvaluator.cardMask(Arrays.asList(cards)));
+    }
+
+}
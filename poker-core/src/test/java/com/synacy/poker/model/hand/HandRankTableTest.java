@@ -0,0 +1,156 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.card.CardSuit;
+import com.synacy.poker.model.deck.DeckProfile;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HandRankTableTest {
+
+    private HandRankTable sevenCardTable = new HandRankTable(HandRankTable.Mode.SEVEN_CARD, null);
+    private HandRankTable shortDeckTable = new HandRankTable(HandRankTable.Mode.SEVEN_CARD,
+            DeckProfile.SHORT_DECK, null);
+
+    @Test
+    public void getClassCount_distinctFiveCardHands() {
+        assertEquals(7462, sevenCardTable.getClassCount());
+    }
+
+    @Test
+    public void rank_royalFlushIsTheHighestClass() {
+        int rank = sevenCardTable.rank(Arrays.asList(
+                new Card(CardRank.ACE, CardSuit.HEARTS),
+                new Card(CardRank.KING, CardSuit.HEARTS),
+                new Card(CardRank.QUEEN, CardSuit.HEARTS),
+                new Card(CardRank.JACK, CardSuit.HEARTS),
+                new Card(CardRank.TEN, CardSuit.HEARTS),
+                new Card(CardRank.ACE, CardSuit.CLUBS),
+                new Card(CardRank.ACE, CardSuit.SPADES)
+        ));
+
+        assertEquals(7462, rank);
+    }
+
+    @Test
+    public void rank_sevenFiveHighIsTheLowestClass() {
+        int rank = sevenCardTable.rank(Arrays.asList(
+                new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.CLUBS),
+                new Card(CardRank.FOUR, CardSuit.HEARTS),
+                new Card(CardRank.THREE, CardSuit.SPADES),
+                new Card(CardRank.TWO, CardSuit.HEARTS)
+        ));
+
+        assertEquals(1, rank);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rank_withFourCards_throwsException() {
+        sevenCardTable.rank(Arrays.asList(
+                new Card(CardRank.ACE, CardSuit.HEARTS),
+                new Card(CardRank.KING, CardSuit.HEARTS),
+                new Card(CardRank.QUEEN, CardSuit.HEARTS),
+                new Card(CardRank.JACK, CardSuit.HEARTS)
+        ));
+    }
+
+    @Test
+    public void evaluate_matchesHandEvaluatorInEveryMode() {
+        HandRankTable fiveCardTable = new HandRankTable(HandRankTable.Mode.FIVE_CARD, null);
+        HandRankTable directTable = new HandRankTable(HandRankTable.Mode.DIRECT, null);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            long cardMask = randomCardMask(random, 5 + i % 3);
+            int expected = HandEvaluator.evaluate(cardMask);
+
+            assertEquals(expected, sevenCardTable.evaluate(cardMask));
+            assertEquals(expected, fiveCardTable.evaluate(cardMask));
+            assertEquals(expected, directTable.evaluate(cardMask));
+        }
+    }
+
+    @Test
+    public void write_canBeLoadedBack() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        sevenCardTable.write(out);
+
+        HandRankTable loaded = new HandRankTable(HandRankTable.Mode.SEVEN_CARD,
+                new ByteArrayInputStream(out.toByteArray()));
+        Random random = new Random(7);
+
+        for (int i = 0; i < 5000; i++) {
+            long cardMask = randomCardMask(random, 7);
+            assertEquals(sevenCardTable.rank(cardMask), loaded.rank(cardMask));
+        }
+    }
+
+    @Test
+    public void getClassCount_shortDeck() {
+        assertEquals(1404, shortDeckTable.getClassCount());
+    }
+
+    @Test
+    public void rank_shortDeckNineHighStraightIsTheLowestStraight() {
+        assertEquals(HandType.STRAIGHT, HandEvaluator.getHandType(shortDeckTable.evaluate(mask("As 6c 7d 8s 9h"))));
+        assertTrue(rank(shortDeckTable, "As 6c 7d 8s 9h") < rank(shortDeckTable, "6c 7d 8s 9h Ts"));
+        assertTrue(rank(shortDeckTable, "As 6c 7d 8s 9h") > rank(shortDeckTable, "As Ac Ad Ks Qh"));
+        assertEquals(HandType.STRAIGHT_FLUSH,
+                HandEvaluator.getHandType(shortDeckTable.evaluate(mask("As 6s 7s 8s 9s"))));
+    }
+
+    @Test
+    public void rank_shortDeckFlushBeatsAFullHouse() {
+        assertTrue(rank(shortDeckTable, "6s 7s 8s 9s Js") > rank(shortDeckTable, "As Ac Ad Ks Kh"));
+        assertTrue(rank(shortDeckTable, "6s 7s 8s 9s Js") < rank(shortDeckTable, "6s 6c 6d 6h Ks"));
+        assertTrue(rank(sevenCardTable, "6s 7s 8s 9s Js") < rank(sevenCardTable, "As Ac Ad Ks Kh"));
+    }
+
+    @Test
+    public void rank_shortDeckSevenCardsIsTheBestOfTheirFiveCardHands() {
+        Random random = new Random(11);
+        for (int i = 0; i < 3000; i++) {
+            long cardMask = 0L;
+            while (Long.bitCount(cardMask) < 7) {
+                cardMask |= 1L << (random.nextInt(4) * HandEvaluator.SUIT_SHIFT + CardRank.SIX.ordinal()
+                        + random.nextInt(9));
+            }
+            int best = 0;
+            for (long subset = cardMask; subset != 0; subset = (subset - 1) & cardMask) {
+                if (Long.bitCount(subset) == 5) {
+                    best = Math.max(best, shortDeckTable.rank(subset));
+                }
+            }
+
+            assertEquals(best, shortDeckTable.rank(cardMask));
+        }
+    }
+
+    private long randomCardMask(Random random, int cardCount) {
+        long cardMask = 0L;
+        while (Long.bitCount(cardMask) < cardCount) {
+            cardMask |= 1L << (random.nextInt(4) * HandEvaluator.SUIT_SHIFT + random.nextInt(13));
+        }
+        return cardMask;
+    }
+
+    private static int rank(HandRankTable handRankTable, String cards) {
+        return handRankTable.rank(mask(cards));
+    }
+
+    private static long mask(String cards) {
+        return CardSet.parse(cards).getMask();
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.card.CardSuit;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.hand.types.FullHouse;
+import com.synacy.poker.model.hand.types.OnePair;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HandValueTest {
+
+    private HandIdentifier handIdentifier = new HandIdentifier();
+
+    @Test
+    public void getValue_identifiedHandCarriesItsScore() {
+        List<Card> playerCards = Arrays.asList(
+                new Card(CardRank.QUEEN, CardSuit.SPADES),
+                new Card(CardRank.QUEEN, CardSuit.HEARTS)
+        );
+        List<Card> communityCards = Arrays.asList(
+                new Card(CardRank.TWO, CardSuit.CLUBS),
+                new Card(CardRank.SEVEN, CardSuit.DIAMONDS),
+                new Card(CardRank.NINE, CardSuit.SPADES)
+        );
+
+        HandValue value = handIdentifier.identifyHand(playerCards, communityCards).getValue();
+
+        assertEquals(handIdentifier.evaluateHand(playerCards, communityCards), value.getScore());
+        assertEquals(HandType.ONE_PAIR, value.getHandType());
+        assertEquals(CardRank.QUEEN, value.getRank(0));
+        assertEquals(CardRank.NINE, value.getRank(1));
+    }
+
+    @Test
+    public void getValue_computedFromTheCardsOfAConstructedHand() {
+        OnePair onePair = new OnePair(
+                Arrays.asList(new Card(CardRank.QUEEN, CardSuit.CLUBS), new Card(CardRank.QUEEN, CardSuit.DIAMONDS)),
+                Arrays.asList(new Card(CardRank.NINE, CardSuit.HEARTS), new Card(CardRank.SEVEN, CardSuit.SPADES),
+                        new Card(CardRank.TWO, CardSuit.SPADES))
+        );
+
+        List<Card> playerCards = Arrays.asList(
+                new Card(CardRank.QUEEN, CardSuit.SPADES),
+                new Card(CardRank.QUEEN, CardSuit.HEARTS)
+        );
+        List<Card> communityCards = Arrays.asList(
+                new Card(CardRank.TWO, CardSuit.CLUBS),
+                new Card(CardRank.SEVEN, CardSuit.DIAMONDS),
+                new Card(CardRank.NINE, CardSuit.SPADES)
+        );
+
+        assertEquals(handIdentifier.identifyHand(playerCards, communityCards).getValue(), onePair.getValue());
+    }
+
+    @Test
+    public void compareTo_higherFullHouseBeatsLowerFullHouse() {
+        FullHouse kingsFull = new FullHouse(
+                Arrays.asList(new Card(CardRank.KING, CardSuit.CLUBS), new Card(CardRank.KING, CardSuit.DIAMONDS),
+                        new Card(CardRank.KING, CardSuit.HEARTS)),
+                Arrays.asList(new Card(CardRank.TWO, CardSuit.HEARTS), new Card(CardRank.TWO, CardSuit.SPADES))
+        );
+        FullHouse queensFull = new FullHouse(
+                Arrays.asList(new Card(CardRank.QUEEN, CardSuit.CLUBS), new Card(CardRank.QUEEN, CardSuit.DIAMONDS),
+                        new Card(CardRank.QUEEN, CardSuit.HEARTS)),
+                Arrays.asList(new Card(CardRank.ACE, CardSuit.HEARTS), new Card(CardRank.ACE, CardSuit.SPADES))
+        );
+
+        assertTrue(kingsFull.compareTo(queensFull) > 0);
+        assertTrue(kingsFull.getValue().beats(queensFull.getValue()));
+        assertFalse(queensFull.getValue().beats(kingsFull.getValue()));
+    }
+
+    @Test
+    public void compareTo_shortDeckFlushBeatsFullHouse() {
+        HandIdentifier shortDeckIdentifier = new RankTableHandIdentifier(
+                new HandRankTable(HandRankTable.Mode.FIVE_CARD, DeckProfile.SHORT_DECK, null));
+        CardSet board = CardSet.parse("9h 9d 6h 7h");
+
+        Hand flush = shortDeckIdentifier.identifyHand(CardSet.parse("Ah Th"), board);
+        Hand fullHouse = shortDeckIdentifier.identifyHand(CardSet.parse("9c 6s"), board);
+
+        assertEquals(HandType.FLUSH, flush.getHandType());
+        assertEquals(HandType.FULL_HOUSE, fullHouse.getHandType());
+        assertTrue(flush.compareTo(fullHouse) > 0);
+        assertTrue(flush.getValue().beats(fullHouse.getValue()));
+        assertTrue(handIdentifier.identifyHand(CardSet.parse("Ah Th"), board)
+                .compareTo(handIdentifier.identifyHand(CardSet.parse("9c 6s"), board)) < 0);
+    }
+
+}
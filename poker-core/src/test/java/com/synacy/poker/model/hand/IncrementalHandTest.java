@@ -0,0 +1,69 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSuit;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+
+public class IncrementalHandTest {
+
+    @Test
+    public void evaluate_matchesTheEvaluatorOnEveryStreet() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int hand = 0; hand < 20000; hand++) {
+            IncrementalHand incrementalHand = new IncrementalHand();
+            long cardMask = 0L;
+            while (incrementalHand.size() < 7) {
+                long card = HandEvaluator.cardMask(Card.fromIndex(random.nextInt(Card.DECK_SIZE)));
+                if ((cardMask & card) == 0) {
+                    cardMask |= card;
+                    incrementalHand.addAll(card);
+                    assertEquals(HandEvaluator.evaluate(cardMask), incrementalHand.evaluate());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void remove_undoesAdd() {
+        IncrementalHand incrementalHand = new IncrementalHand();
+        incrementalHand.add(Card.of(CardRank.ACE, CardSuit.HEARTS));
+        incrementalHand.add(Card.of(CardRank.ACE, CardSuit.SPADES));
+        IncrementalHand pairOfAces = incrementalHand.copy();
+
+        incrementalHand.add(Card.of(CardRank.ACE, CardSuit.CLUBS));
+        assertEquals(HandType.THREE_OF_A_KIND, HandEvaluator.getHandType(incrementalHand.evaluate()));
+        assertEquals(3, incrementalHand.getRankCount(CardRank.ACE.ordinal()));
+
+        incrementalHand.remove(Card.of(CardRank.ACE, CardSuit.HEARTS));
+        assertEquals(pairOfAces.evaluate(), incrementalHand.evaluate());
+        assertEquals(0, incrementalHand.getSuitCount(CardSuit.HEARTS.ordinal()));
+        assertEquals(1, incrementalHand.getSuitCount(CardSuit.CLUBS.ordinal()));
+    }
+
+    @Test
+    public void evaluate_flushNeedsFiveCardsOfOneSuit() {
+        IncrementalHand incrementalHand = new IncrementalHand();
+        for (CardRank rank : new CardRank[]{CardRank.TWO, CardRank.FIVE, CardRank.NINE, CardRank.JACK}) {
+            incrementalHand.add(Card.of(rank, CardSuit.DIAMONDS));
+        }
+        assertEquals(HandType.HIGH_CARD, HandEvaluator.getHandType(incrementalHand.evaluate()));
+
+        incrementalHand.add(Card.of(CardRank.KING, CardSuit.DIAMONDS));
+
+        assertEquals(HandType.FLUSH, HandEvaluator.getHandType(incrementalHand.evaluate()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_sameCardTwice_throwsException() {
+        IncrementalHand incrementalHand = new IncrementalHand();
+        incrementalHand.add(Card.of(CardRank.ACE, CardSuit.HEARTS));
+
+        incrementalHand.add(Card.of(CardRank.ACE, CardSuit.HEARTS));
+    }
+
+}
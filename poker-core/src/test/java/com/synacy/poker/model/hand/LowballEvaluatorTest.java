@@ -0,0 +1,211 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LowballEvaluatorTest {
+
+    private static final int[] LOW_BITS = {2, 4, 8, 16, 32, 64, 128, 0, 0, 0, 0, 0, 1};
+
+    private final LowballEvaluator aceToFive = new LowballEvaluator(LowballEvaluator.Type.ACE_TO_FIVE);
+    private final LowballEvaluator eightOrBetter = new LowballEvaluator(LowballEvaluator.Type.EIGHT_OR_BETTER);
+    private final LowballEvaluator deuceToSeven = new LowballEvaluator(LowballEvaluator.Type.DEUCE_TO_SEVEN);
+
+    @Test
+    public void getClassCount() {
+        assertEquals(6175, aceToFive.getClassCount());
+        assertEquals(56, eightOrBetter.getClassCount());
+        assertEquals(7462, deuceToSeven.getClassCount());
+    }
+
+    @Test
+    public void aceToFive_ignoresStraightsAndFlushes() {
+        assertEquals(1, evaluate(aceToFive, "As 2s 3s 4s 5s"));
+        assertEquals(2, evaluate(aceToFive, "Ad 2c 3h 4s 6s"));
+        assertEquals(56, evaluate(aceToFive, "4d 5c 6h 7s 8s"));
+        assertEquals(57, evaluate(aceToFive, "Ad 2c 3h 4s 9s"));
+        assertEquals(1287, evaluate(aceToFive, "9d Tc Jh Qs Ks"));
+        assertEquals(1288, evaluate(aceToFive, "Ad Ac 2h 3s 4s"));
+        assertEquals(6175, evaluate(aceToFive, "Kd Kc Kh Ks Qs"));
+    }
+
+    @Test
+    public void aceToFive_ordersFiveCardHandsByTheirPairsAndHighestCards() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 20000; i++) {
+            long first = deal(random, 5);
+            long second = deal(random, 5);
+
+            assertEquals(Long.signum(aceToFiveKey(first) - aceToFiveKey(second)),
+                    Integer.signum(aceToFive.evaluate(first) - aceToFive.evaluate(second)));
+        }
+    }
+
+    @Test
+    public void eightOrBetter_needsFiveDifferentRanksOfEightOrLower() {
+        assertEquals(1, evaluate(eightOrBetter, "As 2s 3s 4s 5s Kd Kc"));
+        assertEquals(56, evaluate(eightOrBetter, "4d 5c 6h 7s 8s"));
+        assertEquals(LowballEvaluator.NO_LOW, evaluate(eightOrBetter, "Ad 2c 3h 4s 9s"));
+        assertEquals(LowballEvaluator.NO_LOW, evaluate(eightOrBetter, "Ad Ac 2h 3s 4s 4d 9c"));
+        assertEquals(LowballEvaluator.NO_LOW, evaluate(eightOrBetter, "Ad 2c 3h 4s"));
+    }
+
+    @Test
+    public void eightOrBetter_takesTheFiveLowestRanksOfSevenCards() {
+        SplittableRandom random = new SplittableRandom(5);
+        int lows = 0;
+        for (int i = 0; i < 20000; i++) {
+            long first = deal(random, 7);
+            long second = deal(random, 7);
+
+            int firstLow = eightOrBetter.evaluate(first);
+            int secondLow = eightOrBetter.evaluate(second);
+            assertEquals(lowestFiveLowBits(first) == 0, firstLow == LowballEvaluator.NO_LOW);
+            if (firstLow != LowballEvaluator.NO_LOW && secondLow != LowballEvaluator.NO_LOW) {
+                assertEquals(Integer.signum(lowestFiveLowBits(first) - lowestFiveLowBits(second)),
+                        Integer.signum(firstLow - secondLow));
+                lows++;
+            }
+        }
+        assertTrue(lows > 0);
+    }
+
+    @Test
+    public void deuceToSeven_countsStraightsAndFlushesAndTheAceIsHigh() {
+        assertEquals(1, evaluate(deuceToSeven, "7s 5d 4c 3h 2s"));
+        assertTrue(evaluate(deuceToSeven, "Kd Qc Jh Ts 8s") < evaluate(deuceToSeven, "As 2d 3c 4h 5s"));
+        assertTrue(evaluate(deuceToSeven, "As 2d 3c 4h 5s") < evaluate(deuceToSeven, "2s 2d 3c 4h 5s"));
+        assertTrue(evaluate(deuceToSeven, "Ad Kc Qh Js 9s") < evaluate(deuceToSeven, "6s 5d 4c 3h 2s"));
+        assertTrue(evaluate(deuceToSeven, "6s 5d 4c 3h 2s") < evaluate(deuceToSeven, "7s 5s 4s 3s 2s"));
+        assertEquals(7462, evaluate(deuceToSeven, "As Ks Qs Js Ts"));
+    }
+
+    @Test
+    public void deuceToSeven_isTheReverseOfTheHighHandWithoutTheWheel() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 20000; i++) {
+            long first = deal(random, 5);
+            long second = deal(random, 5);
+            if (isWheel(first) || isWheel(second)) {
+                continue;
+            }
+
+            assertEquals(Integer.signum(HandEvaluator.evaluate(first) - HandEvaluator.evaluate(second)),
+                    Integer.signum(deuceToSeven.evaluate(first) - deuceToSeven.evaluate(second)));
+        }
+    }
+
+    @Test
+    public void evaluate_sevenCardsIsTheBestOfTheirFiveCardHands() {
+        SplittableRandom random = new SplittableRandom(13);
+        for (LowballEvaluator lowballEvaluator : Arrays.asList(aceToFive, eightOrBetter, deuceToSeven)) {
+            for (int i = 0; i < 3000; i++) {
+                long cardMask = deal(random, 6 + i % 2);
+                int best = LowballEvaluator.NO_LOW;
+                for (long subset = cardMask; subset != 0; subset = (subset - 1) & cardMask) {
+                    if (Long.bitCount(subset) == 5) {
+                        best = Math.min(best, lowballEvaluator.evaluate(subset));
+                    }
+                }
+
+                int low = lowballEvaluator.evaluate(cardMask);
+                assertEquals(best, low);
+                if (low != LowballEvaluator.NO_LOW) {
+                    long bestHand = lowballEvaluator.bestHand(cardMask);
+                    assertEquals(5, Long.bitCount(bestHand));
+                    assertEquals(bestHand, bestHand & cardMask);
+                    assertEquals(low, lowballEvaluator.evaluate(bestHand));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bestHand_withoutALowIsEmpty() {
+        assertEquals(0L, eightOrBetter.bestHand(CardSet.parse("Ad Kc 3h 4s 9s Qd 2c").getMask()));
+    }
+
+    private static int evaluate(LowballEvaluator lowballEvaluator, String cards) {
+        return lowballEvaluator.evaluate(CardSet.parse(cards).getMask());
+    }
+
+    private static long deal(SplittableRandom random, int count) {
+        long cardMask = 0L;
+        while (Long.bitCount(cardMask) < count) {
+            cardMask |= HandEvaluator.cardMask(random.nextInt(Card.DECK_SIZE));
+        }
+        return cardMask;
+    }
+
+    /**
+     * @return A key that orders five cards by their number of pairs, then their ranks from the most paired and
+     * the highest, with the Ace low
+     */
+    private static long aceToFiveKey(long cardMask) {
+        int[] counts = new int[13];
+        for (long cards = cardMask; cards != 0; cards &= cards - 1) {
+            int rank = Long.numberOfTrailingZeros(cards) & 15;
+            counts[(rank + 1) % 13]++;
+        }
+        int distinct = 0;
+        int most = 0;
+        for (int count : counts) {
+            distinct += count > 0 ? 1 : 0;
+            most = Math.max(most, count);
+        }
+        int[] patterns = {51, 42, 32, 33, 23, 24};
+        long key = indexOf(patterns, distinct * 10 + most);
+        int digits = 0;
+        for (int count = 4; count > 0; count--) {
+            for (int rank = 12; rank >= 0; rank--) {
+                if (counts[rank] == count) {
+                    key = key * 16 + rank;
+                    digits++;
+                }
+            }
+        }
+        for (; digits < 5; digits++) {
+            key *= 16;
+        }
+        return key;
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The low bits of the five lowest ranks of Eight or lower, or 0 if there are not five
+     */
+    private static int lowestFiveLowBits(long cardMask) {
+        int low = 0;
+        for (long cards = cardMask; cards != 0; cards &= cards - 1) {
+            low |= LOW_BITS[Long.numberOfTrailingZeros(cards) & 15];
+        }
+        while (Integer.bitCount(low) > 5) {
+            low &= ~Integer.highestOneBit(low);
+        }
+        return Integer.bitCount(low) == 5 ? low : 0;
+    }
+
+    private static boolean isWheel(long cardMask) {
+        int ranks = 0;
+        for (long cards = cardMask; cards != 0; cards &= cards - 1) {
+            ranks |= 1 << (Long.numberOfTrailingZeros(cards) & 15);
+        }
+        return ranks == 0x100F;
+    }
+
+}
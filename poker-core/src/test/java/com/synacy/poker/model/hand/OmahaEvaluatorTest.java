@@ -0,0 +1,171 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class OmahaEvaluatorTest {
+
+    private static final int[] LOW_BITS = {2, 4, 8, 16, 32, 64, 128, 0, 0, 0, 0, 0, 1};
+
+    private final OmahaEvaluator omahaEvaluator = new OmahaEvaluator(
+            new HandRankTable(HandRankTable.Mode.FIVE_CARD, null));
+
+    @Test
+    public void evaluate_matchesEveryCombinationOfTwoHoleAndThreeCommunityCards() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int deal = 0; deal < 5000; deal++) {
+            long[] cards = deal(random);
+            OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(CardSet.fromMask(cards[1]));
+
+            int score = omahaEvaluator.toScore(omahaEvaluator.evaluate(board, cards[0]));
+            long bestHand = omahaEvaluator.bestHand(board, cards[0]);
+
+            assertEquals(bruteForceHigh(cards[0], cards[1]), score);
+            assertEquals(score, HandEvaluator.evaluate(bestHand));
+            assertEquals(2, Long.bitCount(bestHand & cards[0]));
+            assertEquals(3, Long.bitCount(bestHand & cards[1]));
+        }
+    }
+
+    @Test
+    public void reset_preparesTheBoardLikeANewOne() {
+        SplittableRandom random = new SplittableRandom(13);
+        OmahaEvaluator.Board reused = new OmahaEvaluator.Board();
+        for (int deal = 0; deal < 5000; deal++) {
+            long[] cards = deal(random);
+            long communityCards = deal % 4 == 0 ? Long.lowestOneBit(cards[1]) : cards[1];
+            OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(CardSet.fromMask(communityCards));
+
+            assertSame(reused, reused.reset(communityCards));
+            assertEquals(communityCards, reused.getCardMask());
+            assertEquals(omahaEvaluator.evaluate(board, cards[0]), omahaEvaluator.evaluate(reused, cards[0]));
+            assertEquals(omahaEvaluator.evaluateLow(board, cards[0]), omahaEvaluator.evaluateLow(reused, cards[0]));
+        }
+    }
+
+    @Test
+    public void evaluateLow_matchesEveryCombinationOfTwoHoleAndThreeCommunityCards() {
+        SplittableRandom random = new SplittableRandom(11);
+        int lows = 0;
+        for (int deal = 0; deal < 5000; deal++) {
+            long[] cards = deal(random);
+            OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(CardSet.fromMask(cards[1]));
+
+            int low = omahaEvaluator.evaluateLow(board, cards[0]);
+
+            assertEquals(bruteForceLow(cards[0], cards[1]), low);
+            if (low != OmahaEvaluator.NO_LOW) {
+                assertEquals(low, lowBits(omahaEvaluator.bestLowHand(board, cards[0])));
+                lows++;
+            }
+        }
+        assertNotEquals(0, lows);
+    }
+
+    @Test
+    public void evaluate_oneSuitedHoleCardIsNotAFlush() {
+        OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(CardSet.parse("2h 7h 9h Kh 3c"));
+
+        long bestHand = omahaEvaluator.bestHand(board, CardSet.parse("Ah Ac Qs Jd").getMask());
+
+        assertEquals(HandType.ONE_PAIR, HandValue.of(HandEvaluator.evaluate(bestHand)).getHandType());
+    }
+
+    @Test
+    public void evaluate_fourOfAKindInTheHandIsOnlyAPair() {
+        OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(CardSet.parse("2h 7d 9s Kh 3c"));
+
+        long bestHand = omahaEvaluator.bestHand(board, CardSet.parse("Ah Ac As Ad").getMask());
+
+        assertEquals(HandType.ONE_PAIR, HandValue.of(HandEvaluator.evaluate(bestHand)).getHandType());
+    }
+
+    @Test
+    public void evaluateLow_needsFiveDifferentRanksOfEightOrLower() {
+        OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(CardSet.parse("2h 7d 4s Kh 3c"));
+
+        assertEquals(OmahaEvaluator.NO_LOW, omahaEvaluator.evaluateLow(board, CardSet.parse("2c 3s Qd Jd").getMask()));
+        assertEquals(lowBits(CardSet.parse("Ah 2s 7d 4s 3c").getMask()),
+                omahaEvaluator.evaluateLow(board, CardSet.parse("Ah 2s Qd Jd").getMask()));
+        assertEquals(OmahaEvaluator.NO_LOW, omahaEvaluator.evaluateLow(board, CardSet.parse("Ah As Qd Jd").getMask()));
+    }
+
+    @Test
+    public void bestHand_beforeTheFlopIsTheBestHolePair() {
+        OmahaEvaluator.Board board = omahaEvaluator.prepareBoard(CardSet.EMPTY);
+
+        long bestHand = omahaEvaluator.bestHand(board, CardSet.parse("Kh 9c Ks 2d").getMask());
+
+        assertEquals(CardSet.parse("Kh Ks").getMask(), bestHand);
+        assertEquals(0, omahaEvaluator.evaluate(board, CardSet.parse("Kh 9c Ks 2d").getMask()));
+    }
+
+    /**
+     * @return Four hole cards and five community cards
+     */
+    private static long[] deal(SplittableRandom random) {
+        long used = 0L;
+        long[] cards = new long[2];
+        for (int card = 0; card < 9; card++) {
+            long cardMask;
+            do {
+                cardMask = HandEvaluator.cardMask(random.nextInt(Card.DECK_SIZE));
+            } while ((used & cardMask) != 0);
+            used |= cardMask;
+            cards[card < 4 ? 0 : 1] |= cardMask;
+        }
+        return cards;
+    }
+
+    private static int bruteForceHigh(long holeCards, long communityCards) {
+        int best = 0;
+        for (long pair : subsets(holeCards, 2)) {
+            for (long triple : subsets(communityCards, 3)) {
+                best = Math.max(best, HandEvaluator.evaluate(pair | triple));
+            }
+        }
+        return best;
+    }
+
+    private static int bruteForceLow(long holeCards, long communityCards) {
+        int best = OmahaEvaluator.NO_LOW;
+        for (long pair : subsets(holeCards, 2)) {
+            for (long triple : subsets(communityCards, 3)) {
+                int low = lowBits(pair | triple);
+                if (Integer.bitCount(low) == 5) {
+                    best = Math.min(best, low);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static int lowBits(long cardMask) {
+        int low = 0;
+        for (long cards = cardMask; cards != 0; cards &= cards - 1) {
+            low |= LOW_BITS[Long.numberOfTrailingZeros(cards) & 15];
+        }
+        return low;
+    }
+
+    private static long[] subsets(long cardMask, int size) {
+        long[] subsets = new long[10];
+        int count = 0;
+        for (long subset = cardMask; subset != 0; subset = (subset - 1) & cardMask) {
+            if (Long.bitCount(subset) == size) {
+                subsets[count++] = subset;
+            }
+        }
+        long[] result = new long[count];
+        System.arraycopy(subsets, 0, result, 0, count);
+        return result;
+    }
+
+}
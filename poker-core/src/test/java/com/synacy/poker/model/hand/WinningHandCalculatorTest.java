@@ -0,0 +1,157 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.card.CardSuit;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WinningHandCalculatorTest {
+
+    private WinningHandCalculator winningHandCalculator = new WinningHandCalculator(new HandIdentifier(),
+            new HandRankTable(HandRankTable.Mode.SEVEN_CARD, null));
+
+    private List<Card> communityCards = Arrays.asList(
+            new Card(CardRank.KING, CardSuit.HEARTS),
+            new Card(CardRank.KING, CardSuit.CLUBS),
+            new Card(CardRank.NINE, CardSuit.SPADES),
+            new Card(CardRank.SIX, CardSuit.DIAMONDS),
+            new Card(CardRank.TWO, CardSuit.HEARTS)
+    );
+
+    @Test
+    public void calculateWinningHand_higherHandTypeWins() {
+        Player alex = player("Alex", new Card(CardRank.NINE, CardSuit.HEARTS), new Card(CardRank.THREE, CardSuit.CLUBS));
+        Player bob = player("Bob", new Card(CardRank.KING, CardSuit.SPADES), new Card(CardRank.FOUR, CardSuit.CLUBS));
+        Player jane = player("Jane", new Card(CardRank.ACE, CardSuit.HEARTS), new Card(CardRank.QUEEN, CardSuit.CLUBS));
+
+        List<Hand> winningHands = winningHandCalculator.calculateWinningHand(Arrays.asList(alex, bob, jane),
+                communityCards);
+
+        assertEquals(1, winningHands.size());
+        assertEquals("Trips (K) - 9,6 High", winningHands.get(0).toString());
+    }
+
+    @Test
+    public void calculateWinningHand_kickerBreaksTie() {
+        Player alex = player("Alex", new Card(CardRank.ACE, CardSuit.HEARTS), new Card(CardRank.THREE, CardSuit.CLUBS));
+        Player bob = player("Bob", new Card(CardRank.QUEEN, CardSuit.SPADES), new Card(CardRank.JACK, CardSuit.CLUBS));
+
+        List<Hand> winningHands = winningHandCalculator.calculateWinningHand(Arrays.asList(alex, bob),
+                communityCards);
+
+        assertEquals(1, winningHands.size());
+        assertEquals("One Pair (K) - A,9,6 High", winningHands.get(0).toString());
+    }
+
+    @Test
+    public void calculateWinningHand_sameRanksAreTied() {
+        Player alex = player("Alex", new Card(CardRank.SIX, CardSuit.HEARTS), new Card(CardRank.TWO, CardSuit.CLUBS));
+        Player bob = player("Bob", new Card(CardRank.SIX, CardSuit.SPADES), new Card(CardRank.TWO, CardSuit.DIAMONDS));
+        Player jane = player("Jane", new Card(CardRank.EIGHT, CardSuit.HEARTS), new Card(CardRank.THREE, CardSuit.CLUBS));
+
+        List<Hand> winningHands = winningHandCalculator.calculateWinningHand(Arrays.asList(alex, bob, jane),
+                communityCards);
+
+        assertEquals(2, winningHands.size());
+        assertEquals("Two Pair (K,6) - 9 High", winningHands.get(0).toString());
+        assertEquals("Two Pair (K,6) - 9 High", winningHands.get(1).toString());
+    }
+
+    @Test
+    public void calculateWinningHand_omahaUsesExactlyTwoHoleCards() {
+        Player alex = player("Alex", "Ah Qh Jh Th");
+        Player bob = player("Bob", "9h 9c 8d Ac");
+        Player jane = player("Jane", "6s 6c 2c 3d");
+
+        List<Hand> winningHands = winningHandCalculator.calculateWinningHand(Arrays.asList(alex, bob, jane),
+                CardSet.of(communityCards), GameType.OMAHA);
+
+        assertEquals(1, winningHands.size());
+        assertEquals(CardSet.parse("9h 9c 9s Kh Kc"), winningHands.get(0).getCardSet());
+        assertEquals(HandType.FULL_HOUSE, winningHands.get(0).getHandType());
+    }
+
+    @Test
+    public void calculateWinningLowHand_lowestEightOrBetterWins() {
+        CardSet board = CardSet.parse("Ah 2c 7d Ks 9h");
+        Player alex = player("Alex", "3c 4d Qs Qh");
+        Player bob = player("Bob", "3s 5d Jc Jd");
+        Player jane = player("Jane", "Kc Kd Qc Jh");
+
+        List<Hand> winningLowHands = winningHandCalculator.calculateWinningLowHand(Arrays.asList(alex, bob, jane),
+                board);
+
+        assertEquals(1, winningLowHands.size());
+        assertEquals(CardSet.parse("Ah 2c 3c 4d 7d"), winningLowHands.get(0).getCardSet());
+        assertTrue(winningHandCalculator.calculateWinningLowHand(Arrays.asList(jane), board).isEmpty());
+    }
+
+    @Test
+    public void calculateSplitPot_highAndLowHalvesGoToDifferentPlayers() {
+        CardSet board = CardSet.parse("2h 4c 7d Ks Kd");
+        Player alex = player("Alex", "As 3s");
+        Player bob = player("Bob", "9c 9h");
+        Player jane = player("Jane", "3d 5c");
+
+        SplitPot splitPot = winningHandCalculator.calculateSplitPot(Arrays.asList(alex, bob, jane), board,
+                LowballEvaluator.Type.EIGHT_OR_BETTER);
+
+        assertEquals(3, splitPot.getPlayerHands().size());
+        assertEquals(0b010, splitPot.getHighWinners());
+        assertEquals(HandType.TWO_PAIR, splitPot.getHighHands().get(0).getHandType());
+        assertEquals(0b001, splitPot.getLowWinners());
+        assertEquals(CardSet.parse("As 2h 3s 4c 7d"), splitPot.getLowHands().get(0).getCardSet());
+    }
+
+    @Test
+    public void calculateSplitPot_highHandScoopsWithoutALow() {
+        Player alex = player("Alex", "As 3s");
+        Player bob = player("Bob", "9c 9h");
+
+        SplitPot splitPot = winningHandCalculator.calculateSplitPot(Arrays.asList(alex, bob),
+                CardSet.of(communityCards), GameType.TEXAS_HOLDEM_HI_LO);
+
+        assertEquals(0b10, splitPot.getHighWinners());
+        assertFalse(splitPot.hasLow());
+        assertTrue(splitPot.getLowHands().isEmpty());
+    }
+
+    @Test
+    public void calculateSplitPot_omahaHiLo_usesTwoHoleCardsForBothHalves() {
+        CardSet board = CardSet.parse("Ah 2c 7d Ks 9h");
+        Player alex = player("Alex", "3c 4d Qs Qh");
+        Player bob = player("Bob", "Kc Kd Qc Jh");
+
+        SplitPot splitPot = winningHandCalculator.calculateSplitPot(Arrays.asList(alex, bob), board,
+                GameType.OMAHA_HI_LO);
+
+        assertEquals(0b10, splitPot.getHighWinners());
+        assertEquals(HandType.THREE_OF_A_KIND, splitPot.getPlayerHands().get(1).getHandType());
+        assertEquals(0b01, splitPot.getLowWinners());
+        assertEquals(CardSet.parse("Ah 2c 3c 4d 7d"), splitPot.getLowHands().get(0).getCardSet());
+    }
+
+    private Player player(String name, String holeCards) {
+        Player player = new Player(name);
+        CardSet.parse(holeCards).forEach(player::addToHand);
+        return player;
+    }
+
+    private Player player(String name, Card firstCard, Card secondCard) {
+        Player player = new Player(name);
+        player.addToHand(firstCard);
+        player.addToHand(secondCard);
+        return player;
+    }
+
+}
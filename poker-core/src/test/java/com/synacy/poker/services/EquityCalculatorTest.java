@@ -0,0 +1,199 @@
+package com.synacy.poker.services;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.card.CardSuit;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.equity.Equity;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.hand.HandRankTable;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EquityCalculatorTest {
+
+    private EquityCalculator equityCalculator = new EquityCalculator(
+            new HandRankTable(HandRankTable.Mode.DIRECT), 100000, 0.95);
+
+    @Test
+    public void calculateEquity_acesAgainstKingsPreflop() {
+        Player alex = player("Alex", new Card(CardRank.ACE, CardSuit.SPADES), new Card(CardRank.ACE, CardSuit.HEARTS));
+        Player bob = player("Bob", new Card(CardRank.KING, CardSuit.CLUBS), new Card(CardRank.KING, CardSuit.DIAMONDS));
+
+        List<Equity> equities = equityCalculator.calculateEquity(Arrays.asList(alex, bob), Collections.emptyList(),
+                200000, 0.99, new SplittableRandom(1));
+
+        assertEquals(0.8126, equities.get(0).getEquity(), 0.004);
+        assertEquals(1.0, equities.get(0).getEquity() + equities.get(1).getEquity(), 1e-9);
+        assertTrue(equities.get(0).getMarginOfError() > 0);
+        assertTrue(equities.get(0).getLowerBound() < 0.8126 && 0.8126 < equities.get(0).getUpperBound());
+    }
+
+    @Test
+    public void calculateEquity_playingTheBoardIsATie() {
+        Player alex = player("Alex", new Card(CardRank.TWO, CardSuit.SPADES), new Card(CardRank.THREE, CardSuit.HEARTS));
+        Player bob = player("Bob", new Card(CardRank.TWO, CardSuit.CLUBS), new Card(CardRank.THREE, CardSuit.DIAMONDS));
+        List<Card> communityCards = Arrays.asList(
+                new Card(CardRank.ACE, CardSuit.HEARTS),
+                new Card(CardRank.KING, CardSuit.HEARTS),
+                new Card(CardRank.QUEEN, CardSuit.HEARTS),
+                new Card(CardRank.JACK, CardSuit.HEARTS),
+                new Card(CardRank.TEN, CardSuit.HEARTS)
+        );
+
+        List<Equity> equities = equityCalculator.calculateEquity(Arrays.asList(alex, bob), communityCards,
+                1000, 0.95, new SplittableRandom(1));
+
+        assertEquals(0.5, equities.get(0).getEquity(), 0);
+        assertEquals(1.0, equities.get(1).getTieRate(), 0);
+        assertEquals(0.0, equities.get(1).getMarginOfError(), 0);
+    }
+
+    @Test
+    public void calculateEquity_sameSeedGivesSameResult() {
+        Player alex = player("Alex", new Card(CardRank.ACE, CardSuit.SPADES), new Card(CardRank.KING, CardSuit.SPADES));
+        Player bob = player("Bob", new Card(CardRank.SEVEN, CardSuit.CLUBS), new Card(CardRank.SEVEN, CardSuit.DIAMONDS));
+        Player jane = player("Jane", new Card(CardRank.TEN, CardSuit.HEARTS), new Card(CardRank.NINE, CardSuit.HEARTS));
+        List<Player> players = Arrays.asList(alex, bob, jane);
+
+        List<Equity> first = equityCalculator.calculateEquity(players, Collections.emptyList(), 50000, 0.95,
+                new SplittableRandom(7));
+        List<Equity> second = equityCalculator.calculateEquity(players, Collections.emptyList(), 50000, 0.95,
+                new SplittableRandom(7));
+
+        for (int i = 0; i < players.size(); i++) {
+            assertEquals(first.get(i).getEquity(), second.get(i).getEquity(), 0);
+        }
+    }
+
+    @Test
+    public void calculateEquity_onTheTurn_enumeratesEveryRiver() {
+        Player alex = player("Alex", new Card(CardRank.ACE, CardSuit.SPADES), new Card(CardRank.KING, CardSuit.SPADES));
+        Player bob = player("Bob", new Card(CardRank.SEVEN, CardSuit.CLUBS), new Card(CardRank.SEVEN, CardSuit.DIAMONDS));
+        List<Card> communityCards = Arrays.asList(
+                new Card(CardRank.TWO, CardSuit.SPADES),
+                new Card(CardRank.NINE, CardSuit.SPADES),
+                new Card(CardRank.FOUR, CardSuit.HEARTS),
+                new Card(CardRank.JACK, CardSuit.CLUBS)
+        );
+
+        List<Equity> equities = equityCalculator.calculateEquity(Arrays.asList(alex, bob), communityCards,
+                1000, 0.95, new SplittableRandom(1));
+
+        // 9 spades and 6 overcards give Alex 15 of the 44 rivers
+        assertEquals(44, equities.get(0).getBoards());
+        assertEquals(15.0 / 44, equities.get(0).getEquity(), 0);
+        assertEquals(29.0 / 44, equities.get(1).getEquity(), 0);
+        assertEquals(0.0, equities.get(0).getMarginOfError(), 0);
+    }
+
+    @Test
+    public void enumerateEquity_onTheFlop_isReproducible() {
+        Player alex = player("Alex", new Card(CardRank.ACE, CardSuit.SPADES), new Card(CardRank.KING, CardSuit.SPADES));
+        Player bob = player("Bob", new Card(CardRank.SEVEN, CardSuit.CLUBS), new Card(CardRank.SEVEN, CardSuit.DIAMONDS));
+        Player jane = player("Jane", new Card(CardRank.TEN, CardSuit.HEARTS), new Card(CardRank.NINE, CardSuit.HEARTS));
+        List<Player> players = Arrays.asList(alex, bob, jane);
+        List<Card> communityCards = Arrays.asList(
+                new Card(CardRank.TWO, CardSuit.SPADES),
+                new Card(CardRank.EIGHT, CardSuit.HEARTS),
+                new Card(CardRank.JACK, CardSuit.CLUBS)
+        );
+
+        List<Equity> enumerated = equityCalculator.enumerateEquity(players, communityCards);
+        List<Equity> calculated = equityCalculator.calculateEquity(players, communityCards);
+
+        double total = 0;
+        for (int i = 0; i < players.size(); i++) {
+            assertEquals(EquityCalculator.combinations(43, 2), enumerated.get(i).getBoards());
+            assertEquals(enumerated.get(i).getEquity(), calculated.get(i).getEquity(), 0);
+            total += enumerated.get(i).getEquity();
+        }
+        assertEquals(1.0, total, 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateEquity_withOnePlayer_throwsException() {
+        Player alex = player("Alex", new Card(CardRank.ACE, CardSuit.SPADES), new Card(CardRank.KING, CardSuit.SPADES));
+
+        equityCalculator.calculateEquity(Collections.singletonList(alex), Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateEquity_omahaWithTwoHoleCards_throwsException() {
+        List<Player> players = Arrays.asList(player("Alex", "As Ah"), player("Bob", "Kc Kd"));
+
+        equityCalculator.calculateEquity(GameType.OMAHA, DeckProfile.STANDARD, players, Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateEquity_shortDeckWithACardBelowTheSix_throwsException() {
+        List<Player> players = Arrays.asList(player("Alex", "As 2h"), player("Bob", "Kc Kd"));
+
+        equityCalculator.calculateEquity(GameType.TEXAS_HOLDEM, DeckProfile.SHORT_DECK, players,
+                Collections.emptyList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void validate_shortDeckWithACardBelowTheSix_throwsException() {
+        List<Player> players = Arrays.asList(player("Alex", "As 2h"), player("Bob", "Kc Kd"));
+
+        EquityCalculator.validate(GameType.TEXAS_HOLDEM, DeckProfile.SHORT_DECK, players, Collections.emptyList());
+    }
+
+    @Test
+    public void enumerateEquity_shortDeck_dealsFromTheShortDeckAndRanksTheFlushOverTheFullHouse() {
+        List<Player> players = Arrays.asList(player("Alex", "Ah Kh"), player("Bob", "6s 6c"));
+
+        List<Equity> equities = equityCalculator.enumerateEquity(GameType.TEXAS_HOLDEM, DeckProfile.SHORT_DECK,
+                players, CardSet.parse("9h 9d 6h 7h").toList());
+
+        assertEquals(28, equities.get(0).getBoards());
+        assertEquals(27.0 / 28, equities.get(0).getEquity(), 1e-9);
+        assertEquals(1.0 / 28, equities.get(1).getEquity(), 1e-9);
+    }
+
+    @Test
+    public void enumerateEquity_omahaHiLo_splitsThePotWithTheLow() {
+        List<Player> players = Arrays.asList(player("Alex", "Ac 8d Kc Ks"), player("Bob", "As 4h Qc Qh"));
+        List<Card> communityCards = CardSet.parse("Kh Qd 2c 3s 7h").toList();
+
+        List<Equity> hiLo = equityCalculator.enumerateEquity(GameType.OMAHA_HI_LO, DeckProfile.STANDARD, players,
+                communityCards);
+        List<Equity> high = equityCalculator.enumerateEquity(GameType.OMAHA, DeckProfile.STANDARD, players,
+                communityCards);
+
+        assertEquals(0.5, hiLo.get(0).getEquity(), 0);
+        assertEquals(0.5, hiLo.get(1).getEquity(), 0);
+        assertEquals(1.0, hiLo.get(1).getTieRate(), 0);
+        assertEquals(1.0, high.get(0).getEquity(), 0);
+        assertEquals(1.0, high.get(0).getWinRate(), 0);
+    }
+
+    @Test
+    public void zScore_ofNinetyFivePercent() {
+        assertEquals(1.959964, EquityCalculator.zScore(0.95), 1e-6);
+    }
+
+    private Player player(String name, String holeCards) {
+        Player player = new Player(name);
+        CardSet.parse(holeCards).forEach(player::addToHand);
+        return player;
+    }
+
+    private Player player(String name, Card firstCard, Card secondCard) {
+        Player player = new Player(name);
+        player.addToHand(firstCard);
+        player.addToHand(secondCard);
+        return player;
+    }
+
+}
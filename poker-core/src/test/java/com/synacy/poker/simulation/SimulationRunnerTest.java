@@ -0,0 +1,67 @@
+package com.synacy.poker.simulation;
+
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.HandType;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SimulationRunnerTest {
+
+    private final HandIdentifier handIdentifier = new HandIdentifier();
+    private final WinningHandCalculator winningHandCalculator = new WinningHandCalculator(handIdentifier,
+            new HandRankTable(HandRankTable.Mode.FIVE_CARD));
+
+    @Test
+    public void run_playsEveryGameToTheShowdown() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        SimulationStatistics statistics = new SimulationRunner(handIdentifier, winningHandCalculator, 3, 7)
+                .run(3001, new PrintStream(output), 60_000);
+
+        assertEquals(3001, statistics.getGames());
+        long hands = 0;
+        long winningHands = 0;
+        for (HandType handType : HandType.values()) {
+            hands += statistics.getHandTypeCount(handType);
+            winningHands += statistics.getWinningHandTypeCount(handType);
+        }
+        assertEquals(3001 * statistics.getSeats(), hands);
+
+        long seatWins = 0;
+        double potShares = 0;
+        for (int seat = 0; seat < statistics.getSeats(); seat++) {
+            seatWins += statistics.getSeatWins(seat);
+            potShares += statistics.getSeatPotShare(seat);
+        }
+        assertEquals(winningHands, seatWins);
+        assertEquals(3001, potShares, 1e-6);
+        assertTrue(seatWins > 3001 && seatWins - 3001 >= statistics.getTiedGames());
+        assertTrue(output.toString().contains("3001 games in"));
+    }
+
+    @Test
+    public void run_isReproducibleForTheSameSeedAndThreads() {
+        PrintStream output = new PrintStream(new ByteArrayOutputStream());
+
+        SimulationStatistics first = new SimulationRunner(handIdentifier, winningHandCalculator, 2, 11)
+                .run(500, output, 60_000);
+        SimulationStatistics second = new SimulationRunner(handIdentifier, winningHandCalculator, 2, 11)
+                .run(500, output, 60_000);
+
+        for (HandType handType : HandType.values()) {
+            assertEquals(first.getHandTypeCount(handType), second.getHandTypeCount(handType));
+        }
+        for (int seat = 0; seat < first.getSeats(); seat++) {
+            assertEquals(first.getSeatWins(seat), second.getSeatWins(seat));
+        }
+        assertEquals(first.getTiedGames(), second.getTiedGames());
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.synacy.poker.controller;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.equity.PreflopEquityTable;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.game.TableSnapshot;
+import com.synacy.poker.services.EquityJob;
+import com.synacy.poker.services.EquityJobService;
+import com.synacy.poker.services.EquityJobStatus;
+import com.synacy.poker.services.GameService;
+import com.synacy.poker.services.TableManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Submits, follows and cancels background {@link EquityJob}s.
+ *
+ * <p>A job is submitted with explicit hands, board, game and deck, or for the current state of a table in the
+ * table's game and deck, and answered with <code>202 Accepted</code> and its status. The status can then be
+ * polled, or streamed as server-sent events: a <code>progress</code> event after every batch of boards and a final
+ * <code>done</code> event.</p>
+ *
+ * <p>The equity of each player's starting hand against random hands is looked up at once in the
+ * {@link PreflopEquityTable}, for standard deck Texas Hold'em tables only.</p>
+ */
+@RestController
+public class EquityJobController {
+
+	private static final long EVENT_STREAM_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+	private final EquityJobService equityJobService;
+	private final TableManager tableManager;
+	private final PreflopEquityTable preflopEquityTable;
+
+	public EquityJobController(EquityJobService equityJobService, TableManager tableManager,
+							   PreflopEquityTable preflopEquityTable) {
+		this.equityJobService = equityJobService;
+		this.tableManager = tableManager;
+		this.preflopEquityTable = preflopEquityTable;
+	}
+
+	@PostMapping("/equity/jobs")
+	public ResponseEntity<EquityJobStatus> submit(@RequestBody EquityJobRequest request) {
+		if (request.getHands() == null) {
+			throw new IllegalArgumentException("The hands are required.");
+		}
+
+		List<Player> players = new ArrayList<>(request.getHands().size());
+		for (int i = 0; i < request.getHands().size(); i++) {
+			Player player = new Player("Player " + (i + 1));
+			CardSet.parse(request.getHands().get(i)).forEach(player::addToHand);
+			players.add(player);
+		}
+		List<Card> communityCards = request.getBoard() == null
+				? Collections.emptyList()
+				: CardSet.parse(request.getBoard()).toList();
+
+		GameType gameType = request.getGame() == null ? GameType.TEXAS_HOLDEM : request.getGame();
+		DeckProfile deckProfile = request.getDeck() == null ? DeckProfile.STANDARD : request.getDeck();
+
+		return accepted(equityJobService.submit(gameType, deckProfile, players, communityCards,
+				request.getSamples()));
+	}
+
+	@PostMapping("/tables/{tableId}/equity/jobs")
+	public ResponseEntity<EquityJobStatus> submitTable(@PathVariable String tableId,
+													   @RequestParam(required = false) Integer samples) {
+		GameService table = tableManager.getTable(tableId);
+		TableSnapshot snapshot = table.getSnapshot();
+
+		return accepted(equityJobService.submit(table.getGameType(), table.getDeckProfile(), snapshot.getPlayers(),
+				snapshot.getCommunityCards(), samples));
+	}
+
+	@GetMapping("/tables/{tableId}/equity/preflop")
+	public Map<String, Double> preflopEquity(@PathVariable String tableId) {
+		GameService table = tableManager.getTable(tableId);
+		if (table.getGameType() != GameType.TEXAS_HOLDEM || table.getDeckProfile() != DeckProfile.STANDARD) {
+			throw new IllegalArgumentException("Preflop equities are only known for standard deck Texas Hold'em.");
+		}
+
+		List<Player> players = table.getSnapshot().getPlayers();
+		Map<String, Double> equities = new LinkedHashMap<>();
+		for (Player player : players) {
+			equities.put(player.getName(), preflopEquityTable.getEquity(player, players.size() - 1));
+		}
+		return equities;
+	}
+
+	@GetMapping("/equity/jobs/{jobId}")
+	public EquityJobStatus status(@PathVariable String jobId) {
+		return findJob(jobId).getStatus();
+	}
+
+	@GetMapping(value = "/equity/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter events(@PathVariable String jobId) {
+		EquityJob job = findJob(jobId);
+		SseEmitter emitter = new SseEmitter(EVENT_STREAM_TIMEOUT_MILLIS);
+		EventStreamListener listener = new EventStreamListener(job, emitter);
+		emitter.onCompletion(() -> job.removeListener(listener));
+		emitter.onTimeout(() -> job.removeListener(listener));
+		job.addListener(listener);
+
+		return emitter;
+	}
+
+	@DeleteMapping("/equity/jobs/{jobId}")
+	public EquityJobStatus cancel(@PathVariable String jobId) {
+		return equityJobService.cancel(jobId)
+				.orElseThrow(() -> notFound(jobId))
+				.getStatus();
+	}
+
+	@ExceptionHandler(IllegalArgumentException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	public Map<String, String> badRequest(IllegalArgumentException e) {
+		return Collections.singletonMap("error", e.getMessage());
+	}
+
+	@ExceptionHandler(NoSuchElementException.class)
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	public Map<String, String> unknownTable(NoSuchElementException e) {
+		return Collections.singletonMap("error", e.getMessage());
+	}
+
+	@ExceptionHandler(IllegalStateException.class)
+	@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+	public Map<String, String> unavailable(IllegalStateException e) {
+		return Collections.singletonMap("error", e.getMessage());
+	}
+
+	private EquityJob findJob(String jobId) {
+		return equityJobService.getJob(jobId).orElseThrow(() -> notFound(jobId));
+	}
+
+	private static ResponseStatusException notFound(String jobId) {
+		return new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown equity job: " + jobId);
+	}
+
+	private static ResponseEntity<EquityJobStatus> accepted(EquityJob job) {
+		return ResponseEntity.accepted()
+				.location(URI.create("/equity/jobs/" + job.getId()))
+				.body(job.getStatus());
+	}
+
+	/**
+	 * Sends the latest statuses of a job to an event stream, and completes the stream when the job finishes. A failed
+	 * send, e.g. to a client that went away, removes the listener and completes the stream with the error.
+	 */
+	private static class EventStreamListener implements Consumer<EquityJobStatus> {
+
+		private final EquityJob job;
+		private final SseEmitter emitter;
+
+		EventStreamListener(EquityJob job, SseEmitter emitter) {
+			this.job = job;
+			this.emitter = emitter;
+		}
+
+		@Override
+		public void accept(EquityJobStatus status) {
+			try {
+				emitter.send(SseEmitter.event()
+						.name(status.isFinished() ? "done" : "progress")
+						.data(status, MediaType.APPLICATION_JSON));
+				if (status.isFinished()) {
+					emitter.complete();
+				}
+			} catch (IOException | RuntimeException e) {
+				job.removeListener(this);
+				emitter.completeWithError(e);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.synacy.poker.controller;
+
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.GameType;
+
+import java.util.List;
+
+/**
+ * The body of a request for an equity job with explicit cards.
+ */
+public class EquityJobRequest {
+
+	private GameType game;
+	private DeckProfile deck;
+	private List<String> hands;
+	private String board;
+	private Integer samples;
+
+	/**
+	 * @return The game the hands are played in, or null for {@link GameType#TEXAS_HOLDEM}
+	 */
+	public GameType getGame() {
+		return game;
+	}
+
+	public void setGame(GameType game) {
+		this.game = game;
+	}
+
+	/**
+	 * @return The deck the rest of the board is dealt from, or null for {@link DeckProfile#STANDARD}
+	 */
+	public DeckProfile getDeck() {
+		return deck;
+	}
+
+	public void setDeck(DeckProfile deck) {
+		this.deck = deck;
+	}
+
+	/**
+	 * @return Each player's hole cards, e.g. <code>As Kd</code>, or four cards in Omaha
+	 */
+	public List<String> getHands() {
+		return hands;
+	}
+
+	public void setHands(List<String> hands) {
+		this.hands = hands;
+	}
+
+	/**
+	 * @return The community cards, e.g. <code>2c 7d 9h</code>, or null before the flop
+	 */
+	public String getBoard() {
+		return board;
+	}
+
+	public void setBoard(String board) {
+		this.board = board;
+	}
+
+	/**
+	 * @return The number of boards to deal, or null for the default
+	 */
+	public Integer getSamples() {
+		return samples;
+	}
+
+	public void setSamples(Integer samples) {
+		this.samples = samples;
+	}
+
+}
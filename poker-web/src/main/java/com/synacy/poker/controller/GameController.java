@@ -0,0 +1,118 @@
+package com.synacy.poker.controller;
+
+
+import com.synacy.poker.metrics.PokerMetrics;
+import com.synacy.poker.metrics.PokerMetrics.Operation;
+import com.synacy.poker.model.card.BlankCard;
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.game.TableSnapshot;
+import com.synacy.poker.services.TableManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@Controller
+public class GameController {
+
+	private final TableManager tableManager;
+	private final PokerMetrics metrics;
+
+	public GameController(TableManager tableManager, PokerMetrics metrics) {
+		this.tableManager = tableManager;
+		this.metrics = metrics;
+	}
+
+	@GetMapping("/")
+	public String index() {
+		return "redirect:/tables/" + TableManager.DEFAULT_TABLE_ID;
+	}
+
+	@PostMapping("/tables/{tableId}")
+	public String createTable(@PathVariable String tableId,
+							  @RequestParam(name = "game", defaultValue = "TEXAS_HOLDEM") GameType gameType,
+							  @RequestParam(name = "deck", defaultValue = "STANDARD") DeckProfile deckProfile) {
+		tableManager.createTable(tableId, gameType, deckProfile);
+
+		return "redirect:/tables/" + tableId;
+	}
+
+	@GetMapping("/tables/{tableId}")
+	public String table(@PathVariable String tableId, Model model) {
+		long start = metrics.start(Operation.TABLE_REQUEST);
+		TableSnapshot snapshot = tableManager.getSnapshot(tableId);
+		model.addAttribute("tableId", tableId);
+		model.addAttribute("game", snapshot);
+
+		List<Player> players = snapshot.getPlayers();
+		for (int i = 0; i < players.size(); i++) {
+			int playerNumber = i + 1;
+			model.addAttribute("player" + playerNumber, players.get(i));
+		}
+
+		Iterator<Card> communityCardIterator = snapshot.getCommunityCards().iterator();
+		for (int communityCardNumber = 1; communityCardNumber <= 5; communityCardNumber++) {
+			model.addAttribute("communityCard" + communityCardNumber, fetchNextCommunityCard(communityCardIterator));
+		}
+
+		metrics.stop(Operation.TABLE_REQUEST, start);
+		return "index";
+	}
+
+	private Card fetchNextCommunityCard(Iterator<Card> communityCardIterator) {
+		if (communityCardIterator.hasNext()) {
+			return communityCardIterator.next();
+		} else {
+			return new BlankCard();
+		}
+	}
+
+	@GetMapping("/nextAction")
+	public String nextAction() {
+		return nextAction(TableManager.DEFAULT_TABLE_ID);
+	}
+
+	@GetMapping("/tables/{tableId}/nextAction")
+	public String nextAction(@PathVariable String tableId) {
+		long start = metrics.start(Operation.NEXT_ACTION_REQUEST);
+		tableManager.nextAction(tableId);
+		metrics.stop(Operation.NEXT_ACTION_REQUEST, start);
+
+		return "redirect:/tables/" + tableId;
+	}
+
+	@ExceptionHandler(IllegalArgumentException.class)
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	@ResponseBody
+	public String badRequest(IllegalArgumentException e) {
+		return e.getMessage();
+	}
+
+	@ExceptionHandler(NoSuchElementException.class)
+	@ResponseStatus(HttpStatus.NOT_FOUND)
+	@ResponseBody
+	public String notFound(NoSuchElementException e) {
+		return e.getMessage();
+	}
+
+	@ExceptionHandler(IllegalStateException.class)
+	@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+	@ResponseBody
+	public String unavailable(IllegalStateException e) {
+		return e.getMessage();
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.synacy.poker.history;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Registers the {@link HandHistory} of the tables: a {@link HandHistoryLog} in the
+ * <code>poker.hand-history.directory</code> when <code>poker.hand-history.enabled</code> is true, and nothing
+ * otherwise. The log's written and dropped records are counted in the Micrometer registry.
+ */
+@Configuration
+public class HandHistoryConfiguration {
+
+    public static final String RECORDS_WRITTEN = "poker.hand.history.written";
+    public static final String RECORDS_DROPPED = "poker.hand.history.dropped";
+
+    @Bean
+    public HandHistory handHistory(@Value("${poker.hand-history.enabled:false}") boolean enabled,
+                                   @Value("${poker.hand-history.directory:hand-history}") String directory,
+                                   @Value("${poker.hand-history.segment-size:67108864}") int segmentSize,
+                                   @Value("${poker.hand-history.queue-capacity:65536}") int queueCapacity,
+                                   @Value("${poker.hand-history.batch-size:1024}") int batchSize,
+                                   @Value("${poker.hand-history.flush-interval-ms:1000}") long flushIntervalMillis,
+                                   MeterRegistry registry) {
+        if (!enabled) {
+            return HandHistory.DISABLED;
+        }
+        HandHistoryLog log = new HandHistoryLog(Paths.get(directory), segmentSize, queueCapacity, batchSize,
+                flushIntervalMillis);
+        FunctionCounter.builder(RECORDS_WRITTEN, log, HandHistoryLog::getWrittenCount)
+                .description("Completed games written to the hand history log")
+                .register(registry);
+        FunctionCounter.builder(RECORDS_DROPPED, log, HandHistoryLog::getDroppedCount)
+                .description("Completed games dropped because the hand history queue was full")
+                .register(registry);
+        return log;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.synacy.poker.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the engine's {@link PokerMetrics}, recorded in the Micrometer registry, unless
+ * <code>poker.metrics.enabled</code> is false.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public PokerMetrics pokerMetrics(@Value("${poker.metrics.enabled:true}") boolean enabled,
+                                     @Value("${poker.metrics.sample-rate:64}") int sampleRate,
+                                     MeterRegistry registry) {
+        if (!enabled) {
+            return PokerMetrics.DISABLED;
+        }
+        int roundedSampleRate = PokerMetrics.roundSampleRate(sampleRate);
+        return new PokerMetrics(new MicrometerMetricsRecorder(registry, roundedSampleRate), roundedSampleRate);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.synacy.poker.metrics;
+
+import com.synacy.poker.metrics.PokerMetrics.Operation;
+import com.synacy.poker.model.hand.Hand;
+import com.synacy.poker.model.hand.HandType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the engine's {@link PokerMetrics} as Micrometer timers and counters, registered up front so that
+ * recording only looks them up by ordinal.
+ */
+public final class MicrometerMetricsRecorder implements PokerMetrics.Recorder {
+
+    public static final String OPERATION_TIMER = "poker.engine.operation";
+    public static final String HANDS_DEALT = "poker.hands.dealt";
+    public static final String SHOWDOWNS = "poker.showdowns";
+    public static final String WINNING_HANDS = "poker.showdown.winning.hands";
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final HandType[] HAND_TYPES = HandType.values();
+
+    private final Timer[] timers;
+    private final Counter handsDealt;
+    private final Counter showdowns;
+    private final Counter[] winningHands;
+
+    /**
+     * @param registry
+     * @param sampleRate the {@link PokerMetrics#getSampleRate()} the timers are described with
+     */
+    public MicrometerMetricsRecorder(MeterRegistry registry, int sampleRate) {
+        timers = new Timer[OPERATIONS.length];
+        for (Operation operation : OPERATIONS) {
+            timers[operation.ordinal()] = Timer.builder(OPERATION_TIMER)
+                    .description(operation.isSampled()
+                            ? "Time of the engine operation, sampled 1 in " + sampleRate + " calls"
+                            : "Time of the engine operation")
+                    .tag("operation", operation.getTag())
+                    .register(registry);
+        }
+        handsDealt = Counter.builder(HANDS_DEALT)
+                .description("Hands dealt, one per new game")
+                .register(registry);
+        showdowns = Counter.builder(SHOWDOWNS)
+                .description("Games played to the river and the winners identified")
+                .register(registry);
+        winningHands = new Counter[HAND_TYPES.length];
+        for (HandType handType : HAND_TYPES) {
+            winningHands[handType.ordinal()] = Counter.builder(WINNING_HANDS)
+                    .description("Winning hands at showdowns, by hand type")
+                    .tag("hand_type", handType.name())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void recordTime(Operation operation, long nanos) {
+        timers[operation.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordHandDealt() {
+        handsDealt.increment();
+    }
+
+    @Override
+    public void recordShowdown(List<Hand> winningHands) {
+        showdowns.increment();
+        for (int i = 0; i < winningHands.size(); i++) {
+            this.winningHands[winningHands.get(i).getHandType().ordinal()].increment();
+        }
+    }
+
+}
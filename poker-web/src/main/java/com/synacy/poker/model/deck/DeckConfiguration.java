@@ -0,0 +1,37 @@
+package com.synacy.poker.model.deck;
+
+import com.synacy.poker.metrics.PokerMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link DeckBuilder}, with the {@link ShuffleSource} chosen from the <code>poker.deck.*</code>
+ * properties.
+ */
+@Configuration
+public class DeckConfiguration {
+
+	public enum ShuffleSourceType {
+		THREAD_LOCAL, SPLITTABLE, SEEDED
+	}
+
+	@Bean
+	public ShuffleSource shuffleSource(@Value("${poker.deck.shuffle-source:THREAD_LOCAL}") ShuffleSourceType type,
+									   @Value("${poker.deck.seed:0}") long seed) {
+		switch (type) {
+			case SPLITTABLE:
+				return new SplittableRandomShuffleSource();
+			case SEEDED:
+				return new SeededShuffleSource(seed);
+			default:
+				return new ThreadLocalShuffleSource();
+		}
+	}
+
+	@Bean
+	public DeckBuilder deckBuilder(ShuffleSource shuffleSource, PokerMetrics metrics) {
+		return new DeckBuilder(shuffleSource, metrics);
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.synacy.poker.model.equity;
+
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.services.EquityCalculator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link EquityCalculator} and the {@link PreflopEquityTable} with the <code>poker.equity.*</code>
+ * and <code>poker.preflop-equity.*</code> properties. Missing preflop entries are only estimated on lookup when
+ * <code>poker.preflop-equity.fallback-samples</code> is set.
+ */
+@Configuration
+public class EquityConfiguration {
+
+    @Bean
+    public EquityCalculator equityCalculator(HandRankTable handRankTable,
+                                             @Value("${poker.equity.samples:100000}") int samples,
+                                             @Value("${poker.equity.confidence-level:0.95}") double confidenceLevel) {
+        return new EquityCalculator(handRankTable, samples, confidenceLevel);
+    }
+
+    @Bean
+    public PreflopEquityTable preflopEquityTable(
+            HandRankTable handRankTable,
+            @Value("${poker.preflop-equity.fallback-samples:0}") int fallbackSamples) {
+        return new PreflopEquityTable(handRankTable, fallbackSamples);
+    }
+
+}
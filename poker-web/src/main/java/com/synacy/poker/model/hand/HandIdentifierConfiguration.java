@@ -0,0 +1,63 @@
+package com.synacy.poker.model.hand;
+
+import com.synacy.poker.metrics.PokerMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the hand evaluation: the {@link HandRankTable} in the <code>poker.hand-rank-table.mode</code>, and
+ * a plain or a {@link CachingHandIdentifier} chosen from the <code>poker.evaluation-cache.*</code> properties.
+ * The hit rate, evictions, size and memory use of the {@link EvaluationCache} are measured in the Micrometer
+ * registry.
+ */
+@Configuration
+public class HandIdentifierConfiguration {
+
+    public static final String CACHE_HIT_RATE = "poker.evaluation.cache.hit.rate";
+    public static final String CACHE_EVICTIONS = "poker.evaluation.cache.evictions";
+    public static final String CACHE_SIZE = "poker.evaluation.cache.size";
+    public static final String CACHE_MEMORY = "poker.evaluation.cache.memory";
+
+    @Bean
+    public HandRankTable handRankTable(@Value("${poker.hand-rank-table.mode:SEVEN_CARD}") HandRankTable.Mode mode) {
+        return new HandRankTable(mode);
+    }
+
+    @Bean
+    public HandIdentifier handIdentifier(
+            @Value("${poker.evaluation-cache.enabled:false}") boolean cacheEnabled,
+            @Value("${poker.evaluation-cache.capacity:1048576}") int capacity,
+            @Value("${poker.evaluation-cache.eviction:LRU}") EvaluationCache.Eviction eviction,
+            PokerMetrics metrics,
+            MeterRegistry registry) {
+        if (!cacheEnabled) {
+            return new HandIdentifier(metrics);
+        }
+        EvaluationCache cache = new EvaluationCache(capacity, eviction);
+        Gauge.builder(CACHE_HIT_RATE, cache, EvaluationCache::getHitRate)
+                .description("Share of hand evaluations answered by the evaluation cache")
+                .register(registry);
+        FunctionCounter.builder(CACHE_EVICTIONS, cache, EvaluationCache::getEvictionCount)
+                .description("Scores evicted from the evaluation cache to make room")
+                .register(registry);
+        Gauge.builder(CACHE_SIZE, cache, EvaluationCache::size)
+                .description("Scores held by the evaluation cache")
+                .register(registry);
+        Gauge.builder(CACHE_MEMORY, cache, EvaluationCache::getMemoryUsage)
+                .description("Approximate memory used by the evaluation cache")
+                .baseUnit("bytes")
+                .register(registry);
+        return new CachingHandIdentifier(cache, metrics);
+    }
+
+    @Bean
+    public WinningHandCalculator winningHandCalculator(HandIdentifier handIdentifier, HandRankTable handRankTable,
+                                                       PokerMetrics metrics) {
+        return new WinningHandCalculator(handIdentifier, handRankTable, metrics);
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.synacy.poker.services;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.equity.Equity;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * An equity calculation run in the background by the {@link EquityJobService}. Its {@link EquityJobStatus} is
+ * replaced after every batch of boards, and listeners are told about the new statuses until the job finishes.
+ *
+ * <p>Each listener is told about the latest status on the listener executor, never on the job's thread or while
+ * holding the job's lock. A status replaces the one still waiting for a listener, so a slow listener skips
+ * statuses instead of holding them all, and always gets the final one last.</p>
+ */
+public class EquityJob {
+
+    public enum State {
+        QUEUED, RUNNING, DONE, CANCELLED, FAILED
+    }
+
+    private final String id;
+    private final GameType gameType;
+    private final DeckProfile deckProfile;
+    private final List<Player> players;
+    private final List<Card> communityCards;
+    private final int samples;
+    private final long createdAt = System.nanoTime();
+    private final Executor listenerExecutor;
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    private volatile EquityJobStatus status;
+    private volatile boolean cancelRequested;
+    private Future<?> future;
+
+    EquityJob(String id, GameType gameType, DeckProfile deckProfile, List<Player> players, List<Card> communityCards,
+              int samples, Executor listenerExecutor) {
+        this.id = id;
+        this.gameType = gameType;
+        this.deckProfile = deckProfile;
+        this.players = players;
+        this.communityCards = communityCards;
+        this.samples = samples;
+        this.listenerExecutor = listenerExecutor;
+        this.status = new EquityJobStatus(id, State.QUEUED, samples, Collections.emptyList(), null);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public EquityJobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Tells the listener about the current status, and then about the latest status whenever it is free until the
+     * job finishes. Statuses replaced while the listener is busy are skipped, the final status never is.
+     *
+     * @param listener called on the listener executor, one status at a time, and removed if it throws
+     */
+    public synchronized void addListener(Consumer<EquityJobStatus> listener) {
+        Subscription subscription = new Subscription(listener);
+        subscription.deliver(status);
+        if (!status.isFinished()) {
+            subscriptions.add(subscription);
+        }
+    }
+
+    /**
+     * Stops telling the listener about new statuses, including the one waiting for it.
+     *
+     * @param listener
+     */
+    public synchronized void removeListener(Consumer<EquityJobStatus> listener) {
+        subscriptions.removeIf(subscription -> {
+            if (subscription.listener == listener) {
+                subscription.cancelled = true;
+                return true;
+            }
+            return false;
+        });
+    }
+
+    GameType getGameType() {
+        return gameType;
+    }
+
+    DeckProfile getDeckProfile() {
+        return deckProfile;
+    }
+
+    List<Player> getPlayers() {
+        return players;
+    }
+
+    List<Card> getCommunityCards() {
+        return communityCards;
+    }
+
+    int getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return The {@link System#nanoTime()} the job was created at
+     */
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    synchronized void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Stops the job after its current batch, or before it starts if it is still queued.
+     */
+    synchronized void cancel() {
+        cancelRequested = true;
+        if (status.getState() == State.QUEUED) {
+            if (future != null) {
+                future.cancel(false);
+            }
+            finish(Collections.emptyList());
+        }
+    }
+
+    /**
+     * @return false if the job was cancelled before it started
+     */
+    boolean start() {
+        return update(State.RUNNING, Collections.emptyList(), null);
+    }
+
+    void progress(List<Equity> equities) {
+        update(State.RUNNING, equities, null);
+    }
+
+    void finish(List<Equity> equities) {
+        update(cancelRequested ? State.CANCELLED : State.DONE, equities, null);
+    }
+
+    void fail(RuntimeException e) {
+        update(State.FAILED, Collections.emptyList(), e.getMessage());
+    }
+
+    /**
+     * @return false if the job had already finished
+     */
+    private synchronized boolean update(State state, List<Equity> equities, String error) {
+        if (status.isFinished()) {
+            return false;
+        }
+        status = new EquityJobStatus(id, state, samples, equities, error);
+        for (Subscription subscription : subscriptions) {
+            subscription.deliver(status);
+        }
+        if (status.isFinished()) {
+            subscriptions.clear();
+        }
+        return true;
+    }
+
+    /**
+     * The latest status waiting for one listener. At most one delivery task runs for it at a time, and a new one is
+     * started when a status arrives after the last one stopped.
+     */
+    private final class Subscription implements Runnable {
+
+        private final Consumer<EquityJobStatus> listener;
+        private final AtomicReference<EquityJobStatus> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean cancelled;
+
+        Subscription(Consumer<EquityJobStatus> listener) {
+            this.listener = listener;
+        }
+
+        void deliver(EquityJobStatus status) {
+            pending.set(status);
+            schedule();
+        }
+
+        @Override
+        public void run() {
+            EquityJobStatus next;
+            while (!cancelled && (next = pending.getAndSet(null)) != null) {
+                try {
+                    listener.accept(next);
+                } catch (RuntimeException e) {
+                    cancelled = true;
+                    removeListener(listener);
+                }
+            }
+            scheduled.set(false);
+            if (pending.get() != null) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (cancelled || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                listenerExecutor.execute(this);
+            } catch (RejectedExecutionException e) {
+                cancelled = true;
+                pending.set(null);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.synacy.poker.services;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.equity.Equity;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs long equity calculations as background {@link EquityJob}s.
+ *
+ * <p>Jobs run on their own small pool of minimum priority threads with a bounded queue, and each job samples on
+ * its own thread only, so jobs never take more than the pool's threads away from the table requests. Jobs that
+ * do not fit in the queue are rejected rather than delaying everything else. Finished jobs are kept for polling
+ * until the maximum number of jobs is reached, oldest first.</p>
+ *
+ * <p>Job listeners are called on a separate pool of listener threads, so a slow listener such as an event stream
+ * to a slow client never holds up a calculation.</p>
+ */
+@Service
+public class EquityJobService {
+
+    private final EquityCalculator equityCalculator;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService listenerExecutor;
+    private final ConcurrentMap<String, EquityJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger jobCount = new AtomicInteger();
+    private final int defaultSamples;
+    private final int maxSamples;
+    private final int batchSize;
+    private final double confidenceLevel;
+    private final int maxJobs;
+
+    /**
+     * @param equityCalculator
+     * @param threads         the number of jobs run at once, or 0 for half the processors
+     * @param queueCapacity   the number of jobs that can wait for a thread
+     * @param maxJobs         the number of jobs kept, running or finished
+     * @param defaultSamples  the number of boards of a job that does not ask for a number
+     * @param maxSamples      the largest number of boards a job can ask for
+     * @param batchSize       the number of boards between progress updates
+     * @param confidenceLevel
+     */
+    public EquityJobService(EquityCalculator equityCalculator,
+                            @Value("${poker.equity.jobs.threads:0}") int threads,
+                            @Value("${poker.equity.jobs.queue-capacity:64}") int queueCapacity,
+                            @Value("${poker.equity.jobs.max-jobs:1000}") int maxJobs,
+                            @Value("${poker.equity.jobs.samples:1000000}") int defaultSamples,
+                            @Value("${poker.equity.jobs.max-samples:100000000}") int maxSamples,
+                            @Value("${poker.equity.jobs.batch-size:50000}") int batchSize,
+                            @Value("${poker.equity.confidence-level:0.95}") double confidenceLevel) {
+        this.equityCalculator = equityCalculator;
+        this.maxJobs = maxJobs;
+        this.defaultSamples = defaultSamples;
+        this.maxSamples = maxSamples;
+        this.batchSize = batchSize;
+        this.confidenceLevel = confidenceLevel;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory("equity-job-", Thread.MIN_PRIORITY));
+        listenerExecutor = Executors.newFixedThreadPool(poolSize,
+                threadFactory("equity-job-listener-", Thread.NORM_PRIORITY));
+    }
+
+    /**
+     * Queues the calculation of the players' Texas Hold'em equity.
+     *
+     * @see #submit(GameType, DeckProfile, List, List, Integer)
+     */
+    public EquityJob submit(List<Player> players, List<Card> communityCards, Integer samples) {
+        return submit(GameType.TEXAS_HOLDEM, DeckProfile.STANDARD, players, communityCards, samples);
+    }
+
+    /**
+     * Queues the calculation of the players' equity.
+     *
+     * @param gameType
+     * @param deckProfile    the deck the rest of the board is dealt from
+     * @param players        at least two players with the game's number of hole cards
+     * @param communityCards
+     * @param samples        the number of boards to deal, or null for the default
+     * @return The queued job
+     * @throws IllegalArgumentException if the cards are not valid for the game and deck or there are too many
+     *                                  samples
+     * @throws IllegalStateException    if there are too many jobs
+     */
+    public EquityJob submit(GameType gameType, DeckProfile deckProfile, List<Player> players,
+                            List<Card> communityCards, Integer samples) {
+        int jobSamples = samples == null ? defaultSamples : samples;
+        if (jobSamples <= 0 || jobSamples > maxSamples) {
+            throw new IllegalArgumentException("The number of samples must be from 1 to " + maxSamples + ".");
+        }
+        EquityCalculator.validate(gameType, deckProfile, players, communityCards);
+
+        if (!reserveJob()) {
+            removeFinishedJobs();
+            if (!reserveJob()) {
+                throw new IllegalStateException("There are already " + maxJobs + " equity jobs.");
+            }
+        }
+
+        EquityJob job = new EquityJob(UUID.randomUUID().toString(), gameType, deckProfile, new ArrayList<>(players),
+                new ArrayList<>(communityCards), jobSamples, listenerExecutor);
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            removeJob(job.getId());
+            throw new IllegalStateException("The equity job queue is full.", e);
+        }
+        return job;
+    }
+
+    /**
+     * @param jobId
+     * @return The job, unless it was never submitted or was removed after finishing
+     */
+    public Optional<EquityJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Stops the job. A running job keeps the equities of the boards it dealt before it stopped.
+     *
+     * @param jobId
+     * @return The job, if it exists
+     */
+    public Optional<EquityJob> cancel(String jobId) {
+        Optional<EquityJob> job = getJob(jobId);
+        job.ifPresent(EquityJob::cancel);
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(EquityJob::cancel);
+        executor.shutdownNow();
+        listenerExecutor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(String namePrefix, int priority) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(priority);
+            return thread;
+        };
+    }
+
+    private void run(EquityJob job) {
+        if (job.isCancelRequested() || !job.start()) {
+            return;
+        }
+        try {
+            List<Equity> equities = equityCalculator.calculateEquity(job.getGameType(), job.getDeckProfile(),
+                    job.getPlayers(), job.getCommunityCards(), job.getSamples(), confidenceLevel,
+                    new SplittableRandom(), batchSize, batch -> {
+                        job.progress(batch);
+                        return !job.isCancelRequested() && !Thread.currentThread().isInterrupted();
+                    });
+            job.finish(equities);
+        } catch (RuntimeException e) {
+            job.fail(e);
+        }
+    }
+
+    /**
+     * Counts a new job unless the maximum number of jobs is reached, so jobs submitted at the same time never go
+     * beyond it.
+     *
+     * @return true if the job was counted
+     */
+    private boolean reserveJob() {
+        if (jobCount.incrementAndGet() > maxJobs) {
+            jobCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private void removeJob(String jobId) {
+        if (jobs.remove(jobId) != null) {
+            jobCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Removes finished jobs, oldest first, until half of the maximum number of jobs is left.
+     */
+    private synchronized void removeFinishedJobs() {
+        List<EquityJob> finished = new ArrayList<>();
+        for (EquityJob job : jobs.values()) {
+            if (job.getStatus().isFinished()) {
+                finished.add(job);
+            }
+        }
+        finished.sort((a, b) -> Long.compare(a.getCreatedAt(), b.getCreatedAt()));
+        for (int i = 0; i < finished.size() && jobCount.get() > maxJobs / 2; i++) {
+            removeJob(finished.get(i).getId());
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.synacy.poker.services;
+
+import com.synacy.poker.model.equity.Equity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable view of an {@link EquityJob} at one point, with the equities over the boards dealt so far.
+ */
+public final class EquityJobStatus {
+
+    private final String id;
+    private final EquityJob.State state;
+    private final int samples;
+    private final long boards;
+    private final List<PlayerEquity> equities;
+    private final String error;
+
+    EquityJobStatus(String id, EquityJob.State state, int samples, List<Equity> equities, String error) {
+        this.id = id;
+        this.state = state;
+        this.samples = samples;
+        this.error = error;
+
+        List<PlayerEquity> playerEquities = new ArrayList<>(equities.size());
+        for (Equity equity : equities) {
+            playerEquities.add(new PlayerEquity(equity));
+        }
+        this.equities = Collections.unmodifiableList(playerEquities);
+        this.boards = equities.isEmpty() ? 0 : equities.get(0).getBoards();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public EquityJob.State getState() {
+        return state;
+    }
+
+    /**
+     * @return The number of boards the job deals, unless they can all be enumerated in fewer
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * @return The number of boards the equities are over so far
+     */
+    public long getBoards() {
+        return boards;
+    }
+
+    /**
+     * @return The equity of each player so far, in the order of the players, or an empty list before the first
+     * batch
+     */
+    public List<PlayerEquity> getEquities() {
+        return equities;
+    }
+
+    /**
+     * @return The reason the job failed, or null
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return true if the job will not change any more
+     */
+    public boolean isFinished() {
+        return state == EquityJob.State.DONE || state == EquityJob.State.CANCELLED || state == EquityJob.State.FAILED;
+    }
+
+    /**
+     * The equity of one player, by name.
+     */
+    public static final class PlayerEquity {
+
+        private final String player;
+        private final double equity;
+        private final double marginOfError;
+        private final double winRate;
+        private final double tieRate;
+
+        PlayerEquity(Equity equity) {
+            this.player = equity.getPlayer().getName();
+            this.equity = equity.getEquity();
+            this.marginOfError = equity.getMarginOfError();
+            this.winRate = equity.getWinRate();
+            this.tieRate = equity.getTieRate();
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        public double getEquity() {
+            return equity;
+        }
+
+        public double getMarginOfError() {
+            return marginOfError;
+        }
+
+        public double getWinRate() {
+            return winRate;
+        }
+
+        public double getTieRate() {
+            return tieRate;
+        }
+
+    }
+
+}
@@ -0,0 +1,262 @@
+package com.synacy.poker.services;
+
+import com.synacy.poker.history.HandHistory;
+import com.synacy.poker.metrics.PokerMetrics;
+import com.synacy.poker.model.deck.DeckBuilder;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.deck.SeededShuffleSource;
+import com.synacy.poker.model.deck.ShuffleSource;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.TableSnapshot;
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.RankTableHandIdentifier;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * The registry of the tables being played, keyed by table id.
+ *
+ * <p>Every table is its own {@link GameService} that shares the stateless deck, hand and winner services, so a
+ * table only costs its players, cards and deck. The {@link #DEFAULT_TABLE_ID default table} is there from the
+ * start, and every other table is created explicitly with {@link #createTable}, playing a {@link GameType} and
+ * dealing from a {@link DeckProfile}, and kept until it is removed. Looking up a table never creates it, so the
+ * number of tables only grows up to the maximum through explicit creation. The hand services of a deck profile
+ * other than the standard one are built the first time a table asks for it, on their own {@link HandRankTable} in
+ * the same mode, and shared from then on. Every table records its completed games in the same
+ * {@link HandHistory}.</p>
+ *
+ * <p>Each table shuffles with its own {@link ShuffleSource#split()} of the configured source, since the seeded and
+ * splittable sources are not thread safe. With a {@link SeededShuffleSource} the seed of each table's source is
+ * kept, so the table's games can be replayed from it.</p>
+ *
+ * <p>Actions on a table are serialized by the table's own lock, so different tables never wait for each other.
+ * Reads go to the table's {@link TableSnapshot} and do not lock at all.</p>
+ */
+@Service
+public class TableManager {
+
+    public static final String DEFAULT_TABLE_ID = "default";
+
+    private static final Pattern TABLE_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final ConcurrentMap<String, GameService> tables = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DeckProfile, WinningHandCalculator> winningHandCalculators = new ConcurrentHashMap<>();
+    private final AtomicInteger tableCount = new AtomicInteger();
+
+    private final DeckBuilder deckBuilder;
+    private final HandIdentifier handIdentifier;
+    private final WinningHandCalculator winningHandCalculator;
+    private final PokerMetrics metrics;
+    private final HandHistory handHistory;
+    private final int maxTables;
+
+    public TableManager(DeckBuilder deckBuilder,
+                        HandIdentifier handIdentifier,
+                        WinningHandCalculator winningHandCalculator,
+                        int maxTables) {
+        this(deckBuilder, handIdentifier, winningHandCalculator, PokerMetrics.DISABLED, HandHistory.DISABLED,
+                maxTables);
+    }
+
+    @Autowired
+    public TableManager(DeckBuilder deckBuilder,
+                        HandIdentifier handIdentifier,
+                        WinningHandCalculator winningHandCalculator,
+                        PokerMetrics metrics,
+                        HandHistory handHistory,
+                        @Value("${poker.tables.max:100000}") int maxTables) {
+        this.deckBuilder = deckBuilder;
+        this.handIdentifier = handIdentifier;
+        this.winningHandCalculator = winningHandCalculator;
+        this.metrics = metrics;
+        this.handHistory = handHistory;
+        this.maxTables = maxTables;
+
+        createTable(DEFAULT_TABLE_ID, GameType.TEXAS_HOLDEM, DeckProfile.STANDARD);
+    }
+
+    /**
+     * @param tableId
+     * @return The {@link GameService} of the table
+     * @throws NoSuchElementException if there is no table with the id
+     */
+    public GameService getTable(String tableId) {
+        GameService table = tables.get(tableId);
+        if (table == null) {
+            throw new NoSuchElementException("No table with the id " + tableId);
+        }
+        return table;
+    }
+
+    /**
+     * Creates a table of the type and deck and starts its first game, or returns the table if one with the id
+     * exists already. An existing table keeps the type and deck it was created with.
+     *
+     * <p>A slot is reserved in the count of tables before the table is built, so tables created at the same time
+     * never go beyond the maximum. The table, and the hand services of a new deck profile, are built outside the
+     * registry and then added unless a table with the id was added first. The slot is released if the building
+     * fails or the other table is kept.</p>
+     *
+     * @param tableId     letters, digits, <code>-</code> and <code>_</code>, up to 64 characters
+     * @param gameType    the variant the table plays
+     * @param deckProfile the cards the table deals from
+     * @return The {@link GameService} of the table
+     * @throws IllegalArgumentException if the table id is not valid
+     * @throws IllegalStateException    if a new table is needed but the maximum number of tables is reached
+     */
+    public GameService createTable(String tableId, GameType gameType, DeckProfile deckProfile) {
+        if (!TABLE_ID.matcher(tableId).matches()) {
+            throw new IllegalArgumentException("Invalid table id: " + tableId);
+        }
+        GameService existing = tables.get(tableId);
+        if (existing != null) {
+            return existing;
+        }
+        if (tableCount.incrementAndGet() > maxTables) {
+            tableCount.decrementAndGet();
+            throw new IllegalStateException("There are already " + maxTables + " tables.");
+        }
+        boolean added = false;
+        try {
+            GameService table = newTable(gameType, deckProfile);
+            existing = tables.putIfAbsent(tableId, table);
+            added = existing == null;
+            return added ? table : existing;
+        } finally {
+            if (!added) {
+                tableCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @param tableId
+     * @return The {@link TableSnapshot} after the last action on the table
+     * @throws NoSuchElementException if there is no table with the id
+     */
+    public TableSnapshot getSnapshot(String tableId) {
+        return getTable(tableId).getSnapshot();
+    }
+
+    /**
+     * Deals the next community cards of the table, or starts a new game if the last game has ended.
+     *
+     * @param tableId
+     * @return The {@link TableSnapshot} after the action
+     * @throws NoSuchElementException if there is no table with the id
+     */
+    public TableSnapshot nextAction(String tableId) {
+        return updateTable(tableId, table -> {
+            if (table.hasEnded()) {
+                table.startNewGame();
+            } else {
+                table.nextAction();
+            }
+            return table.getSnapshot();
+        });
+    }
+
+    /**
+     * Applies an update to the table while holding its lock, so no other update of the table runs at the same time.
+     *
+     * @param tableId
+     * @param update
+     * @return The result of the update
+     * @throws NoSuchElementException if there is no table with the id, or it was removed before the update
+     */
+    public <T> T updateTable(String tableId, Function<GameService, T> update) {
+        GameService table = getTable(tableId);
+        synchronized (table) {
+            if (tables.get(tableId) != table) {
+                throw new NoSuchElementException("No table with the id " + tableId);
+            }
+            return update.apply(table);
+        }
+    }
+
+    /**
+     * Removes the table while holding its lock, so an update of the table in progress finishes first.
+     *
+     * @param tableId
+     * @return true if the table existed and was removed
+     */
+    public boolean removeTable(String tableId) {
+        GameService table;
+        while ((table = tables.get(tableId)) != null) {
+            synchronized (table) {
+                if (tables.remove(tableId, table)) {
+                    tableCount.decrementAndGet();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param tableId
+     * @return The seed the table's deck is shuffled from, if it shuffles with a {@link SeededShuffleSource}
+     * @throws NoSuchElementException if there is no table with the id
+     */
+    public OptionalLong getShuffleSeed(String tableId) {
+        ShuffleSource shuffleSource = getTable(tableId).getDeckBuilder().getShuffleSource();
+        return shuffleSource instanceof SeededShuffleSource
+                ? OptionalLong.of(((SeededShuffleSource) shuffleSource).getSeed()) : OptionalLong.empty();
+    }
+
+    /**
+     * @return The ids of the current tables
+     */
+    public Set<String> getTableIds() {
+        return tables.keySet();
+    }
+
+    /**
+     * @return The number of current tables
+     */
+    public int getTableCount() {
+        return tables.size();
+    }
+
+    private GameService newTable(GameType gameType, DeckProfile deckProfile) {
+        DeckBuilder tableDeckBuilder = splitDeckBuilder();
+        if (deckProfile == DeckProfile.STANDARD) {
+            return new GameService(tableDeckBuilder, handIdentifier, winningHandCalculator, metrics, gameType,
+                    deckProfile, handHistory);
+        }
+        WinningHandCalculator calculator = winningHandCalculators.computeIfAbsent(deckProfile,
+                this::newWinningHandCalculator);
+        return new GameService(tableDeckBuilder, calculator.getHandIdentifier(), calculator, metrics, gameType,
+                deckProfile, handHistory);
+    }
+
+    /**
+     * Splits the configured source for a new table. Splitting changes the state of the source, so tables created
+     * at the same time split it one at a time.
+     */
+    private DeckBuilder splitDeckBuilder() {
+        synchronized (deckBuilder) {
+            return deckBuilder.split();
+        }
+    }
+
+    private WinningHandCalculator newWinningHandCalculator(DeckProfile deckProfile) {
+        HandRankTable handRankTable = new HandRankTable(deckProfile,
+                winningHandCalculator.getHandRankTable().getMode());
+        return new WinningHandCalculator(new RankTableHandIdentifier(handRankTable, metrics), handRankTable,
+                metrics);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.synacy.poker.metrics;
+
+import com.synacy.poker.model.deck.DeckBuilder;
+import com.synacy.poker.model.deck.SplittableRandomShuffleSource;
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.HandType;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+import com.synacy.poker.services.GameService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MicrometerMetricsRecorderTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    public void gameService_recordsHandsShowdownsAndWinningHandTypes() {
+        PokerMetrics metrics = new PokerMetrics(new MicrometerMetricsRecorder(registry, 1), 1);
+        HandIdentifier handIdentifier = new HandIdentifier(metrics);
+        WinningHandCalculator winningHandCalculator = new WinningHandCalculator(handIdentifier,
+                new HandRankTable(HandRankTable.Mode.FIVE_CARD), metrics);
+        GameService gameService = new GameService(new DeckBuilder(new SplittableRandomShuffleSource(), metrics),
+                handIdentifier, winningHandCalculator, metrics);
+
+        gameService.nextAction();
+        gameService.nextAction();
+        gameService.nextAction();
+
+        assertEquals(1.0, registry.find(MicrometerMetricsRecorder.HANDS_DEALT).counter().count(), 0.0);
+        assertEquals(1.0, registry.find(MicrometerMetricsRecorder.SHOWDOWNS).counter().count(), 0.0);
+        assertEquals(1, timerCount(PokerMetrics.Operation.START_NEW_GAME));
+        assertEquals(1, timerCount(PokerMetrics.Operation.SHUFFLE));
+        assertEquals(3, timerCount(PokerMetrics.Operation.NEXT_ACTION));
+        assertEquals(1, timerCount(PokerMetrics.Operation.CALCULATE_WINNING_HAND));
+
+        double winningHands = 0;
+        for (HandType handType : HandType.values()) {
+            winningHands += registry.find(MicrometerMetricsRecorder.WINNING_HANDS).tag("hand_type", handType.name())
+                    .counter().count();
+        }
+        assertEquals(gameService.getPlayers().stream().filter(gameService::checkIfPlayerWon).count(),
+                winningHands, 0.0);
+    }
+
+    @Test
+    public void start_samplesTheShortOperations() {
+        PokerMetrics metrics = new PokerMetrics(new MicrometerMetricsRecorder(registry, 64), 64);
+        for (int i = 0; i < 6400; i++) {
+            metrics.stop(PokerMetrics.Operation.SHUFFLE, metrics.start(PokerMetrics.Operation.SHUFFLE));
+            metrics.stop(PokerMetrics.Operation.NEXT_ACTION, metrics.start(PokerMetrics.Operation.NEXT_ACTION));
+        }
+
+        assertEquals(100, timerCount(PokerMetrics.Operation.SHUFFLE), 40);
+        assertEquals(6400, timerCount(PokerMetrics.Operation.NEXT_ACTION));
+    }
+
+    private long timerCount(PokerMetrics.Operation operation) {
+        return registry.find(MicrometerMetricsRecorder.OPERATION_TIMER).tag("operation", operation.getTag()).timer().count();
+    }
+
+}
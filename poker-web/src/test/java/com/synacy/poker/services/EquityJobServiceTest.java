@@ -0,0 +1,245 @@
+package com.synacy.poker.services;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardSet;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.hand.HandRankTable;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class EquityJobServiceTest {
+
+    private final EquityCalculator equityCalculator = new EquityCalculator(
+            new HandRankTable(HandRankTable.Mode.DIRECT), 100000, 0.95);
+
+    private EquityJobService equityJobService;
+
+    @After
+    public void shutdown() {
+        if (equityJobService != null) {
+            equityJobService.shutdown();
+        }
+    }
+
+    @Test
+    public void submit_calculatesTheEquityInTheBackground() throws InterruptedException {
+        equityJobService = new EquityJobService(equityCalculator, 1, 4, 10, 200000, 1000000, 20000, 0.99);
+
+        EquityJob job = equityJobService.submit(players("As Ah", "Kc Kd"), Collections.emptyList(), null);
+        EquityJobStatus status = awaitFinished(job);
+
+        assertEquals(EquityJob.State.DONE, status.getState());
+        assertEquals(200000, status.getBoards());
+        assertEquals(0.8126, status.getEquities().get(0).getEquity(), 0.005);
+        assertEquals("Player 1", status.getEquities().get(0).getPlayer());
+    }
+
+    @Test
+    public void submit_enumeratesTheRiverExactly() throws InterruptedException {
+        equityJobService = new EquityJobService(equityCalculator, 1, 4, 10, 200000, 1000000, 20000, 0.95);
+
+        EquityJob job = equityJobService.submit(players("As Ah", "Kc Kd"), cards("Ks 7d 2c 9h"), null);
+        EquityJobStatus status = awaitFinished(job);
+
+        assertEquals(EquityJob.State.DONE, status.getState());
+        assertEquals(44, status.getBoards());
+        assertEquals(2.0 / 44, status.getEquities().get(0).getEquity(), 1e-9);
+    }
+
+    @Test
+    public void addListener_receivesTheBatchesInOrderAndTheFinalStatus() throws InterruptedException {
+        equityJobService = new EquityJobService(equityCalculator, 1, 4, 10, 100000, 100000000, 10000, 0.95);
+        List<EquityJobStatus> updates = new CopyOnWriteArrayList<>();
+
+        EquityJob blocking = equityJobService.submit(players("As Ah", "Kc Kd"), Collections.emptyList(), 100000000);
+        EquityJob job = equityJobService.submit(players("As Ah", "Kc Kd"), Collections.emptyList(), null);
+        job.addListener(updates::add);
+        equityJobService.cancel(blocking.getId());
+        awaitFinished(job);
+        awaitListener(updates);
+
+        EquityJobStatus last = updates.get(updates.size() - 1);
+        assertEquals(EquityJob.State.DONE, last.getState());
+        assertEquals(100000, last.getBoards());
+        for (int i = 1; i < updates.size(); i++) {
+            assertTrue(updates.get(i - 1).getBoards() <= updates.get(i).getBoards());
+        }
+    }
+
+    @Test
+    public void addListener_thatIsSlow_skipsToTheLatestStatus() throws InterruptedException {
+        equityJobService = new EquityJobService(equityCalculator, 1, 4, 10, 100000, 100000000, 10000, 0.95);
+        List<EquityJobStatus> updates = new CopyOnWriteArrayList<>();
+        CountDownLatch finished = new CountDownLatch(1);
+
+        EquityJob blocking = equityJobService.submit(players("As Ah", "Kc Kd"), Collections.emptyList(), 100000000);
+        EquityJob job = equityJobService.submit(players("As Ah", "Kc Kd"), Collections.emptyList(), null);
+        job.addListener(status -> {
+            updates.add(status);
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        while (updates.isEmpty()) {
+            Thread.sleep(1);
+        }
+        equityJobService.cancel(blocking.getId());
+        awaitFinished(job);
+        finished.countDown();
+        awaitListener(updates);
+
+        assertEquals(2, updates.size());
+        assertEquals(EquityJob.State.QUEUED, updates.get(0).getState());
+        assertEquals(EquityJob.State.DONE, updates.get(1).getState());
+    }
+
+    @Test
+    public void addListener_thatThrows_isRemovedWithoutFailingTheJob() throws InterruptedException {
+        equityJobService = new EquityJobService(equityCalculator, 1, 4, 10, 100000, 100000000, 10000, 0.95);
+        List<EquityJobStatus> updates = new CopyOnWriteArrayList<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        EquityJob job = equityJobService.submit(players("As Ah", "Kc Kd"), Collections.emptyList(), null);
+        job.addListener(status -> {
+            failures.incrementAndGet();
+            throw new IllegalStateException("The stream is closed.");
+        });
+        job.addListener(updates::add);
+        EquityJobStatus status = awaitFinished(job);
+        awaitListener(updates);
+
+        assertEquals(EquityJob.State.DONE, status.getState());
+        assertEquals(1, failures.get());
+    }
+
+    @Test
+    public void cancel_stopsARunningJob() throws InterruptedException {
+        equityJobService = new EquityJobService(equityCalculator, 1, 4, 10, 1000, 100000000, 10000, 0.95);
+
+        EquityJob job = equityJobService.submit(players("As Ah", "Kc Kd"), Collections.emptyList(), 100000000);
+        while (job.getStatus().getState() != EquityJob.State.RUNNING) {
+            Thread.sleep(1);
+        }
+        equityJobService.cancel(job.getId());
+        EquityJobStatus status = awaitFinished(job);
+
+        assertEquals(EquityJob.State.CANCELLED, status.getState());
+        assertTrue(status.getBoards() < 100000000);
+    }
+
+    @Test
+    public void submit_whenTheQueueIsFull_throwsException() {
+        equityJobService = new EquityJobService(equityCalculator, 1, 1, 10, 100000000, 100000000, 10000, 0.95);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                equityJobService.submit(players("As Ah", "Kc Kd"), Collections.emptyList(), null);
+            }
+            fail("The third job should not fit in the queue.");
+        } catch (IllegalStateException e) {
+            assertEquals("The equity job queue is full.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void submit_concurrentlyNeverGoesBeyondMaxJobs() throws Exception {
+        equityJobService = new EquityJobService(equityCalculator, 1, 64, 5, 100000000, 100000000, 10000, 0.95);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                results.add(executor.submit(() -> equityJobService.submit(players("As Ah", "Kc Kd"),
+                        Collections.emptyList(), null)));
+            }
+            int submitted = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                    submitted++;
+                } catch (ExecutionException e) {
+                    assertEquals("There are already 5 equity jobs.", e.getCause().getMessage());
+                }
+            }
+            assertEquals(5, submitted);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void submit_tooManySamples_throwsException() {
+        equityJobService = new EquityJobService(equityCalculator, 1, 4, 10, 1000, 1000, 100, 0.95);
+
+        equityJobService.submit(players("As Ah", "Kc Kd"), Collections.emptyList(), 1001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void submit_sharedCard_throwsException() {
+        equityJobService = new EquityJobService(equityCalculator, 1, 4, 10, 1000, 1000, 100, 0.95);
+
+        equityJobService.submit(players("As Ah", "Kc Kd"), cards("As 7d 2c"), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void submit_omahaWithTwoHoleCards_throwsException() {
+        equityJobService = new EquityJobService(equityCalculator, 1, 4, 10, 1000, 1000, 100, 0.95);
+
+        equityJobService.submit(GameType.OMAHA, DeckProfile.STANDARD, players("As Ah", "Kc Kd"),
+                Collections.emptyList(), null);
+    }
+
+    private static EquityJobStatus awaitFinished(EquityJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60000;
+        while (!job.getStatus().isFinished()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("The job did not finish.");
+            }
+            Thread.sleep(5);
+        }
+        return job.getStatus();
+    }
+
+    private static void awaitListener(List<EquityJobStatus> updates) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60000;
+        while (updates.isEmpty() || !updates.get(updates.size() - 1).isFinished()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("The listener was not told that the job finished.");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static List<Player> players(String... hands) {
+        Player[] players = new Player[hands.length];
+        for (int i = 0; i < hands.length; i++) {
+            players[i] = new Player("Player " + (i + 1));
+            CardSet.parse(hands[i]).forEach(players[i]::addToHand);
+        }
+        return Arrays.asList(players);
+    }
+
+    private static List<Card> cards(String cards) {
+        return CardSet.parse(cards).toList();
+    }
+
+}
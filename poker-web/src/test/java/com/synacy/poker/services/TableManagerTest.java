@@ -0,0 +1,300 @@
+package com.synacy.poker.services;
+
+import com.synacy.poker.model.card.Card;
+import com.synacy.poker.model.card.CardRank;
+import com.synacy.poker.model.deck.DeckBuilder;
+import com.synacy.poker.model.deck.DeckProfile;
+import com.synacy.poker.model.deck.SeededShuffleSource;
+import com.synacy.poker.model.game.GameType;
+import com.synacy.poker.model.hand.HandIdentifier;
+import com.synacy.poker.model.hand.HandRankTable;
+import com.synacy.poker.model.hand.WinningHandCalculator;
+import com.synacy.poker.model.game.Player;
+import com.synacy.poker.model.game.ShowdownResult;
+import com.synacy.poker.model.game.TableSnapshot;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TableManagerTest {
+
+    private TableManager tableManager = createTableManager(10);
+
+    @Test
+    public void createTable_sameIdReturnsSameTable() {
+        GameService table = createTable("table-1");
+
+        assertSame(table, createTable("table-1"));
+        assertSame(table, tableManager.getTable("table-1"));
+        assertEquals(2, tableManager.getTableCount());
+    }
+
+    @Test
+    public void getTable_defaultTableExists() {
+        assertEquals(1, tableManager.getTableCount());
+        assertEquals(GameType.TEXAS_HOLDEM, tableManager.getTable(TableManager.DEFAULT_TABLE_ID).getGameType());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void getTable_unknownId_throwsException() {
+        tableManager.getTable("table-1");
+    }
+
+    @Test
+    public void createTable_tablesArePlayedIndependently() {
+        GameService firstTable = createTable("table-1");
+        GameService secondTable = createTable("table-2");
+
+        firstTable.nextAction();
+
+        assertNotSame(firstTable, secondTable);
+        assertEquals(3, firstTable.getCommunityCards().size());
+        assertEquals(0, secondTable.getCommunityCards().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createTable_withInvalidId_throwsException() {
+        createTable("../table");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void createTable_beyondMaxTables_throwsException() {
+        tableManager = createTableManager(3);
+        createTable("table-1");
+        createTable("table-2");
+
+        createTable("table-3");
+    }
+
+    @Test
+    public void createTable_concurrentlyNeverGoesBeyondMaxTables() throws Exception {
+        tableManager = createTableManager(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                String tableId = "table-" + i;
+                results.add(executor.submit(() -> createTable(tableId)));
+            }
+            int created = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException);
+                }
+            }
+            assertEquals(49, created);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(50, tableManager.getTableCount());
+    }
+
+    @Test
+    public void createTable_concurrentlyWithTheSameId_keepsOneTable() throws Exception {
+        tableManager = createTableManager(2);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<GameService>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> createTable("table-1")));
+            }
+            for (Future<GameService> result : results) {
+                assertSame(tableManager.getTable("table-1"), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(tableManager.removeTable("table-1"));
+        createTable("table-2");
+    }
+
+    @Test
+    public void createTable_thatFails_releasesItsSlot() {
+        AtomicBoolean failing = new AtomicBoolean();
+        DeckBuilder deckBuilder = new DeckBuilder() {
+            @Override
+            public DeckBuilder split() {
+                if (failing.get()) {
+                    throw new IllegalStateException("No shuffle source");
+                }
+                return super.split();
+            }
+        };
+        tableManager = createTableManager(deckBuilder, 2);
+        failing.set(true);
+        try {
+            createTable("table-1");
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("No shuffle source", e.getMessage());
+        }
+        failing.set(false);
+
+        createTable("table-1");
+        assertEquals(2, tableManager.getTableCount());
+    }
+
+    @Test
+    public void nextAction_snapshotIsNotChangedByLaterActions() {
+        createTable("table-1");
+        TableSnapshot before = tableManager.getSnapshot("table-1");
+
+        TableSnapshot after = tableManager.nextAction("table-1");
+
+        assertEquals(0, before.getCommunityCards().size());
+        assertEquals(3, after.getCommunityCards().size());
+        assertEquals(2, before.getPlayers().get(0).getHand().size());
+        assertNotSame(before.getPlayers().get(0), tableManager.getTable("table-1").getPlayers().get(0));
+    }
+
+    @Test
+    public void nextAction_showdownResultIsComputedOncePerAction() {
+        GameService table = createTable("table-1");
+        ShowdownResult preflop = table.getResult();
+        Player alex = table.getPlayers().get(0);
+
+        assertSame(table.identifyPlayerHand(alex), table.identifyPlayerHand(alex));
+
+        for (int i = 0; i < 3; i++) {
+            tableManager.nextAction("table-1");
+        }
+        ShowdownResult showdown = table.getResult();
+
+        assertEquals(preflop.getVersion() + 3, showdown.getVersion());
+        assertEquals(0, preflop.getWinnerCount());
+        assertTrue(showdown.getWinnerCount() > 0);
+        for (int i = 0; i < table.getPlayers().size(); i++) {
+            Player player = table.getPlayers().get(i);
+            assertEquals(showdown.isWinner(i), table.checkIfPlayerWon(player));
+            assertEquals(showdown.isWinner(i), tableManager.getSnapshot("table-1")
+                    .checkIfPlayerWon(tableManager.getSnapshot("table-1").getPlayers().get(i)));
+        }
+    }
+
+    @Test
+    public void nextAction_concurrentActionsOnOneTableAreSerialized() throws Exception {
+        createTable("table-1");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<TableSnapshot>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                results.add(executor.submit(() -> tableManager.nextAction("table-1")));
+            }
+            for (Future<TableSnapshot> result : results) {
+                int communityCards = result.get().getCommunityCards().size();
+                assertTrue(communityCards == 0 || communityCards >= 3 && communityCards <= 5);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 400 actions are 100 games of four actions each, so the table is back at the start of a game
+        assertEquals(0, tableManager.getSnapshot("table-1").getCommunityCards().size());
+    }
+
+    @Test
+    public void createTable_shortDeckDealsFromSixUp() {
+        GameService table = tableManager.createTable("table-1", GameType.TEXAS_HOLDEM, DeckProfile.SHORT_DECK);
+        for (int i = 0; i < 3; i++) {
+            table.nextAction();
+        }
+
+        assertEquals(DeckProfile.SHORT_DECK, table.getDeckProfile());
+        List<Card> cards = new ArrayList<>(table.getCommunityCards());
+        for (Player player : table.getPlayers()) {
+            cards.addAll(player.getHand());
+        }
+        for (Card card : cards) {
+            assertTrue(card.getRank().ordinal() >= CardRank.SIX.ordinal());
+        }
+        ShowdownResult result = table.getResult();
+        double potShares = 0;
+        for (int i = 0; i < table.getPlayers().size(); i++) {
+            potShares += result.getPotShare(i);
+        }
+        assertEquals(1.0, potShares, 1e-9);
+    }
+
+    @Test
+    public void removeTable() {
+        tableManager = createTableManager(2);
+        createTable("table-1");
+
+        assertTrue(tableManager.removeTable("table-1"));
+        assertFalse(tableManager.removeTable("table-1"));
+        assertEquals(1, tableManager.getTableCount());
+        createTable("table-2");
+    }
+
+    @Test
+    public void createTable_shufflesEachTableFromItsOwnSeed() {
+        tableManager = createTableManager(new DeckBuilder(new SeededShuffleSource(42L)), 3);
+        createTable("table-1");
+        createTable("table-2");
+        TableManager replayed = createTableManager(new DeckBuilder(new SeededShuffleSource(42L)), 3);
+        replayed.createTable("table-1", GameType.TEXAS_HOLDEM, DeckProfile.STANDARD);
+
+        long seed = tableManager.getShuffleSeed("table-1").getAsLong();
+        assertNotEquals(seed, tableManager.getShuffleSeed("table-2").getAsLong());
+        assertNotEquals(seed, tableManager.getShuffleSeed(TableManager.DEFAULT_TABLE_ID).getAsLong());
+        assertEquals(seed, replayed.getShuffleSeed("table-1").getAsLong());
+        assertEquals(tableManager.getTable("table-1").getPlayers().get(0).getHand(),
+                replayed.getTable("table-1").getPlayers().get(0).getHand());
+        assertFalse(createTableManager(3).getShuffleSeed(TableManager.DEFAULT_TABLE_ID).isPresent());
+    }
+
+    @Test
+    public void removeTable_waitsForTheUpdateOfTheTable() throws Exception {
+        createTable("table-1");
+        Thread remover = new Thread(() -> tableManager.removeTable("table-1"));
+
+        tableManager.updateTable("table-1", table -> {
+            remover.start();
+            while (remover.getState() != Thread.State.BLOCKED) {
+                Thread.yield();
+            }
+            assertSame(table, tableManager.getTable("table-1"));
+            table.nextAction();
+            return null;
+        });
+        remover.join();
+
+        assertFalse(tableManager.getTableIds().contains("table-1"));
+    }
+
+    private GameService createTable(String tableId) {
+        return tableManager.createTable(tableId, GameType.TEXAS_HOLDEM, DeckProfile.STANDARD);
+    }
+
+    private TableManager createTableManager(int maxTables) {
+        return createTableManager(new DeckBuilder(), maxTables);
+    }
+
+    private TableManager createTableManager(DeckBuilder deckBuilder, int maxTables) {
+        HandIdentifier handIdentifier = new HandIdentifier();
+        WinningHandCalculator winningHandCalculator = new WinningHandCalculator(handIdentifier,
+                new HandRankTable(HandRankTable.Mode.SEVEN_CARD));
+        return new TableManager(deckBuilder, handIdentifier, winningHandCalculator, maxTables);
+    }
+
+}